@@ -0,0 +1,87 @@
+package game.bench;
+
+import java.util.Objects;
+
+import game.algorithms.SequenceAlgorithm;
+import game.controller.GameMove;
+import game.controller.SequenceController;
+import game.enums.GameChip;
+import game.model.PlayableSequenceModel;
+import game.view.GameView;
+
+/**
+ * A controller for building benchmark positions. While playing, it asks its driver algorithm for
+ * moves and plays them like an AlgorithmController. While recording, moves sent to it are kept
+ * instead of played, so any algorithm can be asked for a move without the game moving on.
+ * Dead cards are always played, since algorithms expect a new card after discarding, so a
+ * position an algorithm has been asked on is not reused.
+ */
+class BenchController implements SequenceController {
+
+  private final SequenceAlgorithm driver;
+  private final PlayableSequenceModel model;
+  private final GameChip team;
+  private boolean recording = false;
+  private GameMove recorded;
+
+  BenchController(SequenceAlgorithm driver, PlayableSequenceModel model, GameChip team) {
+    this.driver = Objects.requireNonNull(driver);
+    this.model = Objects.requireNonNull(model);
+    this.team = team;
+  }
+
+  /**
+   * Switches between playing received moves and keeping them.
+   * @param recording true to keep moves instead of playing them
+   */
+  void setRecording(boolean recording) {
+    this.recording = recording;
+  }
+
+  /**
+   * Accesses the last move received while recording.
+   * @return the move, or null if none has been received
+   */
+  GameMove lastMove() {
+    return this.recorded;
+  }
+
+  @Override
+  public void beginTurn(PlayableSequenceModel model) {
+    this.driver.beginTurn(this.model, this);
+  }
+
+  @Override
+  public void receiveMove(GameMove moveToPlay) {
+    if (this.recording) {
+      this.recorded = moveToPlay;
+    } else {
+      this.model.playToCell(moveToPlay);
+    }
+  }
+
+  @Override
+  public GameChip getTeam() {
+    return this.team;
+  }
+
+  @Override
+  public boolean usesMouse() {
+    return false;
+  }
+
+  @Override
+  public void addView(GameView view) {
+    // benchmarks are headless
+  }
+
+  @Override
+  public void deadCard(int cardIdx) {
+    this.model.deadCard(cardIdx);
+  }
+
+  @Override
+  public void receiveGameOver(GameChip winner) {
+    // not needed
+  }
+}
@@ -0,0 +1,54 @@
+package game.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import game.board.Cell;
+import game.board.GameBoard;
+
+/**
+ * Benchmarks copying and observing both board types at early, mid, and late fill.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class BoardBenchmarks {
+
+  @Param({"StandardBoardType", "BitboardBoardType"})
+  public String type;
+
+  @Param({"early", "mid", "late"})
+  public String fill;
+
+  private GameBoard board;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    this.board = Position.at(this.fill, Position.boards(this.type)).board();
+  }
+
+  @Benchmark
+  public GameBoard copy() {
+    return this.board.copy();
+  }
+
+  @Benchmark
+  public Cell[][] getBoard() {
+    return this.board.getBoard();
+  }
+}
@@ -0,0 +1,87 @@
+package game.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import game.board.GamePosition;
+import game.board.StandardBoardType;
+import game.controller.GameMove;
+import game.enums.GameChip;
+
+/**
+ * Benchmarks SequenceModel.playToCell and findOpeningForSequence at early, mid, and late fill.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ModelBenchmarks {
+
+  /**
+   * A fresh position before every call, with the move its current player would make, since
+   * playing the move uses the position up. Setting it up is not timed, but the gc profiler's
+   * bytes/op include its allocation, so compare those only between runs of this benchmark.
+   */
+  @State(Scope.Thread)
+  public static class Move {
+
+    @Param({"early", "mid", "late"})
+    public String fill;
+
+    Position position;
+    GameMove move;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+      this.position = Position.at(this.fill, StandardBoardType::new);
+      BenchController current = this.position.current();
+      current.setRecording(true);
+      current.beginTurn(this.position.model());
+      current.setRecording(false);
+      this.move = current.lastMove();
+    }
+  }
+
+  /**
+   * One position for the whole run, which finding openings does not change.
+   */
+  @State(Scope.Thread)
+  public static class Openings {
+
+    @Param({"early", "mid", "late"})
+    public String fill;
+
+    Position position;
+    GameChip team;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      this.position = Position.at(this.fill, StandardBoardType::new);
+      this.team = this.position.current().getTeam();
+    }
+  }
+
+  @Benchmark
+  public void playToCell(Move state) {
+    state.position.model().playToCell(state.move);
+  }
+
+  @Benchmark
+  public List<List<GamePosition>> findOpeningForSequence(Openings state) {
+    return state.position.model().findOpeningForSequence(state.team);
+  }
+}
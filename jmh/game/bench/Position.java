@@ -0,0 +1,155 @@
+package game.bench;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+import game.algorithms.AsRandomAsCanBe;
+import game.algorithms.CardCountingFOSNB;
+import game.algorithms.DefensiveNetworkBuilding;
+import game.algorithms.FarsightedAvoidantSavingNetworkBuilding;
+import game.algorithms.FarsightedDefensiveNetworkBuilding;
+import game.algorithms.FarsightedOffensiveNetworkBuilding;
+import game.algorithms.FarsightedOffensiveSavingNetworkBuilding;
+import game.algorithms.FarsightedScoredNetworkBuilding;
+import game.algorithms.FirstCardPriorityTopLeft;
+import game.algorithms.InverseNetworkBuilding;
+import game.algorithms.MonteCarloTreeSearch;
+import game.algorithms.OffensiveNetworkBuilding;
+import game.algorithms.RandomNetworkBuilding;
+import game.algorithms.ScoredNetworkBuilding;
+import game.algorithms.SequenceAlgorithm;
+import game.algorithms.TitForTatFOSNB;
+import game.algorithms.TwoNeurons;
+import game.board.BitboardBoardType;
+import game.board.GameBoard;
+import game.board.StandardBoardType;
+import game.enums.GameChip;
+import game.model.PlayableSequenceModel;
+import game.model.SequenceModel;
+
+/**
+ * A game played from the benchmark seed until the given share of playable spaces hold chips.
+ * Positions are reached by playing AsRandomAsCanBe against itself, and seeds are tried in order
+ * until a game gets that far without ending, so the same fill always gives the same position.
+ */
+final class Position {
+
+  private static final long SEED = 20241205L;
+
+  private final PlayableSequenceModel model;
+  private final GameBoard board;
+
+  private Position(PlayableSequenceModel model, GameBoard board) {
+    this.model = model;
+    this.board = board;
+  }
+
+  /**
+   * Plays a game to the given fill.
+   * @param fill early, mid, or late, for 10%, 35%, or 60% of playable spaces
+   * @param boards creates the board to play on
+   * @return the position, with a BenchController to move
+   * @throws IllegalArgumentException if the fill is not known
+   */
+  static Position at(String fill, Supplier<GameBoard> boards) {
+    double share = switch (fill) {
+      case "early" -> 0.1;
+      case "mid" -> 0.35;
+      case "late" -> 0.6;
+      default -> throw new IllegalArgumentException("Unknown fill: " + fill);
+    };
+    for (long seed = SEED; true; seed += 1) {
+      SplittableRandom root = new SplittableRandom(seed);
+      PlayableSequenceModel model = new SequenceModel();
+      GameBoard board = boards.get();
+      BenchController red = new BenchController(new AsRandomAsCanBe(root.split()), model,
+              GameChip.RED);
+      BenchController blue = new BenchController(new AsRandomAsCanBe(root.split()), model,
+              GameChip.BLUE);
+      model.initializeGame(board, List.of(red, blue), root.nextLong());
+      int target = (int) (share * board.numPlayableSpaces());
+      while (!model.isGameOver() && numChips(model) < target) {
+        model.step();
+      }
+      if (!model.isGameOver()) {
+        return new Position(model, board);
+      }
+    }
+  }
+
+  /**
+   * Creates the board of the given type.
+   * @param type StandardBoardType or BitboardBoardType
+   * @return a new empty board
+   * @throws IllegalArgumentException if the type is not known
+   */
+  static Supplier<GameBoard> boards(String type) {
+    return switch (type) {
+      case "StandardBoardType" -> StandardBoardType::new;
+      case "BitboardBoardType" -> BitboardBoardType::new;
+      default -> throw new IllegalArgumentException("Unknown board type: " + type);
+    };
+  }
+
+  /**
+   * Creates the algorithm with the given name, seeded from the benchmark seed where it is random.
+   * @param name the simple class name, with the rollout count for MonteCarloTreeSearch
+   * @return a new algorithm
+   * @throws IllegalArgumentException if the name is not known
+   */
+  static SequenceAlgorithm algorithm(String name) {
+    return switch (name) {
+      case "AsRandomAsCanBe" -> new AsRandomAsCanBe(new SplittableRandom(SEED));
+      case "CardCountingFOSNB" -> new CardCountingFOSNB();
+      case "DefensiveNetworkBuilding" -> new DefensiveNetworkBuilding();
+      case "FarsightedAvoidantSavingNetworkBuilding" ->
+              new FarsightedAvoidantSavingNetworkBuilding();
+      case "FarsightedDefensiveNetworkBuilding" -> new FarsightedDefensiveNetworkBuilding();
+      case "FarsightedOffensiveNetworkBuilding" -> new FarsightedOffensiveNetworkBuilding();
+      case "FarsightedOffensiveSavingNetworkBuilding" ->
+              new FarsightedOffensiveSavingNetworkBuilding();
+      case "FarsightedScoredNetworkBuilding" -> new FarsightedScoredNetworkBuilding();
+      case "FirstCardPriorityTopLeft" -> new FirstCardPriorityTopLeft();
+      case "InverseNetworkBuilding" -> new InverseNetworkBuilding();
+      case "MonteCarloTreeSearch(200)" ->
+              new MonteCarloTreeSearch(200, new SplittableRandom(SEED));
+      case "OffensiveNetworkBuilding" -> new OffensiveNetworkBuilding();
+      case "RandomNetworkBuilding" -> new RandomNetworkBuilding(new SplittableRandom(SEED));
+      case "ScoredNetworkBuilding" -> new ScoredNetworkBuilding();
+      case "TitForTatFOSNB" -> new TitForTatFOSNB();
+      case "TwoNeurons" -> new TwoNeurons(new SplittableRandom(SEED));
+      default -> throw new IllegalArgumentException("Unknown algorithm: " + name);
+    };
+  }
+
+  /**
+   * Discards everything printed to standard output from now on, as some algorithms print as
+   * they think.
+   */
+  static void quiet() {
+    System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+  }
+
+  PlayableSequenceModel model() {
+    return this.model;
+  }
+
+  GameBoard board() {
+    return this.board;
+  }
+
+  BenchController current() {
+    return (BenchController) this.model.getCurrentTurn();
+  }
+
+  private static int numChips(PlayableSequenceModel model) {
+    int count = 0;
+    for (List<?> positions : model.viewChips().values()) {
+      count += positions.size();
+    }
+    return count;
+  }
+}
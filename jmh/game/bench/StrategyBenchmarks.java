@@ -0,0 +1,69 @@
+package game.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import game.algorithms.SequenceAlgorithm;
+import game.board.BitboardBoardType;
+import game.controller.GameMove;
+
+/**
+ * Benchmarks one decision of every SequenceAlgorithm at early, mid, and late fill. Each call
+ * gets a fresh position and algorithm, as discarding a dead card changes the hand and the deck,
+ * and some algorithms remember earlier turns. Setting them up is not timed, but the gc
+ * profiler's bytes/op include its allocation, so compare those only between runs.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class StrategyBenchmarks {
+
+  @Param({"AsRandomAsCanBe", "CardCountingFOSNB", "DefensiveNetworkBuilding",
+          "FarsightedAvoidantSavingNetworkBuilding", "FarsightedDefensiveNetworkBuilding",
+          "FarsightedOffensiveNetworkBuilding", "FarsightedOffensiveSavingNetworkBuilding",
+          "FarsightedScoredNetworkBuilding", "FirstCardPriorityTopLeft", "InverseNetworkBuilding",
+          "MonteCarloTreeSearch(200)", "OffensiveNetworkBuilding", "RandomNetworkBuilding",
+          "ScoredNetworkBuilding", "TitForTatFOSNB", "TwoNeurons"})
+  public String algorithm;
+
+  @Param({"early", "mid", "late"})
+  public String fill;
+
+  private SequenceAlgorithm cpu;
+  private Position position;
+  private BenchController current;
+
+  @Setup(Level.Trial)
+  public void quiet() {
+    Position.quiet();
+  }
+
+  @Setup(Level.Invocation)
+  public void setUp() {
+    this.cpu = Position.algorithm(this.algorithm);
+    this.position = Position.at(this.fill, BitboardBoardType::new);
+    this.current = this.position.current();
+    this.current.setRecording(true);
+  }
+
+  @Benchmark
+  public GameMove beginTurn() {
+    this.cpu.beginTurn(this.position.model(), this.current);
+    return this.current.lastMove();
+  }
+}
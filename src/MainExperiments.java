@@ -1,5 +1,8 @@
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.SplittableRandom;
 
 import game.algorithms.AsRandomAsCanBe;
 import game.algorithms.CardCountingFOSNB;
@@ -22,66 +25,50 @@ import game.controller.AlgorithmController;
 import game.controller.HumanController;
 import game.controller.SequenceController;
 import game.enums.GameChip;
+import game.metrics.InMemoryMetricsSink;
 import game.model.PlayableSequenceModel;
 import game.model.SequenceModel;
+import game.record.GameRecordWriter;
 import game.scorekeeper.ScoreKeeper;
-import game.scorekeeper.TwoPlayerScoreKeeper;
+import game.scorekeeper.StatisticalScoreKeeper;
+import game.tournament.Matchup;
+import game.tournament.Tournament;
 import game.view.GameFrame;
 
 public class MainExperiments {
 
-  public static void main(String[] args) {
+  public static void main(String[] args) throws IOException {
 
     PlayableSequenceModel model = new SequenceModel();
     GameBoard def = new StandardBoardType();
 
     int realplayers = 0;
+    long seed = new SplittableRandom().nextLong();
 
+    System.out.println("Seed: " + seed);
     if (realplayers == 0) {
-      SequenceController blueCPU = new AlgorithmController(new AsRandomAsCanBe(),
-              model, GameChip.BLUE);
-      SequenceController redCPU = new AlgorithmController(new AsRandomAsCanBe(),
-              model, GameChip.RED);
-      model.initializeGame(def, List.of(redCPU, blueCPU), new Random(0));
-      GameFrame gf3 = new GameFrame(model, blueCPU);
-      GameFrame gf4 = new GameFrame(model, redCPU);
-      blueCPU.addView(gf3);
-      redCPU.addView(gf4);
-      model.addView(gf3);
-      model.addView(gf4);
-      gf3.setVisible(true);
-      gf4.setVisible(true);
-
-      ScoreKeeper sk = new TwoPlayerScoreKeeper();
-      sk.addPlayer(GameChip.BLUE);
-      sk.addPlayer(GameChip.RED);
-      for (int reps = 0; reps < 1000; reps += 1) {
-        model = new SequenceModel();
-        def = new StandardBoardType();
-        blueCPU = new AlgorithmController(new FirstCardPriorityTopLeft(),
-                model, GameChip.BLUE);
-        redCPU = new AlgorithmController(new AsRandomAsCanBe(),
-                model, GameChip.RED);
-        model.initializeGame(def, List.of(redCPU, blueCPU), new Random());
-        blueCPU.addView(gf3);
-        redCPU.addView(gf4);
-        model.addView(gf3);
-        model.addView(gf4);
-        gf3.reset(model, blueCPU);
-        gf4.reset(model, redCPU);
-        model.addScoreKeeper(sk);
-        model.beginPlaying();
-        if (model.numSequences(blueCPU) >= 2 && model.numSequences(redCPU) >= 2) {
-          throw new IllegalStateException("Both won but somehow nobody did");
-        }
+      Tournament tournament = new Tournament(Runtime.getRuntime().availableProcessors());
+      tournament.addMatchup(new Matchup("AsRandomAsCanBe vs FirstCardPriorityTopLeft",
+              AsRandomAsCanBe::new, random -> new FirstCardPriorityTopLeft()));
+      // Games are archived to the file named by the first argument, if any
+      GameRecordWriter archive = args.length > 0 ? new GameRecordWriter(Path.of(args[0])) : null;
+      tournament.setRecordWriter(archive);
+      Map<Matchup, ScoreKeeper> results = tournament.run(1000, seed,
+              StatisticalScoreKeeper::new);
+      tournament.shutdown();
+      if (archive != null) {
+        archive.close();
+      }
+      for (Matchup matchup : results.keySet()) {
+        System.out.println(matchup.name() + ": " + results.get(matchup).displayResults());
       }
-      System.out.println(sk.displayResults());
+      System.out.print(InMemoryMetricsSink.global().displayResults());
     }
     else if (realplayers == 1) {
       SequenceController blueGuy = new HumanController(model, GameChip.BLUE);
       SequenceController redCPU = new AlgorithmController(new FarsightedOffensiveSavingNetworkBuilding(),
               model, GameChip.RED);
-      model.initializeGame(def, List.of(blueGuy, redCPU), new Random());
+      model.initializeGame(def, List.of(blueGuy, redCPU), seed);
       GameFrame gf = new GameFrame(model, blueGuy);
       GameFrame gf4 = new GameFrame(model, redCPU);
       blueGuy.addView(gf);
@@ -94,7 +81,7 @@ public class MainExperiments {
     } else if (realplayers == 2) {
       SequenceController blueGuy = new HumanController(model, GameChip.BLUE);
       SequenceController redGuy = new HumanController(model, GameChip.RED);
-      model.initializeGame(def, List.of(redGuy, blueGuy), new Random(0));
+      model.initializeGame(def, List.of(redGuy, blueGuy), seed);
       GameFrame gf = new GameFrame(model, blueGuy);
       GameFrame gf2 = new GameFrame(model, redGuy);
       blueGuy.addView(gf);
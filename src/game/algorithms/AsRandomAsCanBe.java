@@ -2,7 +2,8 @@ package game.algorithms;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.Objects;
+import java.util.SplittableRandom;
 
 import game.board.Card;
 import game.board.Cell;
@@ -12,16 +13,37 @@ import game.board.GamePosition;
 import game.controller.GameMove;
 import game.controller.SequenceController;
 import game.enums.CardValue;
+import game.enums.GameChip;
 import game.model.PlayableSequenceModel;
 
 /**
  * As close to true random as I could think. Picks a card at random and picks a random spot for it.
+ * Gives up without a move if its thread is interrupted, as a timed controller does when the
+ * budget for the move runs out; a two eyed jack on a full board would otherwise search forever.
  */
 public class AsRandomAsCanBe implements SequenceAlgorithm {
 
+  private final SplittableRandom random;
+
+  /**
+   * Creates the algorithm with an unseeded source of randomness.
+   */
+  public AsRandomAsCanBe() {
+    this(new SplittableRandom());
+  }
+
+  /**
+   * Creates the algorithm drawing all of its choices from the given stream, so that a game can
+   * be replayed exactly from its seed.
+   * @param random the stream of random choices
+   */
+  public AsRandomAsCanBe(SplittableRandom random) {
+    this.random = Objects.requireNonNull(random);
+  }
+
   @Override
   public void beginTurn(PlayableSequenceModel model, SequenceController receiver) {
-    GameBoard bd = model.getBoard();
+    GameBoard bd = model.viewBoard();
     Cell[][] layout = bd.getBoard();
 
     List<GamePosition> removeables = new ArrayList<>();
@@ -34,27 +56,33 @@ public class AsRandomAsCanBe implements SequenceAlgorithm {
                 || col == layout.length - 1 && row == layout[0].length - 1) {
           continue;
         }
-        GamePosition pos = new GamePosition(col, row);
+        GamePosition pos = GamePosition.of(col, row);
         if (bd.isLocked(pos)) {
           states[col][row] = 0;
-        } else if (bd.getCell(pos).hasChip()) {
+        } else if (!bd.getChip(pos).equals(GameChip.NONE)) {
           states[col][row] = -1;
-          removeables.add(new GamePosition(col, row));
+          removeables.add(GamePosition.of(col, row));
         } else {
           states[col][row] = 1;
         }
       }
     }
     while (true) {
-      GameHand myHand = model.getHand(receiver);
-      int card = new Random().nextInt(myHand.size() - 1);
+      if (Thread.interrupted()) {
+        return;
+      }
+      GameHand myHand = model.viewHand(receiver);
+      int card = this.random.nextInt(myHand.size() - 1);
       Card currCard = myHand.getCardAt(card);
       if (currCard.value().equals(CardValue.TWO_EYED_JACK)) {
         while (true) {
-          int col = new Random().nextInt(layout.length);
-          int row = new Random().nextInt(layout[0].length);
+          if (Thread.interrupted()) {
+            return;
+          }
+          int col = this.random.nextInt(layout.length);
+          int row = this.random.nextInt(layout[0].length);
           if (states[col][row] == 1) {
-            receiver.receiveMove(new GameMove(new GamePosition(col, row), card));
+            receiver.receiveMove(new GameMove(GamePosition.of(col, row), card));
             return;
           }
         }
@@ -64,9 +92,9 @@ public class AsRandomAsCanBe implements SequenceAlgorithm {
           if (removeables.size() == 1) {
             choice = 0;
           } else {
-            choice = new Random().nextInt(removeables.size() - 1);
+            choice = this.random.nextInt(removeables.size() - 1);
           }
-          if (bd.getCell(removeables.get(choice)).getChip().equals(receiver.getTeam())) {
+          if (bd.getChip(removeables.get(choice)).equals(receiver.getTeam())) {
             removeables.remove(choice);
             continue;
           }
@@ -74,13 +102,13 @@ public class AsRandomAsCanBe implements SequenceAlgorithm {
           return;
         }
       } else {
-        List<GamePosition> cardLocs = bd.cardLocations().get(currCard);
+        List<GamePosition> cardLocs = new ArrayList<>(bd.cardLocations(currCard.id()));
         while (!cardLocs.isEmpty()) {
           int choice;
           if (cardLocs.size() == 1) {
             choice = 0;
           } else {
-            choice = new Random().nextInt(cardLocs.size() - 1);
+            choice = this.random.nextInt(cardLocs.size() - 1);
           }
           if (states[cardLocs.get(choice).x()][cardLocs.get(choice).y()] == 1) {
             receiver.receiveMove(new GameMove(cardLocs.get(choice), card));
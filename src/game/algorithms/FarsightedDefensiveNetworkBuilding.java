@@ -24,9 +24,9 @@ public class FarsightedDefensiveNetworkBuilding implements SequenceAlgorithm {
 
   @Override
   public void beginTurn(PlayableSequenceModel model, SequenceController receiver) {
-    GameBoard bd = model.getBoard();
+    GameBoard bd = model.viewBoard();
     Cell[][] layout = bd.getBoard();
-    Map<GameChip, List<GamePosition>> chips = model.getChips();
+    Map<GameChip, List<GamePosition>> chips = model.viewChips();
 
     List<GamePosition> theirs = new ArrayList<>();
 
@@ -36,17 +36,20 @@ public class FarsightedDefensiveNetworkBuilding implements SequenceAlgorithm {
       }
     }
 
+    ReachCount theirReach = new ReachCount(layout, theirs);
+
     while (true) {
       boolean deadCarded = false;
-      GamePosition bestLoc = new GamePosition(-1, -1);
+      GamePosition bestLoc = GamePosition.of(-1, -1);
       int bestCard = -1;
       int bestCount = 0;
-      GameHand myHand = model.getHand(receiver);
+      GameHand myHand = model.viewHand(receiver);
 
       List<GamePosition> myHandLocs = new ArrayList<>();
       for (int card = 0; card < myHand.size(); card += 1) {
-        myHandLocs.addAll(bd.cardLocations().get(myHand.getCardAt(card)));
+        myHandLocs.addAll(bd.cardLocations(myHand.getCardAt(card).id()));
       }
+      ReachCount handReach = new ReachCount(layout, myHandLocs);
 
       for (int card = 0; card < myHand.size(); card += 1) {
         Card current = myHand.getCardAt(card);
@@ -56,50 +59,30 @@ public class FarsightedDefensiveNetworkBuilding implements SequenceAlgorithm {
         if (current.value().equals(CardValue.TWO_EYED_JACK)) {
           for (int col = 0; col < layout.length; col += 1) {
             for (int row = 0; row < layout[0].length; row += 1) {
-              if (bd.getCell(new GamePosition(col, row)).hasChip()) {
+              if (!bd.getChip(GamePosition.of(col, row)).equals(GameChip.NONE)) {
                 continue;
               }
-              int count = 0;
-              for (GamePosition pos : theirs) {
-                if (new GamePosition(col, row).inSequence(pos)) {
-                  count += 1;
-                }
-              }
-
-              for (GamePosition pos : myHandLocs) {
-                if (new GamePosition(col, row).inSequence(pos)) {
-                  count += 1;
-                }
-              }
+              int count = theirReach.count(GamePosition.of(col, row));
+              count += handReach.count(GamePosition.of(col, row));
 
               if (bestCard == -1 || bestCount < count) {
                 bestCard = card;
                 bestCount = count;
-                bestLoc = new GamePosition(col, row);
+                bestLoc = GamePosition.of(col, row);
               }
             }
           }
         } else {
-          List<GamePosition> cardLocs = bd.cardLocations().get(current);
+          List<GamePosition> cardLocs = bd.cardLocations(current.id());
           int deadLocs = 0;
           for (GamePosition loc : cardLocs) {
-            if (bd.getCell(loc).hasChip()) {
+            if (!bd.getChip(loc).equals(GameChip.NONE)) {
               deadLocs += 1;
               continue;
             }
 
-            int count = 0;
-            for (GamePosition pos : theirs) {
-              if (loc.inSequence(pos)) {
-                count += 1;
-              }
-            }
-
-            for (GamePosition pos : myHandLocs) {
-              if (loc.inSequence(pos)) {
-                count += 1;
-              }
-            }
+            int count = theirReach.count(loc);
+            count += handReach.count(loc);
 
             if (bestCard == -1 || bestCount <= count) {
               bestCard = card;
@@ -123,8 +106,8 @@ public class FarsightedDefensiveNetworkBuilding implements SequenceAlgorithm {
             if (!layout[col][row].getChip().equals(receiver.getTeam())
                     && !layout[col][row].getChip().equals(GameChip.NONE)
                     && !layout[col][row].getChip().equals(GameChip.ALL)
-                    && !bd.isLocked(new GamePosition(col, row))) {
-              receiver.receiveMove(new GameMove(new GamePosition(col, row), 0));
+                    && !bd.isLocked(GamePosition.of(col, row))) {
+              receiver.receiveMove(new GameMove(GamePosition.of(col, row), 0));
               return;
             }
           }
@@ -22,9 +22,9 @@ public class FarsightedOffensiveSavingNetworkBuilding implements SequenceAlgorit
 
   @Override
   public void beginTurn(PlayableSequenceModel model, SequenceController receiver) {
-    GameBoard bd = model.getBoard();
+    GameBoard bd = model.viewBoard();
     Cell[][] layout = bd.getBoard();
-    List<GamePosition> mine = model.getChips().get(receiver.getTeam());
+    List<GamePosition> mine = model.viewChips().get(receiver.getTeam());
     List<List<GamePosition>> myOpenings = model.findOpeningForSequence(receiver.getTeam());
     List<GameChip> opponents = receiver.getTeam().getOthers();
     List<List<GamePosition>> opponentOpenings = new ArrayList<>();
@@ -33,18 +33,21 @@ public class FarsightedOffensiveSavingNetworkBuilding implements SequenceAlgorit
     }
 
 
+    ReachCount myReach = new ReachCount(layout, mine);
+
     while (true) {
       boolean deadCarded = false;
-      GamePosition bestLoc = new GamePosition(-1, -1);
+      GamePosition bestLoc = GamePosition.of(-1, -1);
       int bestCard = -1;
       int bestCount = 0;
       boolean mustPlayHere = false;
-      GameHand myHand = model.getHand(receiver);
+      GameHand myHand = model.viewHand(receiver);
 
       List<GamePosition> myHandLocs = new ArrayList<>();
       for (int card = 0; card < myHand.size(); card += 1) {
-        myHandLocs.addAll(bd.cardLocations().get(myHand.getCardAt(card)));
+        myHandLocs.addAll(bd.cardLocations(myHand.getCardAt(card).id()));
       }
+      ReachCount handReach = new ReachCount(layout, myHandLocs);
 
       for (int card = 0; card < myHand.size(); card += 1) {
         Card current = myHand.getCardAt(card);
@@ -55,7 +58,7 @@ public class FarsightedOffensiveSavingNetworkBuilding implements SequenceAlgorit
             return;
           } if (!myOpenings.isEmpty()) {
             for (List<GamePosition> pair : myOpenings) {
-              if (bd.getCell(pair.get(1)).hasChip()
+              if (!bd.getChip(pair.get(1)).equals(GameChip.NONE)
                       && hasCardFor(myHand, pair.get(1), bd)
                       && !bd.isLocked(pair.get(1))) {
                 receiver.receiveMove(new GameMove(pair.get(1), card));
@@ -67,13 +70,13 @@ public class FarsightedOffensiveSavingNetworkBuilding implements SequenceAlgorit
         }
         if (current.value().equals(CardValue.TWO_EYED_JACK)) {
           if (!opponentOpenings.isEmpty()
-                  && !bd.getCell(opponentOpenings.get(0).get(1)).hasChip()) {
+                  && bd.getChip(opponentOpenings.get(0).get(1)).equals(GameChip.NONE)) {
             bestLoc = opponentOpenings.get(0).get(1);
             bestCard = card;
             mustPlayHere = true;
             continue;
           } else if (!myOpenings.isEmpty()
-                  && !bd.getCell(myOpenings.get(0).get(1)).hasChip()) {
+                  && bd.getChip(myOpenings.get(0).get(1)).equals(GameChip.NONE)) {
             bestLoc = myOpenings.get(0).get(1);
             bestCard = card;
             mustPlayHere = true;
@@ -81,34 +84,24 @@ public class FarsightedOffensiveSavingNetworkBuilding implements SequenceAlgorit
           }
           for (int col = 0; col < layout.length; col += 1) {
             for (int row = 0; row < layout[0].length; row += 1) {
-              if (bd.getCell(new GamePosition(col, row)).hasChip()) {
+              if (!bd.getChip(GamePosition.of(col, row)).equals(GameChip.NONE)) {
                 continue;
               }
-              int count = 0;
-              for (GamePosition pos : mine) {
-                if (new GamePosition(col, row).inSequence(pos)) {
-                  count += 1;
-                }
-              }
-
-              for (GamePosition pos : myHandLocs) {
-                if (new GamePosition(col, row).inSequence(pos)) {
-                  count += 1;
-                }
-              }
+              int count = myReach.count(GamePosition.of(col, row));
+              count += handReach.count(GamePosition.of(col, row));
 
               if (bestCard == -1 || bestCount < count) {
                 bestCard = card;
                 bestCount = count;
-                bestLoc = new GamePosition(col, row);
+                bestLoc = GamePosition.of(col, row);
               }
             }
           }
         } else {
-          List<GamePosition> cardLocs = bd.cardLocations().get(current);
+          List<GamePosition> cardLocs = bd.cardLocations(current.id());
           int deadLocs = 0;
           for (GamePosition loc : cardLocs) {
-            if (bd.getCell(loc).hasChip()) {
+            if (!bd.getChip(loc).equals(GameChip.NONE)) {
               deadLocs += 1;
               continue;
             }
@@ -127,18 +120,8 @@ public class FarsightedOffensiveSavingNetworkBuilding implements SequenceAlgorit
               }
             }
 
-            int count = 0;
-            for (GamePosition pos : mine) {
-              if (loc.inSequence(pos)) {
-                count += 1;
-              }
-            }
-
-            for (GamePosition pos : myHandLocs) {
-              if (loc.inSequence(pos)) {
-                count += 1;
-              }
-            }
+            int count = myReach.count(loc);
+            count += handReach.count(loc);
 
             if (bestCard == -1 || bestCount <= count) {
               bestCard = card;
@@ -162,8 +145,8 @@ public class FarsightedOffensiveSavingNetworkBuilding implements SequenceAlgorit
             if (!layout[col][row].getChip().equals(receiver.getTeam())
                     && !layout[col][row].getChip().equals(GameChip.NONE)
                     && !layout[col][row].getChip().equals(GameChip.ALL)
-                    && !bd.isLocked(new GamePosition(col, row))) {
-              receiver.receiveMove(new GameMove(new GamePosition(col, row), 0));
+                    && !bd.isLocked(GamePosition.of(col, row))) {
+              receiver.receiveMove(new GameMove(GamePosition.of(col, row), 0));
               return;
             }
           }
@@ -180,7 +163,7 @@ public class FarsightedOffensiveSavingNetworkBuilding implements SequenceAlgorit
     for (int card = 0; card < hand.size(); card += 1) {
       Card currCard = hand.getCardAt(card);
       if (currCard.value().equals(CardValue.TWO_EYED_JACK)
-              || board.cardLocations().get(currCard).contains(location)) {
+              || board.cardLocations(currCard.id()).contains(location)) {
         return true;
       }
     }
@@ -20,17 +20,17 @@ public class FirstCardPriorityTopLeft implements SequenceAlgorithm {
 
   @Override
   public void beginTurn(PlayableSequenceModel model, SequenceController receiver) {
-    GameBoard bd = model.getBoard();
+    GameBoard bd = model.viewBoard();
     Cell[][] layout = bd.getBoard();
     int firstPlayable = 0;
     while (true) {
-      GameHand myHand = model.getHand(receiver);
+      GameHand myHand = model.viewHand(receiver);
       Card card1 = myHand.getCardAt(firstPlayable);
       if (card1.value().equals(CardValue.TWO_EYED_JACK)) {
         for (int col = 0; col < layout.length; col += 1) {
           for (int row = 0; row < layout[0].length; row += 1) {
             if (!layout[col][row].hasChip()) {
-              receiver.receiveMove(new GameMove(new GamePosition(col, row), firstPlayable));
+              receiver.receiveMove(new GameMove(GamePosition.of(col, row), firstPlayable));
               return;
             }
           }
@@ -44,15 +44,15 @@ public class FirstCardPriorityTopLeft implements SequenceAlgorithm {
         for (int col = 0; col < layout.length; col += 1) {
           for (int row = 0; row < layout[0].length; row += 1) {
             if (layout[col][row].hasChip() && !layout[col][row].getChip().equals(GameChip.ALL)
-                    && !bd.isLocked(new GamePosition(col, row))
+                    && !bd.isLocked(GamePosition.of(col, row))
                     && !layout[col][row].getChip().equals(receiver.getTeam())) {
-              receiver.receiveMove(new GameMove(new GamePosition(col, row), firstPlayable));
+              receiver.receiveMove(new GameMove(GamePosition.of(col, row), firstPlayable));
               return;
             }
           }
         }
       }
-      List<GamePosition> options = bd.cardLocations().get(card1);
+      List<GamePosition> options = bd.cardLocations(card1.id());
       for (GamePosition pos : options) {
         if (!layout[pos.x()][pos.y()].hasChip()) {
           receiver.receiveMove(new GameMove(pos, firstPlayable));
@@ -0,0 +1,540 @@
+package game.algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import game.board.BasicCard;
+import game.board.Card;
+import game.board.GameBoard;
+import game.board.GameHand;
+import game.board.GamePosition;
+import game.board.Zobrist;
+import game.controller.GameMove;
+import game.controller.SequenceController;
+import game.enums.CardSuit;
+import game.enums.CardValue;
+import game.enums.GameChip;
+import game.model.PlayableSequenceModel;
+import game.model.SearchSequenceModel;
+import game.model.TranspositionTable;
+
+/**
+ * Information set Monte Carlo tree search. Every iteration deals the cards this player cannot see
+ * at random, consistent with the cards still unplayed, then walks one shared tree of moves and
+ * finishes the game with random moves. The move visited most often at the root is played.
+ * Searches can run on several threads, either each growing its own tree (root parallelism) or
+ * all growing one tree (tree parallelism). If the thread that asked for a move is interrupted,
+ * every thread stops searching and no move is sent.
+ * Playout results are also pooled by position in a transposition table, keyed by the board and
+ * the team that moved to it. A move is judged by every result for the position it leads to,
+ * including those reached by other move orders, by other threads' trees, and by the searches of
+ * earlier turns, whenever those outnumber the move's own results. The table outlives the tree
+ * and may be shared with other searches, including those of other players.
+ */
+public class MonteCarloTreeSearch implements SequenceAlgorithm {
+
+  private static final double EXPLORATION = 0.7;
+  // Entries in the table of a search that is not given one, about 1.5 MB
+  private static final int TABLE_ENTRIES = 1 << 16;
+
+  private final int iterations;
+  private final long millis;
+  private final int threads;
+  private final boolean shareTree;
+  private final SplittableRandom random;
+  private final TranspositionTable table;
+
+  /**
+   * Creates a single threaded search that runs a fixed number of iterations per move.
+   * @param iterations the number of playouts per move
+   */
+  public MonteCarloTreeSearch(int iterations) {
+    this(iterations, 0, 1, false, System.nanoTime());
+  }
+
+  /**
+   * Creates a single threaded search that runs a fixed number of iterations per move, drawing
+   * its deals and playouts from the given stream.
+   * @param iterations the number of playouts per move
+   * @param random the stream of random choices
+   */
+  public MonteCarloTreeSearch(int iterations, SplittableRandom random) {
+    this(iterations, 0, 1, false, random.nextLong());
+  }
+
+  /**
+   * Creates a search with the given budget. The search stops at whichever of the two budgets runs
+   * out first, so either may be turned off by passing zero, but not both.
+   * @param iterations the number of playouts per move across all threads, 0 for no limit
+   * @param millis the time allowed per move in milliseconds, 0 for no limit
+   * @param threads the number of threads to search with
+   * @param shareTree true for all threads to grow one tree, false for a tree per thread
+   * @param seed the seed for dealing hidden cards and choosing playout moves
+   * @throws IllegalArgumentException if there is no budget or no threads
+   */
+  public MonteCarloTreeSearch(int iterations, long millis, int threads, boolean shareTree,
+                              long seed) {
+    this(iterations, millis, threads, shareTree, seed, new TranspositionTable(TABLE_ENTRIES));
+  }
+
+  /**
+   * Creates a search with the given budget that pools its results in the given table.
+   * @param iterations the number of playouts per move across all threads, 0 for no limit
+   * @param millis the time allowed per move in milliseconds, 0 for no limit
+   * @param threads the number of threads to search with
+   * @param shareTree true for all threads to grow one tree, false for a tree per thread
+   * @param seed the seed for dealing hidden cards and choosing playout moves
+   * @param table the table of results by position, which other searches may also use
+   * @throws IllegalArgumentException if there is no budget or no threads
+   */
+  public MonteCarloTreeSearch(int iterations, long millis, int threads, boolean shareTree,
+                              long seed, TranspositionTable table) {
+    if (iterations < 0 || millis < 0 || iterations == 0 && millis == 0) {
+      throw new IllegalArgumentException("Need an iteration or time budget");
+    }
+    if (threads < 1) {
+      throw new IllegalArgumentException("Need at least one thread");
+    }
+    this.iterations = iterations;
+    this.millis = millis;
+    this.threads = threads;
+    this.shareTree = shareTree;
+    this.random = new SplittableRandom(seed);
+    this.table = Objects.requireNonNull(table);
+  }
+
+  @Override
+  public void beginTurn(PlayableSequenceModel model, SequenceController receiver) {
+    this.discardDeadCards(model, receiver);
+
+    List<SequenceController> order = model.getTurnOrder();
+    List<GameChip> seats = new ArrayList<>();
+    List<List<Card>> hands = new ArrayList<>();
+    int[] handSizes = new int[order.size()];
+    for (int seat = 0; seat < order.size(); seat += 1) {
+      seats.add(order.get(seat).getTeam());
+      handSizes[seat] = model.viewHand(order.get(seat)).size();
+      hands.add(new ArrayList<>());
+    }
+    GameHand myHand = model.viewHand(receiver);
+    for (int card = 0; card < myHand.size(); card += 1) {
+      hands.get(0).add(myHand.getCardAt(card));
+    }
+    List<Card> unseen = this.unseenCards(model, myHand);
+    SearchSequenceModel known = new SearchSequenceModel(model.viewBoard(), model.getSequences(),
+            seats, hands, List.of(), 0);
+
+    int[] moves = new int[known.maxMoves()];
+    int count = known.legalMoves(moves);
+    if (count == 0) {
+      throw new IllegalStateException("No legal moves on turn " + receiver.getTeam());
+    }
+
+    long deadline = this.millis == 0 ? Long.MAX_VALUE : System.nanoTime() + this.millis * 1000000;
+    AtomicInteger budget = new AtomicInteger(this.iterations == 0 ? Integer.MAX_VALUE
+            : this.iterations);
+    // Workers on other threads watch the caller, since only the caller is interrupted
+    Thread caller = Thread.currentThread();
+    List<Node> roots = new ArrayList<>();
+    List<ForkJoinTask<?>> workers = new ArrayList<>();
+    Node shared = new Node(null, -1, GameChip.NONE);
+    for (int worker = 0; worker < this.threads; worker += 1) {
+      Node root = this.shareTree ? shared : new Node(null, -1, GameChip.NONE);
+      if (!roots.contains(root)) {
+        roots.add(root);
+      }
+      Search search = new Search(known, unseen, handSizes, root, this.random.split(),
+              this.table);
+      workers.add(ForkJoinTask.adapt(() -> search.run(budget, deadline, caller)));
+    }
+    if (workers.size() == 1) {
+      workers.get(0).invoke();
+    } else {
+      ForkJoinTask.invokeAll(workers);
+    }
+    if (Thread.interrupted()) {
+      return;
+    }
+
+    Map<Integer, Integer> visits = new HashMap<>();
+    for (Node root : roots) {
+      for (Node child : root.children.values()) {
+        visits.merge(child.key, child.visits, Integer::sum);
+      }
+    }
+    int best = moves[0];
+    int bestVisits = -1;
+    for (int index = 0; index < count; index += 1) {
+      int seen = visits.getOrDefault(key(known, moves[index]), 0);
+      if (seen > bestVisits) {
+        best = moves[index];
+        bestVisits = seen;
+      }
+    }
+    receiver.receiveMove(known.toGameMove(best));
+  }
+
+  private void discardDeadCards(PlayableSequenceModel model, SequenceController receiver) {
+    GameBoard bd = model.viewBoard();
+    GameHand myHand = model.viewHand(receiver);
+    int card = 0;
+    while (card < myHand.size()) {
+      Card current = myHand.getCardAt(card);
+      boolean dead = !current.value().equals(CardValue.ONE_EYED_JACK)
+              && !current.value().equals(CardValue.TWO_EYED_JACK);
+      for (GamePosition loc : bd.cardLocations(current.id())) {
+        if (bd.getChip(loc).equals(GameChip.NONE)) {
+          dead = false;
+        }
+      }
+      if (dead) {
+        receiver.deadCard(card);
+        card = 0;
+      } else {
+        card += 1;
+      }
+    }
+  }
+
+  private List<Card> unseenCards(PlayableSequenceModel model, GameHand myHand) {
+    int[] counts = new int[Card.NUM_IDS];
+    for (int id = 0; id < Card.NUM_IDS; id += 1) {
+      counts[id] = model.numXCardRemaining(BasicCard.fromId(id));
+    }
+    for (int held = 0; held < myHand.size(); held += 1) {
+      counts[myHand.cardIdAt(held)] -= 1;
+    }
+    List<Card> toReturn = new ArrayList<>();
+    for (int id = 0; id < Card.NUM_IDS; id += 1) {
+      for (int copy = 0; copy < counts[id]; copy += 1) {
+        toReturn.add(BasicCard.fromId(id));
+      }
+    }
+    return toReturn;
+  }
+
+  /**
+   * Identifies a move by the card and cell rather than the hand index, since the same move sits
+   * at different hand indices in different deals. Jacks of any suit play alike, so suits are
+   * dropped for them.
+   */
+  private static int key(SearchSequenceModel state, int move) {
+    int numCells = state.numCells();
+    Card card = state.getCardAt(state.getCurrentSeat(), move / numCells);
+    int id = card.value().equals(CardValue.ONE_EYED_JACK)
+            || card.value().equals(CardValue.TWO_EYED_JACK)
+            ? Card.idOf(card.value(), CardSuit.CLUBS) : card.id();
+    return id * numCells + move % numCells;
+  }
+
+  /**
+   * A node in the search tree, reached by the given move made by the given team. Availability
+   * counts how often the move was legal when its parent was visited, and is used in place of
+   * the parent's visit count since not every move can be played in every deal. When threads
+   * share a tree, a node's children and the counts of each child are guarded by the node's
+   * lock, so that a child's counts can be compared while choosing among the children. The root
+   * has no parent and guards its own counts. The position is the node's key in the
+   * transposition table, 0 until the node's move has first been applied.
+   */
+  private static final class Node {
+    private final Node parent;
+    private final int key;
+    private final GameChip mover;
+    private final Map<Integer, Node> children = new HashMap<>();
+    private int visits;
+    private int available;
+    private double reward;
+    private long position;
+
+    private Node(Node parent, int key, GameChip mover) {
+      this.parent = parent;
+      this.key = key;
+      this.mover = mover;
+    }
+
+    // The mean reward is taken from the table when it holds more results than the node does
+    private double score(TranspositionTable table) {
+      double mean = this.reward / this.visits;
+      if (this.position != 0) {
+        long pooled = table.get(this.position, 0);
+        if (pooledVisits(pooled) > this.visits) {
+          mean = pooledReward(pooled) / pooledVisits(pooled);
+        }
+      }
+      return mean + EXPLORATION * Math.sqrt(Math.log(this.available) / this.visits);
+    }
+  }
+
+  /**
+   * Identifies the position a move led to across trees and players: the board after the move
+   * and the team that made it.
+   */
+  private static long position(SearchSequenceModel state, GameChip mover) {
+    long position = state.boardHash() ^ Zobrist.mover(mover);
+    // 0 marks a node without a position
+    return position == 0 ? 1 : position;
+  }
+
+  // Table data holds the number of results in the high half and the reward in halves in the low
+  private static int pooledVisits(long pooled) {
+    return (int) (pooled >>> 32);
+  }
+
+  private static double pooledReward(long pooled) {
+    return (pooled & 0xFFFFFFFFL) / 2.0;
+  }
+
+  /**
+   * Adds one result to a position's entry in the table. Threads sharing the table may lose an
+   * update to each other, which only costs a little accuracy.
+   */
+  private static void pool(TranspositionTable table, long position, double reward) {
+    long pooled = table.get(position, 0);
+    long visits = (pooled >>> 32) + 1;
+    long halves = (pooled & 0xFFFFFFFFL) + Math.round(reward * 2);
+    table.put(position, visits << 32 | halves, (int) Math.min(visits, Integer.MAX_VALUE));
+  }
+
+  /**
+   * One thread's share of a search.
+   */
+  private static final class Search {
+    private final SearchSequenceModel known;
+    private final List<Card> unseen;
+    private final int[] handSizes;
+    private final Node root;
+    private final SplittableRandom random;
+    private final int[] moves;
+    private final int[] keys;
+    private final Card[] pool;
+    private final TranspositionTable table;
+
+    private Search(SearchSequenceModel known, List<Card> unseen, int[] handSizes, Node root,
+                   SplittableRandom random, TranspositionTable table) {
+      this.table = table;
+      this.known = known;
+      this.unseen = unseen;
+      this.handSizes = handSizes;
+      this.root = root;
+      this.random = random;
+      this.moves = new int[known.maxMoves()];
+      this.keys = new int[known.maxMoves()];
+      this.pool = unseen.toArray(new Card[0]);
+    }
+
+    private void run(AtomicInteger budget, long deadline, Thread caller) {
+      while (budget.getAndDecrement() > 0 && System.nanoTime() < deadline
+              && !caller.isInterrupted()) {
+        SearchSequenceModel state = this.deal();
+        Node leaf = this.select(state);
+        double[] rewards = this.playout(state);
+        for (Node node = leaf; node != null; node = node.parent) {
+          double reward = node.mover.equals(GameChip.NONE) ? 0 : rewards[node.mover.ordinal()];
+          long position;
+          synchronized (node.parent == null ? node : node.parent) {
+            node.reward += reward;
+            position = node.position;
+          }
+          if (position != 0) {
+            pool(this.table, position, reward);
+          }
+        }
+      }
+    }
+
+    /**
+     * Deals the unseen cards at random: first to the other seats, up to their hand sizes, and
+     * the rest to the draw pile.
+     */
+    private SearchSequenceModel deal() {
+      for (int index = this.pool.length - 1; index > 0; index -= 1) {
+        int swap = this.random.nextInt(index + 1);
+        Card temp = this.pool[index];
+        this.pool[index] = this.pool[swap];
+        this.pool[swap] = temp;
+      }
+      List<List<Card>> hands = new ArrayList<>();
+      List<Card> mine = new ArrayList<>();
+      for (int card = 0; card < this.known.handSize(0); card += 1) {
+        mine.add(this.known.getCardAt(0, card));
+      }
+      hands.add(mine);
+      int next = 0;
+      for (int seat = 1; seat < this.handSizes.length; seat += 1) {
+        int size = Math.min(this.handSizes[seat], this.pool.length - next);
+        hands.add(Arrays.asList(this.pool).subList(next, next + size));
+        next += size;
+      }
+      return new SearchSequenceModel(this.known, hands,
+              Arrays.asList(this.pool).subList(next, this.pool.length));
+    }
+
+    /**
+     * Walks down the tree through moves legal in this deal, adding one new node, and applies
+     * those moves to the state. Visits are counted on the way down so that other threads
+     * sharing the tree spread out instead of following the same path.
+     */
+    private Node select(SearchSequenceModel state) {
+      Node node = this.root;
+      synchronized (node) {
+        node.visits += 1;
+      }
+      while (!state.isGameOver()) {
+        int count = this.legalMoves(state);
+        if (count == 0) {
+          return node;
+        }
+        Node next = null;
+        int nextMove = -1;
+        boolean expanded = false;
+        synchronized (node) {
+          int untried = 0;
+          for (int index = 0; index < count; index += 1) {
+            Node child = node.children.get(this.keys[index]);
+            if (child == null) {
+              untried += 1;
+            } else {
+              child.available += 1;
+            }
+          }
+          if (untried > 0) {
+            int pick = this.random.nextInt(untried);
+            for (int index = 0; index < count; index += 1) {
+              if (!node.children.containsKey(this.keys[index])) {
+                if (pick == 0) {
+                  next = new Node(node, this.keys[index], state.getCurrentTeam());
+                  next.available = 1;
+                  next.visits = 1;
+                  node.children.put(this.keys[index], next);
+                  nextMove = this.moves[index];
+                  expanded = true;
+                  break;
+                }
+                pick -= 1;
+              }
+            }
+          } else {
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int index = 0; index < count; index += 1) {
+              Node child = node.children.get(this.keys[index]);
+              double score = child.score(this.table);
+              if (score > bestScore) {
+                bestScore = score;
+                next = child;
+                nextMove = this.moves[index];
+              }
+            }
+            next.visits += 1;
+          }
+        }
+        state.applyMove(nextMove);
+        if (expanded) {
+          synchronized (node) {
+            next.position = position(state, next.mover);
+          }
+          return next;
+        }
+        node = next;
+      }
+      return node;
+    }
+
+    /**
+     * Finishes the game by playing a random card to a random legal spot for it each turn, and
+     * scores it for every team: 1 for a win, 0 for a loss, and one half each for a tie or a
+     * game that stalls with no cards left to play.
+     */
+    private double[] playout(SearchSequenceModel state) {
+      double[] rewards = new double[GameChip.values().length];
+      while (!state.isGameOver()) {
+        int move = this.randomMove(state);
+        if (move == -1 && this.discardDead(state)) {
+          continue;
+        } else if (move == -1) {
+          rewards[GameChip.RED.ordinal()] = 0.5;
+          rewards[GameChip.GREEN.ordinal()] = 0.5;
+          rewards[GameChip.BLUE.ordinal()] = 0.5;
+          return rewards;
+        }
+        state.applyMove(move);
+      }
+      GameChip winner = state.getWinner();
+      if (winner.equals(GameChip.NONE)) {
+        rewards[GameChip.RED.ordinal()] = 0.5;
+        rewards[GameChip.GREEN.ordinal()] = 0.5;
+        rewards[GameChip.BLUE.ordinal()] = 0.5;
+      } else {
+        rewards[winner.ordinal()] = 1;
+      }
+      return rewards;
+    }
+
+    /**
+     * Tries the cards in hand starting from a random one and picks a random move for the first
+     * card that has any.
+     */
+    private int randomMove(SearchSequenceModel state) {
+      int size = state.handSize(state.getCurrentSeat());
+      if (size == 0) {
+        return -1;
+      }
+      int first = this.random.nextInt(size);
+      for (int offset = 0; offset < size; offset += 1) {
+        int count = state.legalMoves(this.moves, (first + offset) % size);
+        if (count > 0) {
+          return this.moves[this.random.nextInt(count)];
+        }
+      }
+      return -1;
+    }
+
+    /**
+     * Fills moves and keys with the current seat's legal moves, discarding dead cards first.
+     * A jack held after another jack of the same kind adds nothing new, so its moves are dropped.
+     */
+    private int legalMoves(SearchSequenceModel state) {
+      int count = state.legalMoves(this.moves);
+      while (count == 0 && this.discardDead(state)) {
+        count = state.legalMoves(this.moves);
+      }
+      int seat = state.getCurrentSeat();
+      int numCells = state.numCells();
+      int unique = 0;
+      for (int index = 0; index < count; index += 1) {
+        int which = this.moves[index] / numCells;
+        Card card = state.getCardAt(seat, which);
+        boolean repeat = false;
+        if (card.value().equals(CardValue.ONE_EYED_JACK)
+                || card.value().equals(CardValue.TWO_EYED_JACK)) {
+          for (int prev = 0; prev < which && !repeat; prev += 1) {
+            repeat = state.getCardAt(seat, prev).value().equals(card.value());
+          }
+        }
+        if (!repeat) {
+          this.moves[unique] = this.moves[index];
+          this.keys[unique] = key(state, this.moves[index]);
+          unique += 1;
+        }
+      }
+      return unique;
+    }
+
+    private boolean discardDead(SearchSequenceModel state) {
+      int seat = state.getCurrentSeat();
+      for (int card = 0; card < state.handSize(seat); card += 1) {
+        if (state.isDead(state.getCardAt(seat, card))) {
+          state.discardDeadCard(card);
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package game.algorithms;
 
-import java.util.Random;
+import java.util.Objects;
+import java.util.SplittableRandom;
 
 import game.controller.SequenceController;
 import game.model.PlayableSequenceModel;
@@ -10,12 +11,29 @@ import game.model.PlayableSequenceModel;
  * Defensive and Offensive network builders.
  */
 public class RandomNetworkBuilding implements SequenceAlgorithm {
+
+  private final SplittableRandom random;
+
+  /**
+   * Creates the algorithm with an unseeded source of randomness.
+   */
+  public RandomNetworkBuilding() {
+    this(new SplittableRandom());
+  }
+
+  /**
+   * Creates the algorithm drawing its choice of builder from the given stream.
+   * @param random the stream of random choices
+   */
+  public RandomNetworkBuilding(SplittableRandom random) {
+    this.random = Objects.requireNonNull(random);
+  }
+
   @Override
   public void beginTurn(PlayableSequenceModel model, SequenceController receiver) {
     SequenceAlgorithm def = new DefensiveNetworkBuilding();
     SequenceAlgorithm off = new OffensiveNetworkBuilding();
-    Random r = new Random();
-    if (r.nextBoolean()) {
+    if (this.random.nextBoolean()) {
       def.beginTurn(model, receiver);
     } else {
       off.beginTurn(model, receiver);
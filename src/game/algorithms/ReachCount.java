@@ -0,0 +1,73 @@
+package game.algorithms;
+
+import java.util.List;
+
+import game.board.Cell;
+import game.board.GamePosition;
+import game.board.SequenceLines;
+
+/**
+ * Counts how many of a set of cells are in sequence with a candidate cell, with a popcount of
+ * the candidate's reach mask against the set instead of a loop over the set. A cell may be in
+ * the set twice, as happens with the locations of two copies of a card in one hand, and is then
+ * counted twice.
+ */
+final class ReachCount {
+
+  private final SequenceLines lines;
+  private long onceLo = 0;
+  private long onceHi = 0;
+  private long twiceLo = 0;
+  private long twiceHi = 0;
+
+  /**
+   * Builds the count for a set of cells.
+   * @param layout the board the cells are on
+   * @param cells the cells to count, each at most twice
+   * @throws IllegalArgumentException if a cell is given more than twice
+   */
+  ReachCount(Cell[][] layout, List<GamePosition> cells) {
+    this.lines = SequenceLines.forSize(layout.length, layout[0].length);
+    for (GamePosition cell : cells) {
+      this.add(this.lines.index(cell));
+    }
+  }
+
+  /**
+   * Counts the cells of the set that are in sequence with the given one, see
+   * GamePosition.inSequence.
+   * @param where the candidate cell
+   * @return the number of cells in sequence with it
+   */
+  int count(GamePosition where) {
+    int cell = this.lines.index(where);
+    long lo = this.lines.reachLow(cell);
+    long hi = this.lines.reachHigh(cell);
+    return Long.bitCount(lo & this.onceLo) + Long.bitCount(hi & this.onceHi)
+            + Long.bitCount(lo & this.twiceLo) + Long.bitCount(hi & this.twiceHi);
+  }
+
+  private void add(int cell) {
+    boolean high = cell >= 64;
+    long bit = 1L << cell;
+    long once = high ? this.onceHi : this.onceLo;
+    if ((once & bit) == 0) {
+      if (high) {
+        this.onceHi |= bit;
+      } else {
+        this.onceLo |= bit;
+      }
+      return;
+    }
+    long twice = high ? this.twiceHi : this.twiceLo;
+    if ((twice & bit) != 0) {
+      throw new IllegalArgumentException("Cell counted more than twice: "
+              + this.lines.position(cell));
+    }
+    if (high) {
+      this.twiceHi |= bit;
+    } else {
+      this.twiceLo |= bit;
+    }
+  }
+}
@@ -39,9 +39,9 @@ public class ScoredNetworkBuilding implements SequenceAlgorithm {
 
   @Override
   public void beginTurn(PlayableSequenceModel model, SequenceController receiver) {
-    Cell[][] layout = model.getBoard().getBoard();
+    Cell[][] layout = model.viewBoard().getBoard();
 
-    Map<GameChip, List<GamePosition>> chips = model.getChips();
+    Map<GameChip, List<GamePosition>> chips = model.viewChips();
 
     List<GamePosition> theirs = new ArrayList<>();
 
@@ -53,24 +53,14 @@ public class ScoredNetworkBuilding implements SequenceAlgorithm {
 
 
     List<GamePosition> mine = chips.get(receiver.getTeam());
+    ReachCount theirReach = new ReachCount(layout, theirs);
+    ReachCount myReach = new ReachCount(layout, mine);
 
-    GameMove def = this.getDefensiveMove(model, receiver, theirs);
-    GameMove off = this.getOffensiveMove(model, receiver, mine);
+    GameMove def = this.getDefensiveMove(model, receiver, theirReach);
+    GameMove off = this.getOffensiveMove(model, receiver, myReach);
 
-    int defCount = 0;
-    int offCount = 0;
-
-    for (GamePosition loc : theirs) {
-      if (loc.inSequence(def.location())) {
-        defCount += 1;
-      }
-    }
-
-    for (GamePosition loc : mine) {
-      if (loc.inSequence(off.location())) {
-        offCount += 1;
-      }
-    }
+    int defCount = theirReach.count(def.location());
+    int offCount = myReach.count(off.location());
 
     if (defCount > offCount * this.threshold) {
       receiver.receiveMove(def);
@@ -81,17 +71,17 @@ public class ScoredNetworkBuilding implements SequenceAlgorithm {
   }
 
   private GameMove getDefensiveMove(PlayableSequenceModel model, SequenceController receiver,
-                                    List<GamePosition> theirs) {
-    GameBoard bd = model.getBoard();
+                                    ReachCount theirReach) {
+    GameBoard bd = model.viewBoard();
     Cell[][] layout = bd.getBoard();
 
 
     while (true) {
       boolean deadCarded = false;
-      GamePosition bestLoc = new GamePosition(-1, -1);
+      GamePosition bestLoc = GamePosition.of(-1, -1);
       int bestCard = -1;
       int bestCount = 0;
-      GameHand myHand = model.getHand(receiver);
+      GameHand myHand = model.viewHand(receiver);
       for (int card = 0; card < myHand.size(); card += 1) {
         Card current = myHand.getCardAt(card);
         if (current.value().equals(CardValue.ONE_EYED_JACK)) {
@@ -100,37 +90,27 @@ public class ScoredNetworkBuilding implements SequenceAlgorithm {
         if (current.value().equals(CardValue.TWO_EYED_JACK)) {
           for (int col = 0; col < layout.length; col += 1) {
             for (int row = 0; row < layout[0].length; row += 1) {
-              if (bd.getCell(new GamePosition(col, row)).hasChip()) {
+              if (!bd.getChip(GamePosition.of(col, row)).equals(GameChip.NONE)) {
                 continue;
               }
-              int count = 0;
-              for (GamePosition pos : theirs) {
-                if (new GamePosition(col, row).inSequence(pos)) {
-                  count += 1;
-                }
-              }
+              int count = theirReach.count(GamePosition.of(col, row));
               if (bestCard == -1 || bestCount < count) {
                 bestCard = card;
                 bestCount = count;
-                bestLoc = new GamePosition(col, row);
+                bestLoc = GamePosition.of(col, row);
               }
             }
           }
         } else {
-          List<GamePosition> cardLocs = bd.cardLocations().get(current);
+          List<GamePosition> cardLocs = bd.cardLocations(current.id());
           int deadLocs = 0;
           for (GamePosition loc : cardLocs) {
-            if (bd.getCell(loc).hasChip()) {
+            if (!bd.getChip(loc).equals(GameChip.NONE)) {
               deadLocs += 1;
               continue;
             }
 
-            int count = 0;
-            for (GamePosition pos : theirs) {
-              if (loc.inSequence(pos)) {
-                count += 1;
-              }
-            }
+            int count = theirReach.count(loc);
             if (bestCard == -1 || bestCount <= count) {
               bestCard = card;
               bestCount = count;
@@ -153,8 +133,8 @@ public class ScoredNetworkBuilding implements SequenceAlgorithm {
             if (!layout[col][row].getChip().equals(receiver.getTeam())
                     && !layout[col][row].getChip().equals(GameChip.NONE)
                     && !layout[col][row].getChip().equals(GameChip.ALL)
-                    && !bd.isLocked(new GamePosition(col, row))) {
-              return new GameMove(new GamePosition(col, row), 0);
+                    && !bd.isLocked(GamePosition.of(col, row))) {
+              return new GameMove(GamePosition.of(col, row), 0);
             }
           }
         }
@@ -165,16 +145,16 @@ public class ScoredNetworkBuilding implements SequenceAlgorithm {
   }
 
   private GameMove getOffensiveMove(PlayableSequenceModel model, SequenceController receiver,
-                                    List<GamePosition> mine) {
-    GameBoard bd = model.getBoard();
+                                    ReachCount myReach) {
+    GameBoard bd = model.viewBoard();
     Cell[][] layout = bd.getBoard();
 
     while (true) {
       boolean deadCarded = false;
-      GamePosition bestLoc = new GamePosition(-1, -1);
+      GamePosition bestLoc = GamePosition.of(-1, -1);
       int bestCard = -1;
       int bestCount = 0;
-      GameHand myHand = model.getHand(receiver);
+      GameHand myHand = model.viewHand(receiver);
       for (int card = 0; card < myHand.size(); card += 1) {
         Card current = myHand.getCardAt(card);
         if (current.value().equals(CardValue.ONE_EYED_JACK)) {
@@ -183,37 +163,27 @@ public class ScoredNetworkBuilding implements SequenceAlgorithm {
         if (current.value().equals(CardValue.TWO_EYED_JACK)) {
           for (int col = 0; col < layout.length; col += 1) {
             for (int row = 0; row < layout[0].length; row += 1) {
-              if (bd.getCell(new GamePosition(col, row)).hasChip()) {
+              if (!bd.getChip(GamePosition.of(col, row)).equals(GameChip.NONE)) {
                 continue;
               }
-              int count = 0;
-              for (GamePosition pos : mine) {
-                if (new GamePosition(col, row).inSequence(pos)) {
-                  count += 1;
-                }
-              }
+              int count = myReach.count(GamePosition.of(col, row));
               if (bestCard == -1 || bestCount < count) {
                 bestCard = card;
                 bestCount = count;
-                bestLoc = new GamePosition(col, row);
+                bestLoc = GamePosition.of(col, row);
               }
             }
           }
         } else {
-          List<GamePosition> cardLocs = bd.cardLocations().get(current);
+          List<GamePosition> cardLocs = bd.cardLocations(current.id());
           int deadLocs = 0;
           for (GamePosition loc : cardLocs) {
-            if (bd.getCell(loc).hasChip()) {
+            if (!bd.getChip(loc).equals(GameChip.NONE)) {
               deadLocs += 1;
               continue;
             }
 
-            int count = 0;
-            for (GamePosition pos : mine) {
-              if (loc.inSequence(pos)) {
-                count += 1;
-              }
-            }
+            int count = myReach.count(loc);
             if (bestCard == -1 || bestCount <= count) {
               bestCard = card;
               bestCount = count;
@@ -236,8 +206,8 @@ public class ScoredNetworkBuilding implements SequenceAlgorithm {
             if (!layout[col][row].getChip().equals(receiver.getTeam())
                     && !layout[col][row].getChip().equals(GameChip.NONE)
                     && !layout[col][row].getChip().equals(GameChip.ALL)
-                    && !bd.isLocked(new GamePosition(col, row))) {
-              return new GameMove(new GamePosition(col, row), 0);
+                    && !bd.isLocked(GamePosition.of(col, row))) {
+              return new GameMove(GamePosition.of(col, row), 0);
 
             }
           }
@@ -2,7 +2,8 @@ package game.algorithms;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.Objects;
+import java.util.SplittableRandom;
 
 import game.board.Card;
 import game.board.Cell;
@@ -20,9 +21,27 @@ import game.model.PlayableSequenceModel;
  */
 public class TwoNeurons implements SequenceAlgorithm {
 
+  private final SplittableRandom random;
+
+  /**
+   * Creates the algorithm with an unseeded source of randomness.
+   */
+  public TwoNeurons() {
+    this(new SplittableRandom());
+  }
+
+  /**
+   * Creates the algorithm drawing all of its choices from the given stream, so that a game can
+   * be replayed exactly from its seed.
+   * @param random the stream of random choices
+   */
+  public TwoNeurons(SplittableRandom random) {
+    this.random = Objects.requireNonNull(random);
+  }
+
   @Override
   public void beginTurn(PlayableSequenceModel model, SequenceController receiver) {
-    GameBoard bd = model.getBoard();
+    GameBoard bd = model.viewBoard();
     Cell[][] layout = bd.getBoard();
 
     List<GamePosition> removeables = new ArrayList<>();
@@ -35,12 +54,12 @@ public class TwoNeurons implements SequenceAlgorithm {
                 || col == layout.length - 1 && row == layout[0].length - 1) {
           continue;
         }
-        GamePosition pos = new GamePosition(col, row);
+        GamePosition pos = GamePosition.of(col, row);
         if (bd.isLocked(pos)) {
           states[col][row] = 0;
-        } else if (bd.getCell(pos).hasChip()) {
+        } else if (!bd.getChip(pos).equals(GameChip.NONE)) {
           states[col][row] = -1;
-          removeables.add(new GamePosition(col, row));
+          removeables.add(GamePosition.of(col, row));
         } else {
           states[col][row] = 1;
         }
@@ -55,11 +74,11 @@ public class TwoNeurons implements SequenceAlgorithm {
     }
 
     while (true) {
-      GameHand myHand = model.getHand(receiver);
+      GameHand myHand = model.viewHand(receiver);
 
       if (!opponentOpenings.isEmpty()) {
         for (List<GamePosition> pair : opponentOpenings) {
-          if (bd.getCell(pair.get(1)).hasChip()) {
+          if (!bd.getChip(pair.get(1)).equals(GameChip.NONE)) {
             continue;
           }
           int cardFor = hasCardFor(myHand, pair.get(1), bd);
@@ -70,7 +89,7 @@ public class TwoNeurons implements SequenceAlgorithm {
         }
       } else if (!myOpenings.isEmpty()) {
         for (List<GamePosition> pair : myOpenings) {
-          if (bd.getCell(pair.get(1)).hasChip()) {
+          if (!bd.getChip(pair.get(1)).equals(GameChip.NONE)) {
             continue;
           }
           int cardFor = hasCardFor(myHand, pair.get(1), bd);
@@ -81,14 +100,14 @@ public class TwoNeurons implements SequenceAlgorithm {
         }
       }
 
-      int card = new Random().nextInt(myHand.size() - 1);
+      int card = this.random.nextInt(myHand.size() - 1);
       Card currCard = myHand.getCardAt(card);
       if (currCard.value().equals(CardValue.TWO_EYED_JACK)) {
         while (true) {
-          int col = new Random().nextInt(layout.length);
-          int row = new Random().nextInt(layout[0].length);
+          int col = this.random.nextInt(layout.length);
+          int row = this.random.nextInt(layout[0].length);
           if (states[col][row] == 1) {
-            receiver.receiveMove(new GameMove(new GamePosition(col, row), card));
+            receiver.receiveMove(new GameMove(GamePosition.of(col, row), card));
             return;
           }
         }
@@ -98,9 +117,9 @@ public class TwoNeurons implements SequenceAlgorithm {
           if (removeables.size() == 1) {
             choice = 0;
           } else {
-            choice = new Random().nextInt(removeables.size() - 1);
+            choice = this.random.nextInt(removeables.size() - 1);
           }
-          if (bd.getCell(removeables.get(choice)).getChip().equals(receiver.getTeam())) {
+          if (bd.getChip(removeables.get(choice)).equals(receiver.getTeam())) {
             removeables.remove(choice);
             continue;
           }
@@ -108,13 +127,13 @@ public class TwoNeurons implements SequenceAlgorithm {
           return;
         }
       } else {
-        List<GamePosition> cardLocs = bd.cardLocations().get(currCard);
+        List<GamePosition> cardLocs = new ArrayList<>(bd.cardLocations(currCard.id()));
         while (!cardLocs.isEmpty()) {
           int choice;
           if (cardLocs.size() == 1) {
             choice = 0;
           } else {
-            choice = new Random().nextInt(cardLocs.size() - 1);
+            choice = this.random.nextInt(cardLocs.size() - 1);
           }
           if (states[cardLocs.get(choice).x()][cardLocs.get(choice).y()] == 1) {
             receiver.receiveMove(new GameMove(cardLocs.get(choice), card));
@@ -131,7 +150,7 @@ public class TwoNeurons implements SequenceAlgorithm {
     int jackCard = -1;
     for (int card = 0; card < hand.size(); card += 1) {
       Card currCard = hand.getCardAt(card);
-      if (board.cardLocations().get(currCard).contains(location)) {
+      if (board.cardLocations(currCard.id()).contains(location)) {
         return card;
       } else if (currCard.value().equals(CardValue.TWO_EYED_JACK)) {
         jackCard = card;
@@ -0,0 +1,165 @@
+package game.batch;
+
+import game.enums.GameChip;
+
+/**
+ * AsRandomAsCanBe for a batch of games. Each game has its own random stream, kept as one long
+ * of state in an array rather than a SplittableRandom per game, and stepped the way
+ * SplittableRandom steps. Given the same seed for a game's stream, this makes the same choices
+ * in that game as AsRandomAsCanBe with a new SplittableRandom(seed) makes in a SequenceModel game
+ * dealt from the same seed. Use one instance per seat.
+ */
+public final class BatchAsRandomAsCanBe implements BatchStrategy {
+
+  // The constants of java.util.SplittableRandom
+  private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+  private final long[] state;
+  // Cells holding chips that might be removed, for the game whose turn is being played
+  private int[] removeables = new int[0];
+  private int numRemoveables;
+  private int[] cardLocs = new int[2];
+
+  /**
+   * Creates the strategy with one random stream per game.
+   * @param seeds the seed of each game's stream, one per game in the batch
+   */
+  public BatchAsRandomAsCanBe(long[] seeds) {
+    this.state = seeds.clone();
+  }
+
+  @Override
+  public void playTurns(BatchSimulator games, int seat) {
+    if (games.numGames() != this.state.length) {
+      throw new IllegalArgumentException("Strategy has streams for " + this.state.length
+              + " games, not " + games.numGames());
+    }
+    if (this.removeables.length < games.getWidth() * games.getHeight()) {
+      this.removeables = new int[games.getWidth() * games.getHeight()];
+    }
+    GameChip team = games.getTeam(seat);
+    for (int game = 0; game < games.numGames(); game += 1) {
+      if (!games.isOver(game)) {
+        this.playTurn(games, game, team);
+      }
+    }
+  }
+
+  private void playTurn(BatchSimulator games, int game, GameChip team) {
+    int width = games.getWidth();
+    int height = games.getHeight();
+    // The removeable cells are gathered once per turn, as the board cannot change until a move
+    this.numRemoveables = -1;
+    while (true) {
+      int handIndex = this.nextInt(game, games.handSize() - 1);
+      int card = games.cardAt(game, handIndex);
+      if (BatchSimulator.isTwoEyedJack(card)) {
+        while (true) {
+          int col = this.nextInt(game, width);
+          int row = this.nextInt(game, height);
+          if (this.isOpen(games, game, col, row)) {
+            games.play(game, handIndex, col * height + row);
+            return;
+          }
+        }
+      } else if (BatchSimulator.isOneEyedJack(card)) {
+        if (this.numRemoveables == -1) {
+          this.gatherRemoveables(games, game);
+        }
+        while (this.numRemoveables > 0) {
+          int choice;
+          if (this.numRemoveables == 1) {
+            choice = 0;
+          } else {
+            choice = this.nextInt(game, this.numRemoveables - 1);
+          }
+          int cell = this.removeables[choice];
+          if (games.chipAt(game, cell).equals(team)) {
+            this.numRemoveables = remove(this.removeables, this.numRemoveables, choice);
+            continue;
+          }
+          games.play(game, handIndex, cell);
+          return;
+        }
+      } else {
+        int[] cells = games.cardCells(card);
+        if (this.cardLocs.length < cells.length) {
+          this.cardLocs = new int[cells.length];
+        }
+        int[] cardLocs = this.cardLocs;
+        System.arraycopy(cells, 0, cardLocs, 0, cells.length);
+        int numLocs = cells.length;
+        while (numLocs > 0) {
+          int choice;
+          if (numLocs == 1) {
+            choice = 0;
+          } else {
+            choice = this.nextInt(game, numLocs - 1);
+          }
+          int cell = cardLocs[choice];
+          if (this.isOpen(games, game, cell / height, cell % height)) {
+            games.play(game, handIndex, cell);
+            return;
+          }
+          numLocs = remove(cardLocs, numLocs, choice);
+        }
+        games.discard(game, handIndex);
+      }
+    }
+  }
+
+  // An open cell that is not a corner and not locked, as AsRandomAsCanBe judges it
+  private boolean isOpen(BatchSimulator games, int game, int col, int row) {
+    int cell = col * games.getHeight() + row;
+    return !isCorner(games, col, row) && !games.isLocked(game, cell) && games.isOpen(game, cell);
+  }
+
+  private void gatherRemoveables(BatchSimulator games, int game) {
+    int height = games.getHeight();
+    this.numRemoveables = 0;
+    for (int col = 0; col < games.getWidth(); col += 1) {
+      for (int row = 0; row < height; row += 1) {
+        int cell = col * height + row;
+        if (!isCorner(games, col, row) && !games.isLocked(game, cell)
+                && !games.isOpen(game, cell)) {
+          this.removeables[this.numRemoveables] = cell;
+          this.numRemoveables += 1;
+        }
+      }
+    }
+  }
+
+  private static boolean isCorner(BatchSimulator games, int col, int row) {
+    return (col == 0 || col == games.getWidth() - 1)
+            && (row == 0 || row == games.getHeight() - 1);
+  }
+
+  private static int remove(int[] cells, int size, int index) {
+    System.arraycopy(cells, index + 1, cells, index, size - index - 1);
+    return size - 1;
+  }
+
+  // SplittableRandom.nextInt(bound), stepping this game's stream
+  private int nextInt(int game, int bound) {
+    if (bound <= 0) {
+      throw new IllegalArgumentException("bound must be positive");
+    }
+    int r = this.nextInt(game);
+    int m = bound - 1;
+    if ((bound & m) == 0) {
+      return r & m;
+    }
+    int u = r >>> 1;
+    while (u + m - (r = u % bound) < 0) {
+      u = this.nextInt(game) >>> 1;
+    }
+    return r;
+  }
+
+  private int nextInt(int game) {
+    long z = this.state[game] + GOLDEN_GAMMA;
+    this.state[game] = z;
+    z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+    return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+  }
+}
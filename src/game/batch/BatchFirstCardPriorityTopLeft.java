@@ -0,0 +1,60 @@
+package game.batch;
+
+import game.enums.GameChip;
+
+/**
+ * FirstCardPriorityTopLeft for a batch of games. It makes the same choices in each game as that
+ * algorithm makes in a SequenceModel game dealt from the same seed.
+ */
+public final class BatchFirstCardPriorityTopLeft implements BatchStrategy {
+
+  @Override
+  public void playTurns(BatchSimulator games, int seat) {
+    GameChip team = games.getTeam(seat);
+    int numCells = games.getWidth() * games.getHeight();
+    for (int game = 0; game < games.numGames(); game += 1) {
+      if (!games.isOver(game)) {
+        this.playTurn(games, game, team, numCells);
+      }
+    }
+  }
+
+  private void playTurn(BatchSimulator games, int game, GameChip team, int numCells) {
+    int firstPlayable = 0;
+    while (true) {
+      if (firstPlayable >= games.handSize()) {
+        throw new IllegalStateException("No playable card in hand");
+      }
+      int card = games.cardAt(game, firstPlayable);
+      if (BatchSimulator.isTwoEyedJack(card)) {
+        for (int cell = 0; cell < numCells; cell += 1) {
+          if (games.isOpen(game, cell)) {
+            games.play(game, firstPlayable, cell);
+            return;
+          }
+        }
+        throw new IllegalStateException("Board full");
+      } else if (BatchSimulator.isOneEyedJack(card)) {
+        if (!games.hasChips(game)) {
+          firstPlayable += 1;
+          continue;
+        }
+        for (int cell = 0; cell < numCells; cell += 1) {
+          GameChip chip = games.chipAt(game, cell);
+          if (!chip.equals(GameChip.NONE) && !chip.equals(GameChip.ALL)
+                  && !games.isLocked(game, cell) && !chip.equals(team)) {
+            games.play(game, firstPlayable, cell);
+            return;
+          }
+        }
+      }
+      for (int cell : games.cardCells(card)) {
+        if (games.isOpen(game, cell)) {
+          games.play(game, firstPlayable, cell);
+          return;
+        }
+      }
+      games.discard(game, firstPlayable);
+    }
+  }
+}
@@ -0,0 +1,588 @@
+package game.batch;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import game.board.BasicCard;
+import game.board.Card;
+import game.board.Cell;
+import game.board.GameBoard;
+import game.board.GamePosition;
+import game.board.SequenceLines;
+import game.enums.CardValue;
+import game.enums.GameChip;
+import game.enums.SequenceType;
+import game.model.Deal;
+import game.scorekeeper.ScoreKeeper;
+
+/**
+ * Plays many games of sequence side by side in lockstep. Every game uses the same board layout
+ * and seating, and each call to step plays one turn of the same seat in every game that is not
+ * over, so the strategies in a BatchStrategy work through all games in one pass.
+ * Games are kept in flat primitive arrays indexed by game rather than in one object per game:
+ * chips, hands, decks, and sequence masks for all games sit next to each other in memory.
+ * The rules are the ones SequenceModel plays by, and a game dealt from a seed here is dealt and
+ * reshuffled exactly as SequenceModel deals a game from that seed.
+ */
+public final class BatchSimulator {
+
+  private static final GameChip[] CHIPS = GameChip.values();
+  private static final int NUM_TEAMS = 3;
+  private static final SequenceType[] TYPES = SequenceType.values();
+  private static final int NUM_TYPES = TYPES.length;
+  private static final byte NONE = (byte) GameChip.NONE.ordinal();
+  private static final byte ALL = (byte) GameChip.ALL.ordinal();
+  private static final boolean[] ONE_EYED = new boolean[Card.NUM_IDS];
+  private static final boolean[] TWO_EYED = new boolean[Card.NUM_IDS];
+
+  static {
+    for (int id = 0; id < Card.NUM_IDS; id += 1) {
+      CardValue value = BasicCard.fromId(id).value();
+      ONE_EYED[id] = value.equals(CardValue.ONE_EYED_JACK);
+      TWO_EYED[id] = value.equals(CardValue.TWO_EYED_JACK);
+    }
+  }
+
+  private final int numGames;
+  private final int width;
+  private final int height;
+  private final int numCells;
+  private final int numPlayable;
+  private final SequenceLines lines;
+  private final GameChip[] seats;
+  private final int handSize;
+  // The card id printed on each cell, or -1 for free spaces
+  private final int[] cellCard;
+  private final int[][] cardCells;
+
+  // Per game state, game-major
+  private final byte[] chips;
+  // Two longs per team per game, by chip ordinal, counting free spaces for every team
+  private final long[] owned;
+  // Two longs per sequence type per game
+  private final long[] locked;
+  // Two longs per game, the union of the locked masks
+  private final long[] anyLocked;
+  // Cards in each hand, seat-major within a game, with -1 for a slot waiting on a draw
+  private final byte[] hands;
+  private final int[] decks;
+  private final int[] deckCursor;
+  private final int[] deckSize;
+  private final long[] shuffleState;
+  // Completed sequences per team per game, by chip ordinal
+  private final int[] sequenceCounts;
+  private final int[] chipsPresent;
+  private final int[] numMoves;
+  private final byte[] winner;
+  // The last turn each game had its move played on, -1 before the first
+  private final int[] movedOnTurn;
+  private final int[] counts = new int[Card.NUM_IDS];
+  private int turn = 0;
+  private int numLive;
+
+  /**
+   * Deals a batch of games, one per seed, on copies of the given board.
+   * @param board the board every game is played on, which is only read
+   * @param seats the team of each seat, in turn order
+   * @param seeds the seed each game is dealt from, one per game
+   * @throws IllegalArgumentException if there are fewer than two seats or no games, or the board
+   *     has chips on it or more than 128 cells
+   */
+  public BatchSimulator(GameBoard board, List<GameChip> seats, long[] seeds) {
+    Objects.requireNonNull(board);
+    if (seats.size() < 2) {
+      throw new IllegalArgumentException("Minimum two players");
+    }
+    if (seeds.length < 1) {
+      throw new IllegalArgumentException("Minimum one game");
+    }
+    int numColors = 2;
+    for (GameChip team : seats) {
+      if (team.equals(GameChip.NONE) || team.equals(GameChip.ALL)) {
+        throw new IllegalArgumentException("Invalid team for a seat: " + team);
+      }
+      if (team.equals(GameChip.GREEN)) {
+        numColors = 3;
+      }
+    }
+    Cell[][] layout = board.getBoard();
+    this.numGames = seeds.length;
+    this.width = layout.length;
+    this.height = layout[0].length;
+    this.lines = SequenceLines.forSize(this.width, this.height);
+    this.numCells = this.width * this.height;
+    this.seats = seats.toArray(new GameChip[0]);
+    this.handSize = Deal.cardsPerPlayer(this.seats.length, numColors);
+
+    this.cellCard = new int[this.numCells];
+    long freeLo = 0;
+    long freeHi = 0;
+    int numFree = 0;
+    for (int col = 0; col < this.width; col += 1) {
+      for (int row = 0; row < this.height; row += 1) {
+        int cell = this.lines.index(col, row);
+        GameChip chip = layout[col][row].getChip();
+        if (chip.equals(GameChip.ALL)) {
+          this.cellCard[cell] = -1;
+          numFree += 1;
+          if (cell < 64) {
+            freeLo |= 1L << cell;
+          } else {
+            freeHi |= 1L << cell;
+          }
+        } else if (chip.equals(GameChip.NONE)) {
+          this.cellCard[cell] = layout[col][row].getCard().id();
+        } else {
+          throw new IllegalArgumentException("Board must start without chips");
+        }
+      }
+    }
+    this.numPlayable = this.numCells - numFree;
+    this.cardCells = new int[Card.NUM_IDS][];
+    for (int id = 0; id < Card.NUM_IDS; id += 1) {
+      List<GamePosition> locations = board.cardLocations(id);
+      this.cardCells[id] = new int[locations.size()];
+      for (int loc = 0; loc < locations.size(); loc += 1) {
+        this.cardCells[id][loc] = this.lines.index(locations.get(loc));
+      }
+    }
+
+    this.chips = new byte[this.numGames * this.numCells];
+    this.owned = new long[this.numGames * NUM_TEAMS * 2];
+    this.locked = new long[this.numGames * NUM_TYPES * 2];
+    this.anyLocked = new long[this.numGames * 2];
+    this.hands = new byte[this.numGames * this.seats.length * this.handSize];
+    Arrays.fill(this.hands, (byte) -1);
+    this.decks = new int[this.numGames * Deal.DECK_SIZE];
+    this.deckCursor = new int[this.numGames];
+    this.deckSize = new int[this.numGames];
+    this.shuffleState = new long[this.numGames];
+    this.sequenceCounts = new int[this.numGames * NUM_TEAMS];
+    this.chipsPresent = new int[this.numGames];
+    this.numMoves = new int[this.numGames];
+    this.winner = new byte[this.numGames];
+    this.movedOnTurn = new int[this.numGames];
+    Arrays.fill(this.movedOnTurn, -1);
+    this.numLive = this.numGames;
+
+    for (int game = 0; game < this.numGames; game += 1) {
+      int cells = game * this.numCells;
+      for (int cell = 0; cell < this.numCells; cell += 1) {
+        this.chips[cells + cell] = this.cellCard[cell] == -1 ? ALL : NONE;
+      }
+      for (int team = 0; team < NUM_TEAMS; team += 1) {
+        this.owned[(game * NUM_TEAMS + team) * 2] = freeLo;
+        this.owned[(game * NUM_TEAMS + team) * 2 + 1] = freeHi;
+      }
+      int deck = game * Deal.DECK_SIZE;
+      for (int card = 0; card < Deal.DECK_SIZE; card += 1) {
+        this.decks[deck + card] = card >>> 1;
+      }
+      this.shuffleState[game] = Deal.shuffle(this.decks, deck, Deal.DECK_SIZE,
+              Deal.seedState(seeds[game]));
+      this.deckSize[game] = Deal.DECK_SIZE;
+      this.winner[game] = -1;
+      for (int seat = 0; seat < this.seats.length; seat += 1) {
+        int hand = this.handStart(game, seat);
+        for (int card = 0; card < this.handSize; card += 1) {
+          this.hands[hand + card] = (byte) this.draw(game);
+        }
+      }
+    }
+  }
+
+  /**
+   * Plays one turn of the seat to move in every game that is not over.
+   * @param players the strategy for each seat, in turn order
+   * @return whether any game is still being played
+   * @throws IllegalArgumentException if there is not one strategy per seat
+   * @throws IllegalStateException if every game is over, or a strategy leaves a game that is
+   *     not over without playing a move
+   */
+  public boolean step(List<? extends BatchStrategy> players) {
+    if (players.size() != this.seats.length) {
+      throw new IllegalArgumentException("Need one strategy per seat: given " + players.size()
+              + " for " + this.seats.length);
+    }
+    if (this.numLive == 0) {
+      throw new IllegalStateException("Every game is already over");
+    }
+    int seat = this.currentSeat();
+    players.get(seat).playTurns(this, seat);
+    // A game that is over without a move this turn was already over, as only moves end games
+    for (int game = 0; game < this.numGames; game += 1) {
+      if (this.movedOnTurn[game] != this.turn && !this.isOver(game)) {
+        throw new IllegalStateException("Game " + game + " had no move played on turn "
+                + this.seats[seat]);
+      }
+    }
+    this.turn += 1;
+    return this.numLive > 0;
+  }
+
+  /**
+   * Plays every game to the end.
+   * @param players the strategy for each seat, in turn order
+   * @return the number of turns played
+   */
+  public int run(List<? extends BatchStrategy> players) {
+    while (this.numLive > 0) {
+      this.step(players);
+    }
+    return this.turn;
+  }
+
+  /**
+   * Reports the result of every finished game to a score keeper.
+   * @param keeper the score keeper
+   */
+  public void reportTo(ScoreKeeper keeper) {
+    for (int game = 0; game < this.numGames; game += 1) {
+      if (this.isOver(game)) {
+        keeper.recordGame(this.getWinner(game), this.seats[0], this.numMoves[game]);
+      }
+    }
+  }
+
+  /**
+   * Plays a card from the hand of the seat to move, as SequenceModel.playToCell does.
+   * @param game the game
+   * @param handIndex the index of the card in the hand
+   * @param cell the cell index, see SequenceLines.index
+   * @throws IllegalArgumentException if the move is not legal
+   * @throws IllegalStateException if the game is over, or already had its move this turn
+   */
+  public void play(int game, int handIndex, int cell) {
+    this.checkLive(game);
+    this.checkHandIndex(handIndex);
+    if (this.movedOnTurn[game] == this.turn) {
+      throw new IllegalStateException("Game " + game + " already had its move this turn");
+    }
+    int hand = this.handStart(game, this.currentSeat());
+    int card = this.hands[hand + handIndex];
+    int at = game * this.numCells + cell;
+    byte team = (byte) this.seats[this.currentSeat()].ordinal();
+    byte present = this.chips[at];
+    if (present != NONE) {
+      if (!ONE_EYED[card]) {
+        throw new IllegalArgumentException("Cannot play to already filled position "
+                + this.lines.position(cell));
+      }
+      if (present == team) {
+        throw new IllegalArgumentException("Cannot remove your own pieces");
+      }
+      if (present == ALL) {
+        throw new IllegalArgumentException("Cannot remove a free space");
+      }
+      if (this.isLocked(game, cell)) {
+        throw new IllegalArgumentException("Cell is locked: " + this.lines.position(cell));
+      }
+      this.chips[at] = NONE;
+      this.setOwned(game, present, cell, false);
+      this.chipsPresent[game] -= 1;
+    } else {
+      if (ONE_EYED[card]) {
+        throw new IllegalArgumentException("Cannot remove from empty position: "
+                + this.lines.position(cell));
+      }
+      if (!TWO_EYED[card] && this.cellCard[cell] != card) {
+        throw new IllegalArgumentException("Invalid move: Cards do not match: "
+                + BasicCard.fromId(card) + " to " + this.lines.position(cell));
+      }
+      this.chips[at] = team;
+      this.setOwned(game, team, cell, true);
+      this.chipsPresent[game] += 1;
+      this.markSequences(game, team, cell);
+    }
+    this.numMoves[game] += 1;
+    this.movedOnTurn[game] = this.turn;
+    this.replaceCard(game, hand, handIndex);
+
+    if (this.sequenceCounts[game * NUM_TEAMS + team] >= 2) {
+      this.finish(game, team);
+    } else if (this.chipsPresent[game] == this.numPlayable) {
+      this.finish(game, NONE);
+    }
+  }
+
+  /**
+   * Discards a dead card from the hand of the seat to move and draws another, as
+   * SequenceModel.deadCard does. The seat still has its move to play.
+   * @param game the game
+   * @param handIndex the index of the card in the hand
+   * @throws IllegalArgumentException if the card is not dead
+   * @throws IllegalStateException if the game is over, or already had its move this turn
+   */
+  public void discard(int game, int handIndex) {
+    this.checkLive(game);
+    this.checkHandIndex(handIndex);
+    if (this.movedOnTurn[game] == this.turn) {
+      throw new IllegalStateException("Game " + game + " already had its move this turn");
+    }
+    int hand = this.handStart(game, this.currentSeat());
+    int card = this.hands[hand + handIndex];
+    for (int cell : this.cardCells[card]) {
+      if (this.chips[game * this.numCells + cell] == NONE) {
+        throw new IllegalArgumentException("Card is not dead: " + BasicCard.fromId(card));
+      }
+    }
+    this.replaceCard(game, hand, handIndex);
+  }
+
+  /**
+   * Counts the games in the batch.
+   * @return the number of games
+   */
+  public int numGames() {
+    return this.numGames;
+  }
+
+  /**
+   * Counts the games that are not over yet.
+   * @return the number of games still being played
+   */
+  public int numLive() {
+    return this.numLive;
+  }
+
+  /**
+   * Accesses the seat to move, which is the same in every game that is not over.
+   * @return the seat in turn order
+   */
+  public int currentSeat() {
+    return this.turn % this.seats.length;
+  }
+
+  /**
+   * Accesses the team of a seat.
+   * @param seat the seat in turn order
+   * @return the seat's team
+   */
+  public GameChip getTeam(int seat) {
+    return this.seats[seat];
+  }
+
+  /**
+   * Accesses the number of columns of the board.
+   * @return the board width
+   */
+  public int getWidth() {
+    return this.width;
+  }
+
+  /**
+   * Accesses the number of rows of the board.
+   * @return the board height
+   */
+  public int getHeight() {
+    return this.height;
+  }
+
+  /**
+   * Accesses the number of cards in every hand.
+   * @return the hand size
+   */
+  public int handSize() {
+    return this.handSize;
+  }
+
+  /**
+   * Accesses a card in the hand of the seat to move.
+   * @param game the game
+   * @param handIndex the index of the card in the hand
+   * @return the card id, see Card.id
+   */
+  public int cardAt(int game, int handIndex) {
+    return this.hands[this.handStart(game, this.currentSeat()) + handIndex];
+  }
+
+  /**
+   * Determines if a card is a one eyed jack.
+   * @param cardId the card id
+   * @return whether the card removes chips
+   */
+  public static boolean isOneEyedJack(int cardId) {
+    return ONE_EYED[cardId];
+  }
+
+  /**
+   * Determines if a card is a two eyed jack.
+   * @param cardId the card id
+   * @return whether the card can be played to any open cell
+   */
+  public static boolean isTwoEyedJack(int cardId) {
+    return TWO_EYED[cardId];
+  }
+
+  /**
+   * Accesses the cells a card can be played to, in cell index order. The array is shared and
+   * must not be modified.
+   * @param cardId the card id
+   * @return the cell indices showing that card, empty for jacks
+   */
+  public int[] cardCells(int cardId) {
+    return this.cardCells[cardId];
+  }
+
+  /**
+   * Accesses the chip on a cell.
+   * @param game the game
+   * @param cell the cell index
+   * @return the chip, NONE if the cell is open and ALL for free spaces
+   */
+  public GameChip chipAt(int game, int cell) {
+    return CHIPS[this.chips[game * this.numCells + cell]];
+  }
+
+  /**
+   * Determines if a cell is open.
+   * @param game the game
+   * @param cell the cell index
+   * @return whether the cell has no chip
+   */
+  public boolean isOpen(int game, int cell) {
+    return this.chips[game * this.numCells + cell] == NONE;
+  }
+
+  /**
+   * Determines if a cell is part of a completed sequence in any direction.
+   * @param game the game
+   * @param cell the cell index
+   * @return whether the cell is locked
+   */
+  public boolean isLocked(int game, int cell) {
+    if (cell < 64) {
+      return (this.anyLocked[game * 2] & 1L << cell) != 0;
+    }
+    return (this.anyLocked[game * 2 + 1] & 1L << cell) != 0;
+  }
+
+  /**
+   * Determines if any team has a chip on the board, not counting free spaces.
+   * @param game the game
+   * @return whether the board has a team chip on it
+   */
+  public boolean hasChips(int game) {
+    return this.chipsPresent[game] > 0;
+  }
+
+  /**
+   * Determines if a game is over.
+   * @param game the game
+   * @return whether the game has been won or tied
+   */
+  public boolean isOver(int game) {
+    return this.winner[game] >= 0;
+  }
+
+  /**
+   * Accesses the winner of a finished game.
+   * @param game the game
+   * @return the winning team, or GameChip.NONE for a tie
+   * @throws IllegalStateException if the game is not over
+   */
+  public GameChip getWinner(int game) {
+    if (!this.isOver(game)) {
+      throw new IllegalStateException("No Winner");
+    }
+    return CHIPS[this.winner[game]];
+  }
+
+  /**
+   * Accesses the number of moves played in a game, not counting dead card discards.
+   * @param game the game
+   * @return the number of moves
+   */
+  public int getNumMoves(int game) {
+    return this.numMoves[game];
+  }
+
+  private int handStart(int game, int seat) {
+    return (game * this.seats.length + seat) * this.handSize;
+  }
+
+  private void replaceCard(int game, int hand, int handIndex) {
+    System.arraycopy(this.hands, hand + handIndex + 1, this.hands, hand + handIndex,
+            this.handSize - handIndex - 1);
+    this.hands[hand + this.handSize - 1] = -1;
+    this.hands[hand + this.handSize - 1] = (byte) this.draw(game);
+  }
+
+  private int draw(int game) {
+    if (this.deckCursor[game] == this.deckSize[game]) {
+      this.resetDeck(game);
+    }
+    int card = this.decks[game * Deal.DECK_SIZE + this.deckCursor[game]];
+    this.deckCursor[game] += 1;
+    return card;
+  }
+
+  // Gathers every card not in a hand back into the deck and shuffles it, as the model does
+  private void resetDeck(int game) {
+    int[] counts = this.counts;
+    Arrays.fill(counts, 2);
+    int hands = this.handStart(game, 0);
+    for (int card = hands; card < hands + this.seats.length * this.handSize; card += 1) {
+      if (this.hands[card] >= 0) {
+        counts[this.hands[card]] -= 1;
+      }
+    }
+    int deck = game * Deal.DECK_SIZE;
+    int size = 0;
+    for (int id = 0; id < Card.NUM_IDS; id += 1) {
+      for (int copy = 0; copy < counts[id]; copy += 1) {
+        this.decks[deck + size] = id;
+        size += 1;
+      }
+    }
+    this.shuffleState[game] = Deal.shuffle(this.decks, deck, size, this.shuffleState[game]);
+    this.deckCursor[game] = 0;
+    this.deckSize[game] = size;
+  }
+
+  private void setOwned(int game, int team, int cell, boolean owns) {
+    int slot = (game * NUM_TEAMS + team) * 2 + (cell >>> 6);
+    if (owns) {
+      this.owned[slot] |= 1L << cell;
+    } else {
+      this.owned[slot] &= ~(1L << cell);
+    }
+  }
+
+  private void markSequences(int game, int team, int cell) {
+    int teamSlot = (game * NUM_TEAMS + team) * 2;
+    for (int type = 0; type < NUM_TYPES; type += 1) {
+      int typeSlot = (game * NUM_TYPES + type) * 2;
+      int window = this.lines.completedWindow(cell, TYPES[type],
+              this.owned[teamSlot], this.owned[teamSlot + 1],
+              this.locked[typeSlot], this.locked[typeSlot + 1]);
+      if (window == -1) {
+        continue;
+      }
+      this.locked[typeSlot] |= this.lines.windowLow(window);
+      this.locked[typeSlot + 1] |= this.lines.windowHigh(window);
+      this.anyLocked[game * 2] |= this.lines.windowLow(window);
+      this.anyLocked[game * 2 + 1] |= this.lines.windowHigh(window);
+      this.sequenceCounts[game * NUM_TEAMS + team] += 1;
+    }
+  }
+
+  private void finish(int game, byte result) {
+    this.winner[game] = result;
+    this.numLive -= 1;
+  }
+
+  private void checkLive(int game) {
+    if (this.isOver(game)) {
+      throw new IllegalStateException("Game is already over: " + game);
+    }
+  }
+
+  private void checkHandIndex(int handIndex) {
+    if (handIndex < 0 || handIndex >= this.handSize) {
+      throw new IllegalArgumentException("Invalid hand index for move: " + handIndex
+              + " for " + this.handSize);
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package game.batch;
+
+/**
+ * A strategy for one seat of every game in a BatchSimulator. Where a SequenceAlgorithm decides
+ * one game's turn, a BatchStrategy decides the turns of all games at once, so it can keep its
+ * own per game state in flat arrays and run through the games in one tight loop.
+ */
+public interface BatchStrategy {
+
+  /**
+   * Plays the turn of the given seat in every game that is not over, by calling play once for
+   * each such game, after calling discard for any dead cards the seat chooses to replace.
+   * @param games the games to play
+   * @param seat the seat to play for
+   */
+  void playTurns(BatchSimulator games, int seat);
+
+}
@@ -10,6 +10,31 @@ import game.enums.CardValue;
  */
 public record BasicCard(CardValue value, CardSuit suit) implements Card {
 
+  private static final BasicCard[] BY_ID = new BasicCard[Card.NUM_IDS];
+
+  static {
+    for (CardValue value : CardValue.values()) {
+      for (CardSuit suit : CardSuit.values()) {
+        BasicCard card = new BasicCard(value, suit);
+        BY_ID[card.id()] = card;
+      }
+    }
+  }
+
+  /**
+   * Accesses the shared instance of the card with the given id. Cards are immutable, so one
+   * instance per card can stand in for every copy in the deck, hands and board.
+   * @param id the card id, see Card.id
+   * @return the card
+   * @throws IllegalArgumentException if the id is out of range
+   */
+  public static BasicCard fromId(int id) {
+    if (id < 0 || id >= BY_ID.length) {
+      throw new IllegalArgumentException("Invalid card id: " + id);
+    }
+    return BY_ID[id];
+  }
+
   @Override
   public boolean sameCard(Card other) {
     return (this == other) ||
@@ -0,0 +1,334 @@
+package game.board;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import game.enums.GameChip;
+import game.enums.SequenceType;
+
+/**
+ * A board that stores its state as bit masks rather than as a grid of cells. Each team holds two
+ * longs covering up to 128 cells, and each SequenceType holds two longs of locks, so placing
+ * chips and checking locks, fullness, and emptiness are all mask operations. The card layout is
+ * immutable and shared between copies. Cell i on the board is the location (i / height, i % height)
+ */
+public class BitboardBoardType implements GameBoard {
+
+  private static final Layout STANDARD = new Layout(new StandardBoardType().getBoard());
+  private static final GameChip[] TEAMS = {GameChip.RED, GameChip.GREEN, GameChip.BLUE};
+
+  private final Layout layout;
+  // Two longs per team in the order of TEAMS: cells 0-63 and then cells 64-127
+  private final long[] chips;
+  // Two longs per SequenceType in ordinal order
+  private final long[] locks;
+  private long hash;
+
+  /**
+   * Creates an empty board with the standard card layout.
+   */
+  public BitboardBoardType() {
+    this.layout = STANDARD;
+    this.chips = new long[TEAMS.length * 2];
+    this.locks = new long[SequenceType.values().length * 2];
+  }
+
+  /**
+   * Creates a board with the card layout and chips of the provided cells.
+   * @param board the cells to read the layout from, indexed by column then row
+   * @throws IllegalArgumentException if the board has more than 128 cells
+   */
+  public BitboardBoardType(Cell[][] board) {
+    this.layout = new Layout(board);
+    this.chips = new long[TEAMS.length * 2];
+    this.locks = new long[SequenceType.values().length * 2];
+    for (int col = 0; col < board.length; col += 1) {
+      for (int row = 0; row < board[0].length; row += 1) {
+        int team = teamSlot(board[col][row].getChip());
+        if (team != -1) {
+          this.set(this.chips, team, this.layout.index(col, row));
+          this.hash ^= Zobrist.chip(this.layout.index(col, row), TEAMS[team]);
+        }
+      }
+    }
+  }
+
+  private BitboardBoardType(BitboardBoardType other) {
+    this.layout = other.layout;
+    this.chips = other.chips.clone();
+    this.locks = other.locks.clone();
+    this.hash = other.hash;
+  }
+
+  @Override
+  public Cell getCell(GamePosition location) throws IllegalArgumentException {
+    int cell = this.checkedIndex(location);
+    if (this.layout.isFree(cell)) {
+      return new FreeSpaceCell();
+    }
+    return new PlayableCell(this.layout.cards[cell], this.chipAt(cell));
+  }
+
+  @Override
+  public GameChip getChip(GamePosition location) throws IllegalArgumentException {
+    return this.chipAt(this.checkedIndex(location));
+  }
+
+  @Override
+  public void setChip(GamePosition location, GameChip toSet) throws IllegalArgumentException {
+    int cell = this.checkedIndex(location);
+    if (this.isLocked(cell)) {
+      throw new IllegalArgumentException("Cell is locked: " + location + " " + toSet);
+    } else if (this.layout.isFree(cell)) {
+      throw new IllegalArgumentException("Cannot set the chip at a free space");
+    }
+    int team = teamSlot(toSet);
+    if (team == -1 && !toSet.equals(GameChip.NONE)) {
+      throw new IllegalArgumentException("Cannot place a chip of type " + toSet);
+    }
+    this.hash ^= Zobrist.chip(cell, this.chipAt(cell)) ^ Zobrist.chip(cell, toSet);
+    for (int slot = 0; slot < TEAMS.length; slot += 1) {
+      this.clear(this.chips, slot, cell);
+    }
+    if (team != -1) {
+      this.set(this.chips, team, cell);
+    }
+  }
+
+  @Override
+  public Cell[][] getBoard() {
+    Cell[][] toReturn = new Cell[this.layout.width][this.layout.height];
+    for (int col = 0; col < this.layout.width; col += 1) {
+      for (int row = 0; row < this.layout.height; row += 1) {
+        int cell = this.layout.index(col, row);
+        if (this.layout.isFree(cell)) {
+          toReturn[col][row] = new FreeSpaceCell();
+        } else {
+          toReturn[col][row] = new PlayableCell(this.layout.cards[cell], this.chipAt(cell));
+        }
+      }
+    }
+    return toReturn;
+  }
+
+  @Override
+  public boolean isFull() {
+    long lo = this.layout.freeLo;
+    long hi = this.layout.freeHi;
+    for (int slot = 0; slot < TEAMS.length; slot += 1) {
+      lo |= this.chips[slot * 2];
+      hi |= this.chips[slot * 2 + 1];
+    }
+    return lo == this.layout.allLo && hi == this.layout.allHi;
+  }
+
+  @Override
+  public boolean isValidLocation(GamePosition location) {
+    return location.x() >= 0 && location.y() >= 0
+            && location.x() < this.layout.width && location.y() < this.layout.height;
+  }
+
+  @Override
+  public GameBoard copy() {
+    return new BitboardBoardType(this);
+  }
+
+  @Override
+  public Map<Card, List<GamePosition>> cardLocations() {
+    return this.layout.cardLocs;
+  }
+
+  @Override
+  public List<GamePosition> cardLocations(int cardId) {
+    if (cardId < 0 || cardId >= Card.NUM_IDS) {
+      throw new IllegalArgumentException("Invalid card id: " + cardId);
+    }
+    return this.layout.locsById[cardId];
+  }
+
+  @Override
+  public void lock(GamePosition location, SequenceType mode) {
+    int cell = this.checkedIndex(location);
+    if (!this.has(this.locks, mode.ordinal(), cell)) {
+      this.set(this.locks, mode.ordinal(), cell);
+      this.hash ^= Zobrist.lock(cell, mode);
+    }
+  }
+
+  @Override
+  public boolean isLocked(GamePosition location) {
+    return this.isLocked(this.checkedIndex(location));
+  }
+
+  @Override
+  public boolean isLocked(GamePosition location, SequenceType mode) {
+    return this.has(this.locks, mode.ordinal(), this.checkedIndex(location));
+  }
+
+  @Override
+  public Map<SequenceType, Boolean> getLocks(GamePosition location) {
+    int cell = this.checkedIndex(location);
+    Map<SequenceType, Boolean> toReturn = new HashMap<>();
+    for (SequenceType type : SequenceType.values()) {
+      toReturn.put(type, this.has(this.locks, type.ordinal(), cell));
+    }
+    return toReturn;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    for (long mask : this.chips) {
+      if (mask != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int numPlayableSpaces() {
+    return this.layout.width * this.layout.height
+            - Long.bitCount(this.layout.freeLo) - Long.bitCount(this.layout.freeHi);
+  }
+
+  @Override
+  public long hash() {
+    return this.hash;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (other instanceof BitboardBoardType bits && bits.layout == this.layout) {
+      return Arrays.equals(this.chips, bits.chips) && Arrays.equals(this.locks, bits.locks);
+    }
+    return other instanceof GameBoard && Zobrist.sameState(this, (GameBoard) other);
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(this.hash);
+  }
+
+  private boolean isLocked(int cell) {
+    for (int type = 0; type < SequenceType.values().length; type += 1) {
+      if (this.has(this.locks, type, cell)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private GameChip chipAt(int cell) {
+    if (this.layout.isFree(cell)) {
+      return GameChip.ALL;
+    }
+    for (int slot = 0; slot < TEAMS.length; slot += 1) {
+      if (this.has(this.chips, slot, cell)) {
+        return TEAMS[slot];
+      }
+    }
+    return GameChip.NONE;
+  }
+
+  private int checkedIndex(GamePosition location) {
+    if (!this.isValidLocation(location)) {
+      throw new IllegalArgumentException("Invalid location: " + location.x() + ", " + location.y());
+    }
+    return this.layout.index(location.x(), location.y());
+  }
+
+  private boolean has(long[] masks, int slot, int cell) {
+    return (masks[slot * 2 + (cell >>> 6)] & (1L << cell)) != 0;
+  }
+
+  private void set(long[] masks, int slot, int cell) {
+    masks[slot * 2 + (cell >>> 6)] |= 1L << cell;
+  }
+
+  private void clear(long[] masks, int slot, int cell) {
+    masks[slot * 2 + (cell >>> 6)] &= ~(1L << cell);
+  }
+
+  private static int teamSlot(GameChip chip) {
+    for (int slot = 0; slot < TEAMS.length; slot += 1) {
+      if (TEAMS[slot].equals(chip)) {
+        return slot;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * The immutable part of a board: its dimensions, which card sits on each cell, and where the
+   * free spaces are. Layouts are shared by every copy of a board.
+   */
+  private static class Layout {
+
+    private final int width;
+    private final int height;
+    private final Card[] cards;
+    private final long freeLo;
+    private final long freeHi;
+    private final long allLo;
+    private final long allHi;
+    private final Map<Card, List<GamePosition>> cardLocs;
+    // The same lists as cardLocs, indexed by card id
+    private final List<GamePosition>[] locsById;
+
+    Layout(Cell[][] board) {
+      this.width = board.length;
+      this.height = board[0].length;
+      int numCells = this.width * this.height;
+      if (numCells > 128) {
+        throw new IllegalArgumentException("Bitboards support at most 128 cells: given "
+                + numCells);
+      }
+      this.cards = new Card[numCells];
+      long lo = 0;
+      long hi = 0;
+      Map<Card, List<GamePosition>> locs = new HashMap<>();
+      for (int id = 0; id < Card.NUM_IDS; id += 1) {
+        locs.put(BasicCard.fromId(id), new ArrayList<>());
+      }
+      for (int col = 0; col < this.width; col += 1) {
+        for (int row = 0; row < this.height; row += 1) {
+          int cell = this.index(col, row);
+          if (board[col][row].getChip().equals(GameChip.ALL)) {
+            if (cell < 64) {
+              lo |= 1L << cell;
+            } else {
+              hi |= 1L << cell;
+            }
+          } else {
+            this.cards[cell] = board[col][row].getCard();
+            locs.get(this.cards[cell]).add(GamePosition.of(col, row));
+          }
+        }
+      }
+      this.freeLo = lo;
+      this.freeHi = hi;
+      this.allLo = numCells >= 64 ? -1L : (1L << numCells) - 1;
+      this.allHi = numCells <= 64 ? 0 : numCells == 128 ? -1L : (1L << (numCells - 64)) - 1;
+      @SuppressWarnings("unchecked")
+      List<GamePosition>[] byId = (List<GamePosition>[]) new List<?>[Card.NUM_IDS];
+      for (Card card : locs.keySet()) {
+        byId[card.id()] = Collections.unmodifiableList(locs.get(card));
+        locs.put(card, byId[card.id()]);
+      }
+      this.cardLocs = Collections.unmodifiableMap(locs);
+      this.locsById = byId;
+    }
+
+    int index(int col, int row) {
+      return col * this.height + row;
+    }
+
+    boolean isFree(int cell) {
+      return ((cell < 64 ? this.freeLo : this.freeHi) & (1L << cell)) != 0;
+    }
+  }
+}
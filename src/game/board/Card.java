@@ -11,6 +11,11 @@ import game.enums.CardValue;
  */
 public interface Card {
 
+  /**
+   * The number of distinct cards, and so one more than the largest card id.
+   */
+  int NUM_IDS = CardValue.values().length * CardSuit.values().length;
+
   /**
    * Accesses the value of a given card.
    * @return the value of the card
@@ -31,4 +36,24 @@ public interface Card {
    */
   boolean sameCard(Card other);
 
+  /**
+   * Computes the dense id of this card, value.ordinal() * 4 + suit.ordinal(). Two cards have the
+   * same id exactly when they are the same card, so ids can index arrays in place of hashing
+   * cards as map keys.
+   * @return the id, from 0 up to NUM_IDS
+   */
+  default int id() {
+    return Card.idOf(this.value(), this.suit());
+  }
+
+  /**
+   * Computes the dense id of the card with the given value and suit, see id.
+   * @param value the value of the card
+   * @param suit the suit of the card
+   * @return the id
+   */
+  static int idOf(CardValue value, CardSuit suit) {
+    return value.ordinal() * 4 + suit.ordinal();
+  }
+
 }
@@ -8,7 +8,8 @@ import game.enums.SequenceType;
 
 /**
  * Behaviors of a board in the game of sequence. A board has a rectangular grid of cells
- * that represent cards that can be played to
+ * that represent cards that can be played to. Boards are equal when they have the same
+ * dimensions, cards, chips, and locks
  */
 public interface GameBoard {
 
@@ -20,6 +21,14 @@ public interface GameBoard {
    */
   Cell getCell(GamePosition location) throws IllegalArgumentException;
 
+  /**
+   * Gets the chip at the provided location without copying the cell.
+   * @param location the 0-based location on the board (see GamePosition)
+   * @return the chip at that location, GameChip.ALL for free spaces
+   * @throws IllegalArgumentException if the location is invalid
+   */
+  GameChip getChip(GamePosition location) throws IllegalArgumentException;
+
   /**
    * Sets the chip at the requested location to the requested chip if possible.
    * Note that boards do not care about game logic and will allow all chip setting
@@ -63,6 +72,15 @@ public interface GameBoard {
    */
   Map<Card, List<GamePosition>> cardLocations();
 
+  /**
+   * Returns the locations of every cell showing the card with the given id. This is the same
+   * list cardLocations maps that card to, found by array index instead of by hashing.
+   * @param cardId the id of the card, see Card.id
+   * @return the card's locations, empty for cards not on the board such as jacks
+   * @throws IllegalArgumentException if the id is out of range
+   */
+  List<GamePosition> cardLocations(int cardId);
+
   /**
    * Locks the board at the given position in a given direction.
    * @param mode the type of sequence direction to lock it in
@@ -104,4 +122,13 @@ public interface GameBoard {
    */
   int numPlayableSpaces();
 
+  /**
+   * Accesses the Zobrist hash of the chips and locks on this board (see Zobrist). The hash is
+   * kept up to date as chips are set and cells are locked, so this is constant time. Boards in
+   * the same state have the same hash whatever their implementation, and equal boards also
+   * agree on hashCode.
+   * @return the hash of the current board state
+   */
+  long hash();
+
 }
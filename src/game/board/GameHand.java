@@ -15,6 +15,14 @@ public interface GameHand {
    */
   Card getCardAt(int index);
 
+  /**
+   * Accesses the id of the card at the given index in the hand if possible, without needing a
+   * card object.
+   * @param index the index to check
+   * @return the id of the card at that index, see Card.id
+   */
+  int cardIdAt(int index);
+
   /**
    * Removes the card at the given index in the hand if possible.
    * @param index the index to receive from
@@ -1,22 +1,79 @@
 package game.board;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * A GamePosition is a location of a cell in a game of Sequence, where the origin is the
  * top left cell, x increases right, and y increases downward.
+ * Positions and direction vectors near the board are shared instances from of, and every
+ * operation here returns shared instances where it can, so walking the board does not allocate.
+ * See SequenceLines for the packed cell indices used by the model.
  * @param x the 0-based x coordinate of the cell (or the column)
  * @param y the 0-based y coordinate of the cell (or the row)
  */
 public record GamePosition(int x, int y) {
 
+  // Shared instances cover every coordinate in [CACHE_MIN, CACHE_MIN + CACHE_SPAN)
+  private static final int CACHE_MIN = -16;
+  private static final int CACHE_SPAN = 48;
+  private static final GamePosition[] CACHE = new GamePosition[CACHE_SPAN * CACHE_SPAN];
+  private static final List<GamePosition>[] NEIGHBORS;
+
+  static {
+    for (int cx = 0; cx < CACHE_SPAN; cx += 1) {
+      for (int cy = 0; cy < CACHE_SPAN; cy += 1) {
+        CACHE[cx * CACHE_SPAN + cy] = new GamePosition(cx + CACHE_MIN, cy + CACHE_MIN);
+      }
+    }
+    @SuppressWarnings("unchecked")
+    List<GamePosition>[] neighbors = (List<GamePosition>[]) new List<?>[CACHE.length];
+    for (int slot = 0; slot < CACHE.length; slot += 1) {
+      neighbors[slot] = CACHE[slot].findNeighbors();
+    }
+    NEIGHBORS = neighbors;
+  }
+
   /**
-   * Creates a copy of this GamePosition.
+   * Returns the GamePosition at the given coordinates, which is a shared instance for
+   * coordinates on or around any supported board.
+   * @param x the x coordinate (or the column)
+   * @param y the y coordinate (or the row)
+   * @return the GamePosition at (x, y)
+   */
+  public static GamePosition of(int x, int y) {
+    int cx = x - CACHE_MIN;
+    int cy = y - CACHE_MIN;
+    if (cx >= 0 && cx < CACHE_SPAN && cy >= 0 && cy < CACHE_SPAN) {
+      return CACHE[cx * CACHE_SPAN + cy];
+    }
+    return new GamePosition(x, y);
+  }
+
+  /**
+   * Returns the GamePosition of a packed cell index.
+   * @param cell the cell index, x * height + y
+   * @param height the number of rows on the board
+   * @return the GamePosition of that cell
+   */
+  public static GamePosition fromIndex(int cell, int height) {
+    return of(cell / height, cell % height);
+  }
+
+  /**
+   * Packs this GamePosition into a cell index, which orders cells column by column.
+   * @param height the number of rows on the board
+   * @return the cell index x * height + y
+   */
+  public int index(int height) {
+    return this.x * height + this.y;
+  }
+
+  /**
+   * Creates a copy of this GamePosition. Positions are immutable, so this is the same value.
    * @return the generated copy
    */
   public GamePosition copy() {
-    return this.above().below();
+    return this;
   }
 
   /**
@@ -24,7 +81,7 @@ public record GamePosition(int x, int y) {
    * @return that location
    */
   public GamePosition above() {
-    return new GamePosition(this.x, this.y - 1);
+    return of(this.x, this.y - 1);
   }
 
   /**
@@ -32,7 +89,7 @@ public record GamePosition(int x, int y) {
    * @return that location
    */
   public GamePosition below() {
-    return new GamePosition(this.x, this.y + 1);
+    return of(this.x, this.y + 1);
   }
 
   /**
@@ -40,7 +97,7 @@ public record GamePosition(int x, int y) {
    * @return that location
    */
   public GamePosition left() {
-    return new GamePosition(this.x - 1, this.y);
+    return of(this.x - 1, this.y);
   }
 
   /**
@@ -48,24 +105,26 @@ public record GamePosition(int x, int y) {
    * @return that location
    */
   public GamePosition right() {
-    return new GamePosition(this.x + 1, this.y);
+    return of(this.x + 1, this.y);
   }
 
   /**
-   * Determines all neighbors orthogonal and diagonal to this GamePosition.
-   * @return the list of all neighbors
+   * Determines all neighbors orthogonal and diagonal to this GamePosition, clockwise from the
+   * one above and to the left.
+   * @return the unmodifiable list of all neighbors
    */
   public List<GamePosition> neighbors() {
-    ArrayList<GamePosition> toReturn = new ArrayList<>();
-    toReturn.add(this.above().left());
-    toReturn.add(this.above());
-    toReturn.add(this.above().right());
-    toReturn.add(this.right());
-    toReturn.add(this.below().right());
-    toReturn.add(this.below());
-    toReturn.add(this.below().left());
-    toReturn.add(this.left());
-    return toReturn;
+    int cx = this.x - CACHE_MIN;
+    int cy = this.y - CACHE_MIN;
+    if (cx >= 0 && cx < CACHE_SPAN && cy >= 0 && cy < CACHE_SPAN) {
+      return NEIGHBORS[cx * CACHE_SPAN + cy];
+    }
+    return this.findNeighbors();
+  }
+
+  private List<GamePosition> findNeighbors() {
+    return List.of(this.above().left(), this.above(), this.above().right(), this.right(),
+            this.below().right(), this.below(), this.below().left(), this.left());
   }
 
   /**
@@ -74,7 +133,7 @@ public record GamePosition(int x, int y) {
    * @return the GamePosition in that direction
    */
   public GamePosition get(GamePosition direction) {
-    return new GamePosition(this.x + direction.x, this.y + direction.y);
+    return of(this.x + direction.x, this.y + direction.y);
   }
 
   /**
@@ -82,7 +141,7 @@ public record GamePosition(int x, int y) {
    * @return the inversion of this GamePosition
    */
   public GamePosition opposite() {
-    return new GamePosition(-this.x, -this.y);
+    return of(-this.x, -this.y);
   }
 
   /**
@@ -91,11 +150,11 @@ public record GamePosition(int x, int y) {
    * @return the distance across both axes from origin to this
    */
   public GamePosition relation(GamePosition origin) {
-    return new GamePosition(this.x - origin.x, this.y - origin.y);
+    return of(this.x - origin.x, this.y - origin.y);
   }
 
   /**
-   * Returns a new GamePosition that represents the unit vector corresponding to this vector.
+   * Returns the GamePosition that represents the unit vector corresponding to this vector.
    * NOTE: This assumes that this GamePosition is square
    * @return the unit vector for this GamePosition
    */
@@ -108,7 +167,7 @@ public record GamePosition(int x, int y) {
     if (this.y != 0) {
       newy = this.y / Math.abs(this.y);
     }
-    return new GamePosition(newx, newy);
+    return of(newx, newy);
   }
 
   /**
@@ -127,9 +186,9 @@ public record GamePosition(int x, int y) {
    */
   public boolean inSequence(GamePosition other) {
     if (other.x == this.x) {
-      return this.y - other.y < 5;
+      return Math.abs(this.y - other.y) < 5;
     } else if (other.y == this.y) {
-      return this.x - other.x < 5;
+      return Math.abs(this.x - other.x) < 5;
     } else {
       return Math.abs(this.x - other.x) == Math.abs(this.y - other.y)
               && Math.abs(this.y - other.y) < 5;
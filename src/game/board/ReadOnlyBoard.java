@@ -0,0 +1,118 @@
+package game.board;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import game.enums.GameChip;
+import game.enums.SequenceType;
+
+/**
+ * A read-only view of another board. Observations go straight to the viewed board without
+ * copying it, so the view always shows the board's current state, and every attempt to change
+ * the board through the view is rejected. Copies made from the view are ordinary mutable boards.
+ * The view itself copies nothing, but getCell and getBoard still return the copies the viewed
+ * board makes; getChip and cardLocations read the board without allocating.
+ */
+public class ReadOnlyBoard implements GameBoard {
+
+  private final GameBoard board;
+
+  /**
+   * Creates a view of the given board.
+   * @param board the board to observe
+   */
+  public ReadOnlyBoard(GameBoard board) {
+    this.board = Objects.requireNonNull(board);
+  }
+
+  @Override
+  public Cell getCell(GamePosition location) throws IllegalArgumentException {
+    return this.board.getCell(location);
+  }
+
+  @Override
+  public GameChip getChip(GamePosition location) throws IllegalArgumentException {
+    return this.board.getChip(location);
+  }
+
+  @Override
+  public void setChip(GamePosition location, GameChip toSet) {
+    throw new IllegalStateException("Cannot set a chip through a read-only board");
+  }
+
+  @Override
+  public Cell[][] getBoard() {
+    return this.board.getBoard();
+  }
+
+  @Override
+  public boolean isFull() {
+    return this.board.isFull();
+  }
+
+  @Override
+  public boolean isValidLocation(GamePosition location) {
+    return this.board.isValidLocation(location);
+  }
+
+  @Override
+  public GameBoard copy() {
+    return this.board.copy();
+  }
+
+  @Override
+  public Map<Card, List<GamePosition>> cardLocations() {
+    return this.board.cardLocations();
+  }
+
+  @Override
+  public List<GamePosition> cardLocations(int cardId) {
+    return this.board.cardLocations(cardId);
+  }
+
+  @Override
+  public void lock(GamePosition location, SequenceType mode) {
+    throw new IllegalStateException("Cannot lock through a read-only board");
+  }
+
+  @Override
+  public boolean isLocked(GamePosition location) {
+    return this.board.isLocked(location);
+  }
+
+  @Override
+  public boolean isLocked(GamePosition location, SequenceType mode) {
+    return this.board.isLocked(location, mode);
+  }
+
+  @Override
+  public Map<SequenceType, Boolean> getLocks(GamePosition location) {
+    return this.board.getLocks(location);
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return this.board.isEmpty();
+  }
+
+  @Override
+  public int numPlayableSpaces() {
+    return this.board.numPlayableSpaces();
+  }
+
+  @Override
+  public long hash() {
+    return this.board.hash();
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof GameBoard && Zobrist.sameState(this, (GameBoard) other);
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(this.board.hash());
+  }
+}
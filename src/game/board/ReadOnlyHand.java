@@ -0,0 +1,57 @@
+package game.board;
+
+import java.util.Objects;
+
+import game.enums.GameChip;
+
+/**
+ * A read-only view of another hand. The view always shows the hand's current cards without
+ * copying them, and rejects any attempt to add or remove cards.
+ */
+public class ReadOnlyHand implements GameHand {
+
+  private final GameHand hand;
+
+  /**
+   * Creates a view of the given hand.
+   * @param hand the hand to observe
+   */
+  public ReadOnlyHand(GameHand hand) {
+    this.hand = Objects.requireNonNull(hand);
+  }
+
+  @Override
+  public Card getCardAt(int index) {
+    return this.hand.getCardAt(index);
+  }
+
+  @Override
+  public int cardIdAt(int index) {
+    return this.hand.cardIdAt(index);
+  }
+
+  @Override
+  public Card removeCardAt(int index) {
+    throw new IllegalStateException("Cannot remove cards from a read-only hand");
+  }
+
+  @Override
+  public void addCard(Card toAdd) {
+    throw new IllegalStateException("Cannot add cards to a read-only hand");
+  }
+
+  @Override
+  public int size() {
+    return this.hand.size();
+  }
+
+  @Override
+  public GameChip getTeam() {
+    return this.hand.getTeam();
+  }
+
+  @Override
+  public GameHand copy() {
+    return this.hand.copy();
+  }
+}
@@ -1,43 +1,55 @@
 package game.board;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 
 import game.enums.GameChip;
 
 public class SequenceHand implements GameHand {
 
-  private final ArrayList<Card> hand;
+  // Cards are held by id, and handed out as the shared BasicCard for that id
+  private int[] hand;
+  private int size;
   private final GameChip team;
 
   public SequenceHand(GameChip team) {
-    this.hand = new ArrayList<>();
+    this.hand = new int[8];
+    this.size = 0;
     this.team = team;
   }
 
   @Override
   public Card getCardAt(int index) {
-    if (index < 0 || index >= this.hand.size()) {
+    return BasicCard.fromId(this.cardIdAt(index));
+  }
+
+  @Override
+  public int cardIdAt(int index) {
+    if (index < 0 || index >= this.size) {
       throw new IllegalArgumentException("Invalid hand index");
     }
-    return this.hand.get(index);
+    return this.hand[index];
   }
 
   @Override
   public Card removeCardAt(int index) {
-    if (index < 0 || index >= this.hand.size()) {
-      throw new IllegalArgumentException("Invalid hand index");
-    }
-    return this.hand.remove(index);
+    int removed = this.cardIdAt(index);
+    System.arraycopy(this.hand, index + 1, this.hand, index, this.size - index - 1);
+    this.size -= 1;
+    return BasicCard.fromId(removed);
   }
 
   @Override
   public void addCard(Card toAdd) {
-    this.hand.add(toAdd);
+    if (this.size == this.hand.length) {
+      this.hand = Arrays.copyOf(this.hand, this.size * 2);
+    }
+    this.hand[this.size] = toAdd.id();
+    this.size += 1;
   }
 
   @Override
   public int size() {
-    return this.hand.size();
+    return this.size;
   }
 
   public GameChip getTeam() {
@@ -46,10 +58,9 @@ public class SequenceHand implements GameHand {
 
   @Override
   public GameHand copy() {
-    GameHand toReturn = new SequenceHand(this.team);
-    for (int card = 0; card < this.size(); card += 1) {
-      toReturn.addCard(this.getCardAt(card));
-    }
+    SequenceHand toReturn = new SequenceHand(this.team);
+    toReturn.hand = Arrays.copyOf(this.hand, Math.max(this.size, 1));
+    toReturn.size = this.size;
     return toReturn;
   }
 }
@@ -0,0 +1,272 @@
+package game.board;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import game.enums.SequenceType;
+
+/**
+ * A precomputed table of every window of five cells in a row on a board of a given size, for
+ * every SequenceType. Each window is stored as a pair of masks over cell indices (see index),
+ * and every cell knows which windows contain it, so a completed sequence can be found with a
+ * few mask tests instead of walking the board. Each cell also has a reach mask of the cells in
+ * sequence with it, for scoring. Tables are immutable and can be shared freely.
+ */
+public final class SequenceLines {
+
+  /**
+   * The number of cells in a sequence.
+   */
+  public static final int LENGTH = 5;
+
+  private static final SequenceLines STANDARD = new SequenceLines(10, 10);
+
+  private final int width;
+  private final int height;
+  private final long[] windowLo;
+  private final long[] windowHi;
+  private final SequenceType[] types;
+  private final GamePosition[] headers;
+  private final GamePosition[] positions;
+  private final int[][] windowsAt;
+  private final long[] reachLo;
+  private final long[] reachHi;
+
+  private SequenceLines(int width, int height) {
+    if (width * height > 128) {
+      throw new IllegalArgumentException("Sequence lines support at most 128 cells: given "
+              + width * height);
+    }
+    this.width = width;
+    this.height = height;
+    this.positions = new GamePosition[width * height];
+    for (int col = 0; col < width; col += 1) {
+      for (int row = 0; row < height; row += 1) {
+        this.positions[this.index(col, row)] = GamePosition.of(col, row);
+      }
+    }
+
+    List<GamePosition> starts = new ArrayList<>();
+    List<SequenceType> kinds = new ArrayList<>();
+    for (SequenceType type : SequenceType.values()) {
+      GamePosition dir = type.naturalDirection();
+      for (int col = 0; col < width; col += 1) {
+        for (int row = 0; row < height; row += 1) {
+          int endCol = col + dir.x() * (LENGTH - 1);
+          int endRow = row + dir.y() * (LENGTH - 1);
+          if (endCol >= 0 && endCol < width && endRow >= 0 && endRow < height) {
+            starts.add(GamePosition.of(col, row));
+            kinds.add(type);
+          }
+        }
+      }
+    }
+
+    int numWindows = starts.size();
+    this.windowLo = new long[numWindows];
+    this.windowHi = new long[numWindows];
+    this.types = kinds.toArray(new SequenceType[0]);
+    this.headers = starts.toArray(new GamePosition[0]);
+    List<List<Integer>> containing = new ArrayList<>();
+    for (int cell = 0; cell < width * height; cell += 1) {
+      containing.add(new ArrayList<>());
+    }
+    for (int window = 0; window < numWindows; window += 1) {
+      GamePosition dir = this.types[window].naturalDirection();
+      for (int step = 0; step < LENGTH; step += 1) {
+        int cell = this.index(this.headers[window].x() + dir.x() * step,
+                this.headers[window].y() + dir.y() * step);
+        if (cell < 64) {
+          this.windowLo[window] |= 1L << cell;
+        } else {
+          this.windowHi[window] |= 1L << cell;
+        }
+        containing.get(cell).add(window);
+      }
+    }
+    this.windowsAt = new int[width * height][];
+    for (int cell = 0; cell < width * height; cell += 1) {
+      this.windowsAt[cell] = new int[containing.get(cell).size()];
+      for (int which = 0; which < this.windowsAt[cell].length; which += 1) {
+        this.windowsAt[cell][which] = containing.get(cell).get(which);
+      }
+    }
+
+    this.reachLo = new long[width * height];
+    this.reachHi = new long[width * height];
+    for (int cell = 0; cell < width * height; cell += 1) {
+      int col = cell / height;
+      int row = cell % height;
+      for (int dx = -1; dx <= 1; dx += 1) {
+        for (int dy = -1; dy <= 1; dy += 1) {
+          for (int step = 0; step < LENGTH; step += 1) {
+            int toCol = col + dx * step;
+            int toRow = row + dy * step;
+            if (toCol < 0 || toCol >= width || toRow < 0 || toRow >= height) {
+              break;
+            }
+            int other = this.index(toCol, toRow);
+            if (other < 64) {
+              this.reachLo[cell] |= 1L << other;
+            } else {
+              this.reachHi[cell] |= 1L << other;
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the table for a board of the given size. The standard 10 x 10 table is shared.
+   * @param width the number of columns on the board
+   * @param height the number of rows on the board
+   * @return the table of windows for that board size
+   * @throws IllegalArgumentException if the board has more than 128 cells
+   */
+  public static SequenceLines forSize(int width, int height) {
+    if (width == STANDARD.width && height == STANDARD.height) {
+      return STANDARD;
+    }
+    return new SequenceLines(width, height);
+  }
+
+  /**
+   * Determines the cell index of the given location, which is its bit in every mask.
+   * @param location a location on the board
+   * @return the index x * height + y
+   */
+  public int index(GamePosition location) {
+    return this.index(location.x(), location.y());
+  }
+
+  /**
+   * Determines the cell index of the given column and row.
+   * @param col the column of the cell
+   * @param row the row of the cell
+   * @return the index col * height + row
+   */
+  public int index(int col, int row) {
+    return col * this.height + row;
+  }
+
+  /**
+   * Determines the location of the given cell index.
+   * @param cell the cell index
+   * @return the shared GamePosition for that cell
+   */
+  public GamePosition position(int cell) {
+    return this.positions[cell];
+  }
+
+  /**
+   * Determines the number of cells covered by this table.
+   * @return width * height
+   */
+  public int numCells() {
+    return this.width * this.height;
+  }
+
+  /**
+   * Determines the number of five cell windows on the board across all sequence types.
+   * @return the window count
+   */
+  public int numWindows() {
+    return this.types.length;
+  }
+
+  /**
+   * Accesses the mask of the window's cells with indices below 64.
+   * @param window the window id
+   * @return the low half of the window mask
+   */
+  public long windowLow(int window) {
+    return this.windowLo[window];
+  }
+
+  /**
+   * Accesses the mask of the window's cells with indices of 64 and above.
+   * @param window the window id
+   * @return the high half of the window mask
+   */
+  public long windowHigh(int window) {
+    return this.windowHi[window];
+  }
+
+  /**
+   * Accesses the direction of the given window.
+   * @param window the window id
+   * @return the sequence type the window runs in
+   */
+  public SequenceType windowType(int window) {
+    return this.types[window];
+  }
+
+  /**
+   * Accesses the header of the given window, the cell that a sequence along it would be
+   * recorded under.
+   * @param window the window id
+   * @return the first cell of the window in its natural direction
+   */
+  public GamePosition windowHeader(int window) {
+    return this.headers[window];
+  }
+
+  /**
+   * Accesses the ids of every window containing the given cell, ordered by sequence type and
+   * then from the header end of the line. The returned array is shared and must not be modified
+   * @param cell the cell index
+   * @return the window ids containing that cell
+   */
+  public int[] windowsAt(int cell) {
+    return this.windowsAt[cell];
+  }
+
+  /**
+   * Accesses the mask of cells with indices below 64 that are in sequence with the given cell,
+   * meaning on a shared row, column or diagonal and fewer than LENGTH cells apart. A cell is in
+   * sequence with itself.
+   * @param cell the cell index
+   * @return the low half of the cell's reach mask
+   */
+  public long reachLow(int cell) {
+    return this.reachLo[cell];
+  }
+
+  /**
+   * Accesses the mask of cells with indices of 64 and above that are in sequence with the given
+   * cell, see reachLow.
+   * @param cell the cell index
+   * @return the high half of the cell's reach mask
+   */
+  public long reachHigh(int cell) {
+    return this.reachHi[cell];
+  }
+
+  /**
+   * Finds the first window of the given type through the given cell whose cells are all owned
+   * and none of which are locked in that type.
+   * @param cell the cell index that was just played to
+   * @param type the direction to look in
+   * @param ownedLo the low half of the mask of cells that count for the team
+   * @param ownedHi the high half of the mask of cells that count for the team
+   * @param lockedLo the low half of the mask of cells locked in the given type
+   * @param lockedHi the high half of the mask of cells locked in the given type
+   * @return the completed window id nearest the header end of the line, or -1 if there is none
+   */
+  public int completedWindow(int cell, SequenceType type, long ownedLo, long ownedHi,
+                             long lockedLo, long lockedHi) {
+    for (int window : this.windowsAt[cell]) {
+      if (this.types[window] != type) {
+        continue;
+      }
+      long lo = this.windowLo[window];
+      long hi = this.windowHi[window];
+      if ((lo & ~ownedLo) == 0 && (hi & ~ownedHi) == 0
+              && (lo & lockedLo) == 0 && (hi & lockedHi) == 0) {
+        return window;
+      }
+    }
+    return -1;
+  }
+}
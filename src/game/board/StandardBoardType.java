@@ -1,6 +1,7 @@
 package game.board;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,6 +25,10 @@ public class StandardBoardType implements GameBoard {
 
   private final boolean[][] ddowLocks;
   private final Map<Card, List<GamePosition>> cardLocs = new HashMap<>();
+  // The same lists as cardLocs, indexed by card id
+  @SuppressWarnings("unchecked")
+  private final List<GamePosition>[] locsById = (List<GamePosition>[]) new List<?>[Card.NUM_IDS];
+  private long hash;
 
 
   public StandardBoardType() {
@@ -42,6 +47,7 @@ public class StandardBoardType implements GameBoard {
     this.dupLocks = new boolean[this.board.length][this.board[0].length];
     this.ddowLocks = new boolean[this.board.length][this.board[0].length];
     this.makeCardLocations();
+    this.hash = Zobrist.of(this);
   }
 
   @Override
@@ -52,6 +58,14 @@ public class StandardBoardType implements GameBoard {
     return this.board[location.x()][location.y()].copy();
   }
 
+  @Override
+  public GameChip getChip(GamePosition location) throws IllegalArgumentException {
+    if (!isValidLocation(location)) {
+      throw new IllegalArgumentException("Invalid location: " + location.x() + ", " + location.y());
+    }
+    return this.board[location.x()][location.y()].getChip();
+  }
+
   @Override
   public void setChip(GamePosition location, GameChip toSet) throws IllegalArgumentException {
     if (this.isLocked(location)) {
@@ -62,6 +76,9 @@ public class StandardBoardType implements GameBoard {
             && this.board[location.x()][location.y()].getChip().equals(GameChip.ALL)) {
       throw new IllegalArgumentException("Cannot set the chip at a free space");
     }
+    int cell = this.cellIndex(location);
+    this.hash ^= Zobrist.chip(cell, this.board[location.x()][location.y()].getChip())
+            ^ Zobrist.chip(cell, toSet);
     this.board[location.x()][location.y()].setChip(toSet);
   }
 
@@ -101,22 +118,21 @@ public class StandardBoardType implements GameBoard {
    * @return this board after finishing the copy process
    */
   private GameBoard copyStates(GameBoard other) {
-    for (int col = 0; col < other.getBoard().length; col += 1) {
-      for (int row = 0; row < other.getBoard()[0].length; row += 1) {
+    Cell[][] cells = other.getBoard();
+    for (int col = 0; col < cells.length; col += 1) {
+      for (int row = 0; row < cells[0].length; row += 1) {
+        GamePosition pos = GamePosition.of(col, row);
+        this.vertLocks[col][row] = other.isLocked(pos, SequenceType.VERTICAL);
+        this.horLocks[col][row] = other.isLocked(pos, SequenceType.HORIZONTAL);
+        this.dupLocks[col][row] = other.isLocked(pos, SequenceType.DIAGONALUP);
+        this.ddowLocks[col][row] = other.isLocked(pos, SequenceType.DIAGONALDOWN);
         if (this.board[col][row].getChip().equals(GameChip.ALL)) {
           continue;
         }
-        this.board[col][row].setChip(other.getBoard()[col][row].getChip());
-        this.vertLocks[col][row] = other.isLocked(new GamePosition(col, row),
-                SequenceType.VERTICAL);
-        this.horLocks[col][row] = other.isLocked(new GamePosition(col, row),
-                SequenceType.HORIZONTAL);
-        this.dupLocks[col][row] = other.isLocked(new GamePosition(col, row),
-                SequenceType.DIAGONALUP);
-        this.ddowLocks[col][row] = other.isLocked(new GamePosition(col, row),
-                SequenceType.DIAGONALDOWN);
+        this.board[col][row].setChip(cells[col][row].getChip());
       }
     }
+    this.hash = other.hash();
     return this;
   }
 
@@ -292,20 +308,21 @@ public class StandardBoardType implements GameBoard {
   }
 
   private void makeCardLocations() {
-    Map<Card, List<GamePosition>> toReturn = new HashMap<>();
-    for (CardValue val : CardValue.values()) {
-      for (CardSuit suit : CardSuit.values()) {
-        this.cardLocs.put(new BasicCard(val, suit), new ArrayList<>());
-      }
+    for (int id = 0; id < Card.NUM_IDS; id += 1) {
+      this.cardLocs.put(BasicCard.fromId(id), new ArrayList<>());
     }
 
     for (int col = 0; col < this.board.length; col += 1) {
       for (int row = 0; row < this.board[0].length; row += 1) {
         if (!this.board[col][row].getChip().equals(GameChip.ALL)) {
-          this.cardLocs.get(this.board[col][row].getCard()).add(new GamePosition(col, row));
+          this.cardLocs.get(this.board[col][row].getCard()).add(GamePosition.of(col, row));
         }
       }
     }
+    for (Card card : this.cardLocs.keySet()) {
+      this.locsById[card.id()] = Collections.unmodifiableList(this.cardLocs.get(card));
+      this.cardLocs.put(card, this.locsById[card.id()]);
+    }
   }
 
   @Override
@@ -313,8 +330,19 @@ public class StandardBoardType implements GameBoard {
     return this.cardLocs;
   }
 
+  @Override
+  public List<GamePosition> cardLocations(int cardId) {
+    if (cardId < 0 || cardId >= Card.NUM_IDS) {
+      throw new IllegalArgumentException("Invalid card id: " + cardId);
+    }
+    return this.locsById[cardId];
+  }
+
   @Override
   public void lock(GamePosition location, SequenceType mode) {
+    if (!this.isLocked(location, mode)) {
+      this.hash ^= Zobrist.lock(this.cellIndex(location), mode);
+    }
     if (mode.equals(SequenceType.VERTICAL)) {
       this.vertLocks[location.x()][location.y()] = true;
     } else if (mode.equals(SequenceType.HORIZONTAL)) {
@@ -374,4 +402,23 @@ public class StandardBoardType implements GameBoard {
   public int numPlayableSpaces() {
     return 96; // 10 x 10 -> 100 - 4 free spaces -> 96
   }
+
+  @Override
+  public long hash() {
+    return this.hash;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof GameBoard && Zobrist.sameState(this, (GameBoard) other);
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(this.hash);
+  }
+
+  private int cellIndex(GamePosition location) {
+    return location.x() * this.board[0].length + location.y();
+  }
 }
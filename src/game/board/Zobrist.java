@@ -0,0 +1,165 @@
+package game.board;
+
+import game.enums.GameChip;
+import game.enums.SequenceType;
+
+/**
+ * Zobrist keys for board states. Every (cell, team) pair and every (cell, lock direction) pair
+ * has a fixed random key, and a board's hash is the XOR of the keys of everything on it, so
+ * placing, removing, or locking changes the hash with a single XOR. Empty cells and free spaces
+ * contribute nothing. Keys are the same in every run, so hashes can be stored and compared
+ * across games. Cell i is the location (i / height, i % height)
+ */
+public final class Zobrist {
+
+  private static final int CACHED_CELLS = 128;
+  private static final GameChip[] TEAMS = {GameChip.RED, GameChip.GREEN, GameChip.BLUE};
+  private static final long[] CHIPS = new long[CACHED_CELLS * TEAMS.length];
+  private static final long[] LOCKS = new long[CACHED_CELLS * SequenceType.values().length];
+  private static final long[] SEATS = new long[8];
+  private static final long[] MOVERS = new long[TEAMS.length];
+
+  static {
+    for (int slot = 0; slot < CHIPS.length; slot += 1) {
+      CHIPS[slot] = mix(slot);
+    }
+    for (int slot = 0; slot < LOCKS.length; slot += 1) {
+      LOCKS[slot] = mix(CHIPS.length + slot);
+    }
+    for (int seat = 0; seat < SEATS.length; seat += 1) {
+      SEATS[seat] = mix(CHIPS.length + LOCKS.length + seat);
+    }
+    for (int team = 0; team < MOVERS.length; team += 1) {
+      MOVERS[team] = mix(CHIPS.length + LOCKS.length + SEATS.length + team);
+    }
+  }
+
+  private Zobrist() {
+    // static keys only
+  }
+
+  /**
+   * Accesses the key of a chip on a cell.
+   * @param cell the index of the cell
+   * @param chip the chip on it
+   * @return the key, 0 for GameChip.NONE and GameChip.ALL
+   */
+  public static long chip(int cell, GameChip chip) {
+    int team = teamSlot(chip);
+    if (team == -1) {
+      return 0;
+    }
+    int slot = cell * TEAMS.length + team;
+    return cell < CACHED_CELLS ? CHIPS[slot] : mix(slot ^ 0x5EED0000L);
+  }
+
+  /**
+   * Accesses the key of a cell locked in a direction.
+   * @param cell the index of the cell
+   * @param type the direction of the lock
+   * @return the key
+   */
+  public static long lock(int cell, SequenceType type) {
+    int slot = cell * SequenceType.values().length + type.ordinal();
+    return cell < CACHED_CELLS ? LOCKS[slot] : mix(slot ^ 0x10CC0000L);
+  }
+
+  /**
+   * Accesses the key for the seat whose turn it is, for hashes that include the turn.
+   * @param seat the index of the seat in the turn order
+   * @return the key
+   */
+  public static long seat(int seat) {
+    return seat < SEATS.length ? SEATS[seat] : mix(seat ^ 0x5EA70000L);
+  }
+
+  /**
+   * Accesses the key for the team that made the last move. Unlike seat keys these mean the same
+   * to every player, so hashes that include them can be shared between players.
+   * @param team the team that moved
+   * @return the key, 0 for GameChip.NONE and GameChip.ALL
+   */
+  public static long mover(GameChip team) {
+    int slot = teamSlot(team);
+    return slot == -1 ? 0 : MOVERS[slot];
+  }
+
+  /**
+   * Computes the hash of a board from scratch. Boards keep their hash up to date as they change,
+   * so this is only needed when building a board or checking one.
+   * @param board the board to hash
+   * @return the XOR of the keys of every chip and lock on the board
+   */
+  public static long of(GameBoard board) {
+    Cell[][] cells = board.getBoard();
+    long hash = 0;
+    for (int col = 0; col < cells.length; col += 1) {
+      for (int row = 0; row < cells[0].length; row += 1) {
+        int cell = col * cells[0].length + row;
+        GamePosition pos = GamePosition.of(col, row);
+        hash ^= chip(cell, cells[col][row].getChip());
+        for (SequenceType type : SequenceType.values()) {
+          if (board.isLocked(pos, type)) {
+            hash ^= lock(cell, type);
+          }
+        }
+      }
+    }
+    return hash;
+  }
+
+  /**
+   * Determines if two boards have the same dimensions, cards, chips, and locks, whatever their
+   * implementation. Hashes are compared first, so unequal boards are almost always told apart
+   * without looking at any cells.
+   * @param board the first board
+   * @param other the second board
+   * @return whether the boards are in the same state
+   */
+  static boolean sameState(GameBoard board, GameBoard other) {
+    if (board.hash() != other.hash()) {
+      return false;
+    }
+    Cell[][] cells = board.getBoard();
+    Cell[][] others = other.getBoard();
+    if (cells.length != others.length || cells[0].length != others[0].length) {
+      return false;
+    }
+    for (int col = 0; col < cells.length; col += 1) {
+      for (int row = 0; row < cells[0].length; row += 1) {
+        GameChip chip = cells[col][row].getChip();
+        if (!chip.equals(others[col][row].getChip())
+                || !chip.equals(GameChip.ALL)
+                && !cells[col][row].getCard().sameCard(others[col][row].getCard())) {
+          return false;
+        }
+        GamePosition pos = GamePosition.of(col, row);
+        for (SequenceType type : SequenceType.values()) {
+          if (board.isLocked(pos, type) != other.isLocked(pos, type)) {
+            return false;
+          }
+        }
+      }
+    }
+    return true;
+  }
+
+  private static int teamSlot(GameChip chip) {
+    for (int slot = 0; slot < TEAMS.length; slot += 1) {
+      if (TEAMS[slot].equals(chip)) {
+        return slot;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * The SplitMix64 finalizer, which spreads consecutive inputs over all 64 bits.
+   */
+  private static long mix(long seed) {
+    long z = (seed + 1) * 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
@@ -4,32 +4,65 @@ import java.util.Objects;
 
 import game.algorithms.SequenceAlgorithm;
 import game.enums.GameChip;
+import game.metrics.InMemoryMetricsSink;
+import game.metrics.MetricsSink;
+import game.metrics.ThreadAllocation;
 import game.model.PlayableSequenceModel;
 import game.scorekeeper.ScoreKeeper;
 import game.view.GameView;
 
+/**
+ * A controller that asks an algorithm for its moves. Every decision is measured, from the
+ * request for a move until the algorithm sends one, and reported to a metrics sink along with
+ * any dead cards the algorithm discards along the way.
+ */
 public class AlgorithmController implements SequenceController {
 
   private final SequenceAlgorithm cpu;
+  private final String cpuName;
+  private final MetricsSink metrics;
+  private long turnStart;
+  private long turnBytes;
   private PlayableSequenceModel gameModel;
   private GameChip team;
   private GameView view;
   private ScoreKeeper tracker;
 
   public AlgorithmController(SequenceAlgorithm cpu, PlayableSequenceModel model, GameChip team) {
+    this(cpu, model, team, InMemoryMetricsSink.global());
+  }
+
+  /**
+   * Creates a controller that reports its algorithm's decisions to the given sink.
+   * @param cpu the algorithm to play with
+   * @param model the model to play to
+   * @param team the team to play as
+   * @param metrics the sink to report measurements to
+   */
+  public AlgorithmController(SequenceAlgorithm cpu, PlayableSequenceModel model, GameChip team,
+                             MetricsSink metrics) {
     this.cpu = Objects.requireNonNull(cpu);
+    this.cpuName = cpu.getClass().getSimpleName();
     this.gameModel = Objects.requireNonNull(model);
     this.team = team;
+    this.metrics = Objects.requireNonNull(metrics);
   }
 
 
   @Override
   public void beginTurn(PlayableSequenceModel model) {
+    this.turnBytes = ThreadAllocation.currentThreadBytes();
+    this.turnStart = System.nanoTime();
     this.cpu.beginTurn(this.gameModel, this);
   }
 
   @Override
   public void receiveMove(GameMove moveToPlay) {
+    // Measured before playing, since playing may begin the next player's turn
+    long nanos = System.nanoTime() - this.turnStart;
+    long bytes = this.turnBytes == -1 ? -1
+            : ThreadAllocation.currentThreadBytes() - this.turnBytes;
+    this.metrics.recordDecision(this.cpuName, nanos, bytes);
     this.gameModel.playToCell(moveToPlay);
   }
 
@@ -50,6 +83,7 @@ public class AlgorithmController implements SequenceController {
 
   @Override
   public void deadCard(int cardIdx) {
+    this.metrics.recordDeadCard(this.cpuName);
     this.gameModel.deadCard(cardIdx);
     if (!Objects.isNull(this.view)) {
       this.view.redraw();
@@ -0,0 +1,333 @@
+package game.controller;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import game.algorithms.SequenceAlgorithm;
+import game.board.Card;
+import game.board.Cell;
+import game.board.GameBoard;
+import game.board.GameHand;
+import game.board.GamePosition;
+import game.enums.CardValue;
+import game.enums.GameChip;
+import game.metrics.InMemoryMetricsSink;
+import game.metrics.MetricsSink;
+import game.metrics.ThreadAllocation;
+import game.model.PlayableSequenceModel;
+import game.view.GameView;
+
+/**
+ * A controller that gives its algorithm a fixed time budget for every move. The algorithm
+ * decides on the controller's own worker thread while the controller waits; a move sent within
+ * the budget is played, and if the budget runs out, or the algorithm returns without a move,
+ * the controller plays the first legal move it finds instead. Dead cards the algorithm discards
+ * in time are discarded as usual. Moves are always played on the thread that began the turn, so
+ * the model is never changed by two threads at once.
+ * An algorithm that overruns is interrupted and anything it sends afterwards is refused.
+ * Algorithms are expected to stop soon after being interrupted, as AsRandomAsCanBe and
+ * MonteCarloTreeSearch do, since until they stop they are still reading a model that the game
+ * has moved on from. Each controller has one worker, so a decision still running when the next
+ * turn begins is never joined by a second one; the controller plays its default move for every
+ * turn until the worker is free again. The worker is a daemon thread, so an algorithm that never
+ * stops cannot keep the program from exiting, and it ends when the game does.
+ * Virtual threads would suit the workers but are still a preview feature in JDK 19, which the
+ * project targets.
+ */
+public class TimedAlgorithmController implements SequenceController {
+
+  private static final AtomicInteger WORKERS = new AtomicInteger();
+  // How long an idle worker is kept during a game before its thread ends
+  private static final long WORKER_KEEP_ALIVE_SECONDS = 5;
+
+  private final SequenceAlgorithm cpu;
+  private final String cpuName;
+  private final MetricsSink metrics;
+  private final long budgetNanos;
+  private ThreadPoolExecutor worker;
+  private PlayableSequenceModel gameModel;
+  private GameChip team;
+  private GameView view;
+  private volatile Turn turn;
+
+  /**
+   * Creates a controller with the given per move budget that reports to the shared sink.
+   * @param cpu the algorithm to play with
+   * @param model the model to play to
+   * @param team the team to play as
+   * @param budget the most time the algorithm may take for each move
+   * @throws IllegalArgumentException if the budget is not positive
+   */
+  public TimedAlgorithmController(SequenceAlgorithm cpu, PlayableSequenceModel model,
+                                  GameChip team, Duration budget) {
+    this(cpu, model, team, budget, InMemoryMetricsSink.global());
+  }
+
+  /**
+   * Creates a controller with the given per move budget.
+   * @param cpu the algorithm to play with
+   * @param model the model to play to
+   * @param team the team to play as
+   * @param budget the most time the algorithm may take for each move
+   * @param metrics the sink to report measurements to
+   * @throws IllegalArgumentException if the budget is not positive
+   */
+  public TimedAlgorithmController(SequenceAlgorithm cpu, PlayableSequenceModel model,
+                                  GameChip team, Duration budget, MetricsSink metrics) {
+    this.cpu = Objects.requireNonNull(cpu);
+    this.cpuName = cpu.getClass().getSimpleName();
+    this.gameModel = Objects.requireNonNull(model);
+    this.team = team;
+    this.metrics = Objects.requireNonNull(metrics);
+    if (budget.isNegative() || budget.isZero()) {
+      throw new IllegalArgumentException("Budget must be positive: given " + budget);
+    }
+    this.budgetNanos = budget.toNanos();
+    this.worker = newWorker();
+  }
+
+  // A single daemon thread that is started when needed and ends when idle
+  private static ThreadPoolExecutor newWorker() {
+    ThreadPoolExecutor worker = new ThreadPoolExecutor(1, 1, WORKER_KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS, new LinkedBlockingQueue<>(), task -> {
+              Thread thread = new Thread(task, "timed-algorithm-" + WORKERS.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+    worker.allowCoreThreadTimeOut(true);
+    return worker;
+  }
+
+  @Override
+  public void beginTurn(PlayableSequenceModel model) {
+    long turnStart = System.nanoTime();
+    GameMove move = null;
+    long bytes = -1;
+    Turn previous = this.turn;
+    // A decision that overran and has not stopped yet keeps the worker, so none is started
+    if (previous == null || !previous.isRunning()) {
+      move = this.decide();
+      bytes = this.turn.bytes();
+    }
+    if (move == null) {
+      this.metrics.recordTimeout(this.cpuName);
+      move = this.fallbackMove();
+    }
+    this.metrics.recordDecision(this.cpuName, System.nanoTime() - turnStart, bytes);
+    this.gameModel.playToCell(move);
+  }
+
+  // Runs the algorithm on the worker, returning its move or null if it sent none in time
+  private GameMove decide() {
+    Turn turn = new Turn();
+    this.turn = turn;
+    if (this.worker.isShutdown()) {
+      this.worker = newWorker();
+    }
+    Future<?> deciding = this.worker.submit(() -> {
+      if (!turn.start()) {
+        return;
+      }
+      // Allocation is counted on the worker, where the algorithm decides
+      long before = ThreadAllocation.currentThreadBytes();
+      try {
+        this.cpu.beginTurn(this.gameModel, this);
+      } finally {
+        turn.finish(before == -1 ? -1 : ThreadAllocation.currentThreadBytes() - before);
+      }
+    });
+    try {
+      deciding.get(this.budgetNanos, TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      deciding.cancel(true);
+    } catch (InterruptedException e) {
+      deciding.cancel(true);
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      turn.close();
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      if (e.getCause() instanceof Error) {
+        throw (Error) e.getCause();
+      }
+      throw new IllegalStateException("Algorithm failed", e.getCause());
+    }
+    return turn.close();
+  }
+
+  @Override
+  public void receiveMove(GameMove moveToPlay) {
+    Objects.requireNonNull(moveToPlay);
+    Turn turn = this.turn;
+    if (turn == null) {
+      throw new IllegalStateException("No turn in progress for " + this.team);
+    }
+    turn.receiveMove(moveToPlay);
+  }
+
+  @Override
+  public GameChip getTeam() {
+    return this.team;
+  }
+
+  @Override
+  public boolean usesMouse() {
+    return false;
+  }
+
+  @Override
+  public void addView(GameView view) {
+    this.view = Objects.requireNonNull(view);
+  }
+
+  @Override
+  public void deadCard(int cardIdx) {
+    Turn turn = this.turn;
+    if (turn == null) {
+      throw new IllegalStateException("No turn in progress for " + this.team);
+    }
+    turn.deadCard(cardIdx);
+  }
+
+  private void discard(int cardIdx) {
+    this.metrics.recordDeadCard(this.cpuName);
+    this.gameModel.deadCard(cardIdx);
+    if (!Objects.isNull(this.view)) {
+      this.view.redraw();
+    }
+  }
+
+  @Override
+  public void receiveGameOver(GameChip winner) {
+    // The worker's thread ends now rather than when it times out, once any decision still
+    // running stops; a new worker is made if this controller plays again
+    this.worker.shutdown();
+  }
+
+  // The first legal move in hand order, discarding dead cards as they come up
+  private GameMove fallbackMove() {
+    GameBoard bd = this.gameModel.viewBoard();
+    Cell[][] layout = bd.getBoard();
+    while (true) {
+      GameHand hand = this.gameModel.viewHand(this);
+      boolean discarded = false;
+      for (int card = 0; card < hand.size() && !discarded; card += 1) {
+        Card current = hand.getCardAt(card);
+        if (current.value().equals(CardValue.TWO_EYED_JACK)
+                || current.value().equals(CardValue.ONE_EYED_JACK)) {
+          GamePosition target = this.firstTarget(bd, layout,
+                  current.value().equals(CardValue.ONE_EYED_JACK));
+          if (target != null) {
+            return new GameMove(target, card);
+          }
+          continue;
+        }
+        List<GamePosition> locations = bd.cardLocations(current.id());
+        for (GamePosition loc : locations) {
+          if (bd.getChip(loc).equals(GameChip.NONE)) {
+            return new GameMove(loc, card);
+          }
+        }
+        this.discard(card);
+        discarded = true;
+      }
+      if (!discarded) {
+        throw new IllegalStateException("No legal move for " + this.team);
+      }
+    }
+  }
+
+  // The first open cell for a two eyed jack, or unlocked opposing chip for a one eyed jack
+  private GamePosition firstTarget(GameBoard bd, Cell[][] layout, boolean removing) {
+    for (int col = 0; col < layout.length; col += 1) {
+      for (int row = 0; row < layout[0].length; row += 1) {
+        GamePosition pos = GamePosition.of(col, row);
+        GameChip chip = bd.getChip(pos);
+        if (removing) {
+          if (!chip.equals(GameChip.NONE) && !chip.equals(GameChip.ALL)
+                  && !chip.equals(this.team) && !bd.isLocked(pos)) {
+            return pos;
+          }
+        } else if (chip.equals(GameChip.NONE)) {
+          return pos;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * One turn's decisions. Only the worker thread the turn was started on may send them: dead
+   * cards are passed on to the model while the turn is open, the move is held for the
+   * controller to play, and everything is refused once the controller has closed the turn.
+   * The turn is running from when the worker starts deciding until the algorithm returns,
+   * which may be well after the turn was closed. The bytes the algorithm allocated are known
+   * only once it has returned.
+   */
+  private final class Turn {
+
+    private Thread worker;
+    private GameMove move;
+    private boolean closed = false;
+    private boolean running = false;
+    private long bytes = -1;
+
+    // Binds the turn to the worker, unless the turn was closed before the worker got to it
+    synchronized boolean start() {
+      if (this.closed) {
+        return false;
+      }
+      this.worker = Thread.currentThread();
+      this.running = true;
+      return true;
+    }
+
+    synchronized void finish(long bytes) {
+      this.running = false;
+      this.bytes = bytes;
+    }
+
+    synchronized boolean isRunning() {
+      return this.running;
+    }
+
+    // The bytes allocated while deciding, or -1 if unknown or the algorithm is still running
+    synchronized long bytes() {
+      return this.bytes;
+    }
+
+    synchronized GameMove close() {
+      this.closed = true;
+      return this.move;
+    }
+
+    synchronized void receiveMove(GameMove moveToPlay) {
+      this.checkOpen();
+      this.move = moveToPlay;
+    }
+
+    synchronized void deadCard(int cardIdx) {
+      this.checkOpen();
+      TimedAlgorithmController.this.discard(cardIdx);
+    }
+
+    private void checkOpen() {
+      if (this.closed || Thread.currentThread() != this.worker) {
+        throw new IllegalStateException("The turn is over for "
+                + TimedAlgorithmController.this.team);
+      }
+      if (this.move != null) {
+        throw new IllegalStateException("A move was already sent this turn");
+      }
+    }
+  }
+}
@@ -10,7 +10,13 @@ import game.board.GamePosition;
  */
 public enum SequenceType {
 
-  HORIZONTAL, VERTICAL, DIAGONALUP, DIAGONALDOWN;
+  HORIZONTAL(1, 0), VERTICAL(0, 1), DIAGONALUP(1, -1), DIAGONALDOWN(1, 1);
+
+  private final GamePosition direction;
+
+  SequenceType(int dx, int dy) {
+    this.direction = GamePosition.of(dx, dy);
+  }
 
   public static SequenceType fromDirection(GamePosition path) {
     if ((path.x() == -1 && path.y() == 0) || (path.x() == 1 && path.y() == 0)) {
@@ -25,26 +31,10 @@ public enum SequenceType {
   }
 
   public static GamePosition toDirection(GamePosition from, SequenceType to) {
-    if (to.equals(SequenceType.HORIZONTAL)) {
-      return from.get(new GamePosition(1, 0));
-    } else if (to.equals(SequenceType.VERTICAL)) {
-      return from.get(new GamePosition(0, 1));
-    } else if (to.equals(SequenceType.DIAGONALUP)) {
-      return from.get(new GamePosition(1, -1));
-    } else {
-      return from.get(new GamePosition(1, 1));
-    }
+    return from.get(to.direction);
   }
 
   public GamePosition naturalDirection() {
-    if (this.equals(SequenceType.HORIZONTAL)) {
-      return new GamePosition(1, 0);
-    } else if (this.equals(SequenceType.VERTICAL)) {
-      return new GamePosition(0, 1);
-    } else if (this.equals(SequenceType.DIAGONALUP)) {
-      return new GamePosition(1, -1);
-    } else {
-      return new GamePosition(1, 1);
-    }
+    return this.direction;
   }
 }
@@ -0,0 +1,83 @@
+package game.event;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Collects events into a fixed ring buffer and hands them on in batches, so a consumer that
+ * does work per delivery, such as a logger writing to disk, pays for it once per batch instead
+ * of once per event. A batch is delivered when the buffer is full, when a game ends, or on
+ * flush. The list a batch is delivered in is a view of the buffer, valid only until the
+ * consumer returns; a consumer that keeps events must copy them.
+ */
+public class BatchingEventListener implements GameEventListener {
+
+  private final GameEvent[] buffer;
+  private final Consumer<List<GameEvent>> consumer;
+  private final Batch batch = new Batch();
+  // The oldest buffered event and the number buffered
+  private int head = 0;
+  private int size = 0;
+
+  /**
+   * Creates a listener that delivers batches of up to the given size.
+   * @param capacity the most events to deliver at once
+   * @param consumer the receiver of each batch
+   * @throws IllegalArgumentException if the capacity is not positive
+   */
+  public BatchingEventListener(int capacity, Consumer<List<GameEvent>> consumer) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Capacity must be positive: given " + capacity);
+    }
+    this.buffer = new GameEvent[capacity];
+    this.consumer = Objects.requireNonNull(consumer);
+  }
+
+  @Override
+  public void onEvent(GameEvent event) {
+    Objects.requireNonNull(event);
+    this.buffer[(this.head + this.size) % this.buffer.length] = event;
+    this.size += 1;
+    if (this.size == this.buffer.length || event instanceof GameEvent.GameOver) {
+      this.flush();
+    }
+  }
+
+  /**
+   * Delivers the buffered events now, if there are any.
+   */
+  public void flush() {
+    if (this.size == 0) {
+      return;
+    }
+    try {
+      this.consumer.accept(this.batch);
+    } finally {
+      for (int event = 0; event < this.size; event += 1) {
+        this.buffer[(this.head + event) % this.buffer.length] = null;
+      }
+      this.head = (this.head + this.size) % this.buffer.length;
+      this.size = 0;
+    }
+  }
+
+  /**
+   * The buffered events, oldest first, read in place.
+   */
+  private final class Batch extends AbstractList<GameEvent> {
+
+    @Override
+    public GameEvent get(int index) {
+      Objects.checkIndex(index, BatchingEventListener.this.size);
+      return BatchingEventListener.this.buffer[(BatchingEventListener.this.head + index)
+              % BatchingEventListener.this.buffer.length];
+    }
+
+    @Override
+    public int size() {
+      return BatchingEventListener.this.size;
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package game.event;
+
+import game.board.Card;
+import game.board.GamePosition;
+import game.enums.GameChip;
+import game.enums.SequenceType;
+
+/**
+ * A change to the state of a game, as published by the model to its GameEventListeners. Each
+ * event carries only what changed, so a listener can follow a game without copying the board.
+ * The events of one move are published in the order they happen: the chip placed or removed,
+ * any sequences it completed, any reshuffle of the deck, the card drawn to replace the one
+ * played, and then the end of the game if the move won it. A dead card is published as the card
+ * discarded followed by any reshuffle and the card drawn to replace it.
+ */
+public sealed interface GameEvent {
+
+  /**
+   * A chip was placed on an open cell.
+   * @param team the team that placed it
+   * @param where the cell it was placed on
+   * @param card the card played to place it
+   */
+  record ChipPlaced(GameChip team, GamePosition where, Card card) implements GameEvent {
+  }
+
+  /**
+   * A chip was removed with a one eyed jack.
+   * @param team the team that removed it
+   * @param where the cell it was removed from
+   * @param removed the team whose chip was removed
+   * @param card the jack played to remove it
+   */
+  record ChipRemoved(GameChip team, GamePosition where, GameChip removed, Card card)
+          implements GameEvent {
+  }
+
+  /**
+   * A sequence was completed, and its cells locked.
+   * @param team the team that completed it
+   * @param start the first cell of the sequence
+   * @param type the direction the sequence runs from its first cell
+   */
+  record SequenceCompleted(GameChip team, GamePosition start, SequenceType type)
+          implements GameEvent {
+  }
+
+  /**
+   * A card was drawn into a hand, in the deal or to replace a card played or discarded.
+   * @param team the team whose hand it was drawn into
+   * @param card the card drawn
+   */
+  record CardDrawn(GameChip team, Card card) implements GameEvent {
+  }
+
+  /**
+   * A dead card was discarded from a hand, to be replaced by the next card drawn.
+   * @param team the team whose hand it was discarded from
+   * @param card the card discarded
+   */
+  record CardDiscarded(GameChip team, Card card) implements GameEvent {
+  }
+
+  /**
+   * The cards not in any hand were shuffled into a new deck.
+   * @param deckSize the number of cards in the new deck
+   */
+  record DeckReshuffled(int deckSize) implements GameEvent {
+  }
+
+  /**
+   * The game is over.
+   * @param winner the winning team, or NONE for a tie
+   * @param numMoves the number of moves made in the game
+   */
+  record GameOver(GameChip winner, int numMoves) implements GameEvent {
+  }
+}
@@ -0,0 +1,15 @@
+package game.event;
+
+/**
+ * Receives the events of a game as the model publishes them, on the thread playing the game.
+ */
+@FunctionalInterface
+public interface GameEventListener {
+
+  /**
+   * Handles one event. The model is partway through a move when this is called, so the
+   * listener must not change the game.
+   * @param event the event that happened
+   */
+  void onEvent(GameEvent event);
+}
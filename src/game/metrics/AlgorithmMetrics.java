@@ -0,0 +1,101 @@
+package game.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The measurements collected for one algorithm: a histogram of decision latencies, the number
+ * of dead card retries and of timed out moves, and the bytes allocated while deciding. All
+ * counters may be updated from many threads at once.
+ */
+public class AlgorithmMetrics {
+
+  private final LatencyHistogram latency = new LatencyHistogram();
+  private final LongAdder deadCards = new LongAdder();
+  private final LongAdder timeouts = new LongAdder();
+  private final LongAdder allocated = new LongAdder();
+  private final LongAdder measuredDecisions = new LongAdder();
+  private final LongAdder decisionNanos = new LongAdder();
+
+  void recordDecision(long nanos, long bytes) {
+    this.latency.record(Math.max(nanos, 0));
+    this.decisionNanos.add(Math.max(nanos, 0));
+    if (bytes >= 0) {
+      this.allocated.add(bytes);
+      this.measuredDecisions.increment();
+    }
+  }
+
+  void recordDeadCard() {
+    this.deadCards.increment();
+  }
+
+  void recordTimeout() {
+    this.timeouts.increment();
+  }
+
+  /**
+   * Accesses the histogram of decision latencies in nanoseconds.
+   * @return the live histogram
+   */
+  public LatencyHistogram latency() {
+    return this.latency;
+  }
+
+  /**
+   * Determines the number of decisions recorded.
+   * @return the count
+   */
+  public long decisions() {
+    return this.latency.count();
+  }
+
+  /**
+   * Determines the number of dead cards discarded.
+   * @return the count
+   */
+  public long deadCards() {
+    return this.deadCards.sum();
+  }
+
+  /**
+   * Determines the number of moves the algorithm ran out of time for.
+   * @return the count
+   */
+  public long timeouts() {
+    return this.timeouts.sum();
+  }
+
+  /**
+   * Determines the mean number of bytes allocated per decision, over the decisions whose
+   * allocation could be measured.
+   * @return the mean, or 0 if none could be measured
+   */
+  public double bytesPerDecision() {
+    long measured = this.measuredDecisions.sum();
+    return measured == 0 ? 0 : (double) this.allocated.sum() / measured;
+  }
+
+  /**
+   * Determines how many moves the algorithm could make per second of its own thinking time.
+   * @return the rate, or 0 if no decisions have been recorded
+   */
+  public double movesPerSecond() {
+    long nanos = this.decisionNanos.sum();
+    return nanos == 0 ? 0 : this.decisions() * 1e9 / nanos;
+  }
+
+  /**
+   * Returns the measurements as a string.
+   * @return the string in format "decisions: n, moves/s: r, p50/p99/max us: a/b/c, B/decision: m,
+   * dead cards: d, timeouts: t", where m is n/a if no allocation could be measured
+   */
+  public String displayResults() {
+    String bytes = this.measuredDecisions.sum() == 0 ? "n/a"
+            : String.format("%.0f", this.bytesPerDecision());
+    return String.format("decisions: %d, moves/s: %.1f, p50/p99/max us: %.1f/%.1f/%.1f, "
+                    + "B/decision: %s, dead cards: %d, timeouts: %d", this.decisions(),
+            this.movesPerSecond(), this.latency.percentile(50) / 1e3,
+            this.latency.percentile(99) / 1e3, this.latency.max() / 1e3,
+            bytes, this.deadCards(), this.timeouts());
+  }
+}
@@ -0,0 +1,76 @@
+package game.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps every measurement in memory, grouped by algorithm. This is the sink controllers report
+ * to unless they are given another one.
+ */
+public class InMemoryMetricsSink implements MetricsSink {
+
+  private static final InMemoryMetricsSink GLOBAL = new InMemoryMetricsSink();
+
+  private final Map<String, AlgorithmMetrics> metrics = new ConcurrentHashMap<>();
+
+  /**
+   * Accesses the sink shared by every controller that was not given a sink of its own.
+   * @return the shared sink
+   */
+  public static InMemoryMetricsSink global() {
+    return GLOBAL;
+  }
+
+  @Override
+  public void recordDecision(String algorithm, long nanos, long bytes) {
+    this.metricsFor(algorithm).recordDecision(nanos, bytes);
+  }
+
+  @Override
+  public void recordDeadCard(String algorithm) {
+    this.metricsFor(algorithm).recordDeadCard();
+  }
+
+  @Override
+  public void recordTimeout(String algorithm) {
+    this.metricsFor(algorithm).recordTimeout();
+  }
+
+  /**
+   * Accesses the measurements of every algorithm seen so far.
+   * @return a read-only map from algorithm name to its live measurements, sorted by name
+   */
+  public Map<String, AlgorithmMetrics> getMetrics() {
+    return Collections.unmodifiableMap(new TreeMap<>(this.metrics));
+  }
+
+  /**
+   * Forgets every measurement.
+   */
+  public void clear() {
+    this.metrics.clear();
+  }
+
+  /**
+   * Returns the measurements of every algorithm as a string, one algorithm per line.
+   * @return the string in format "[algorithm]: [measurements]"
+   */
+  public String displayResults() {
+    StringBuilder toReturn = new StringBuilder();
+    for (Map.Entry<String, AlgorithmMetrics> entry : this.getMetrics().entrySet()) {
+      toReturn.append(entry.getKey()).append(": ").append(entry.getValue().displayResults())
+              .append("\n");
+    }
+    return toReturn.toString();
+  }
+
+  private AlgorithmMetrics metricsFor(String algorithm) {
+    AlgorithmMetrics found = this.metrics.get(algorithm);
+    if (found == null) {
+      found = this.metrics.computeIfAbsent(algorithm, name -> new AlgorithmMetrics());
+    }
+    return found;
+  }
+}
@@ -0,0 +1,110 @@
+package game.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of non-negative values, such as latencies in nanoseconds, in the style of
+ * HdrHistogram. Values below 32 get a bucket each; above that, every power of two is split into
+ * 32 equal buckets, so any recorded value is known to within about 3% using a fixed 15 KB of
+ * counters no matter how many values are recorded. Recording is lock free and may be done from
+ * any number of threads.
+ */
+public class LatencyHistogram {
+
+  private static final int SUB_BITS = 5;
+  private static final int SUB_BUCKETS = 1 << SUB_BITS;
+  private static final int NUM_BUCKETS = SUB_BUCKETS + (64 - SUB_BITS) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(NUM_BUCKETS);
+  private final LongAdder total = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+
+  /**
+   * Records a value.
+   * @param value the value to record
+   * @throws IllegalArgumentException if the value is negative
+   */
+  public void record(long value) {
+    if (value < 0) {
+      throw new IllegalArgumentException("Cannot record a negative value: " + value);
+    }
+    this.counts.incrementAndGet(bucket(value));
+    this.total.increment();
+    this.sum.add(value);
+  }
+
+  /**
+   * Determines how many values have been recorded.
+   * @return the count
+   */
+  public long count() {
+    return this.total.sum();
+  }
+
+  /**
+   * Determines the mean of the recorded values.
+   * @return the exact mean, or 0 if nothing has been recorded
+   */
+  public double mean() {
+    long count = this.count();
+    return count == 0 ? 0 : (double) this.sum.sum() / count;
+  }
+
+  /**
+   * Determines the value at the given percentile, reported as the highest value that shares a
+   * bucket with it.
+   * @param percentile the percentile, from 0 to 100
+   * @return the value, or 0 if nothing has been recorded
+   * @throws IllegalArgumentException if the percentile is out of range
+   */
+  public long percentile(double percentile) {
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+    }
+    long[] snapshot = new long[NUM_BUCKETS];
+    long count = 0;
+    for (int bucket = 0; bucket < NUM_BUCKETS; bucket += 1) {
+      snapshot[bucket] = this.counts.get(bucket);
+      count += snapshot[bucket];
+    }
+    if (count == 0) {
+      return 0;
+    }
+    long target = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+    long seen = 0;
+    for (int bucket = 0; bucket < NUM_BUCKETS; bucket += 1) {
+      seen += snapshot[bucket];
+      if (seen >= target) {
+        return highestIn(bucket);
+      }
+    }
+    return highestIn(NUM_BUCKETS - 1);
+  }
+
+  /**
+   * Determines the largest recorded value, to within the histogram's precision.
+   * @return the value at the 100th percentile
+   */
+  public long max() {
+    return this.percentile(100);
+  }
+
+  private static int bucket(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+    return SUB_BUCKETS + shift * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+  }
+
+  private static long highestIn(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+    int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+    long mantissa = SUB_BUCKETS + (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+    long highest = ((mantissa + 1) << shift) - 1;
+    return highest < 0 ? Long.MAX_VALUE : highest;
+  }
+}
@@ -0,0 +1,32 @@
+package game.metrics;
+
+/**
+ * A destination for measurements of how algorithms play. Controllers report every decision an
+ * algorithm makes, every dead card it discards, and every move it runs out of time for; what
+ * happens to the measurements is up to the sink. Sinks may be shared by games running on
+ * several threads at once, so implementations must be thread safe.
+ */
+public interface MetricsSink {
+
+  /**
+   * Records one decision, from the request for a move until the move was sent.
+   * @param algorithm the name of the algorithm that decided
+   * @param nanos how long the decision took
+   * @param bytes how many bytes were allocated while deciding, or -1 if unknown
+   */
+  void recordDecision(String algorithm, long nanos, long bytes);
+
+  /**
+   * Records that an algorithm discarded a dead card and had to decide again.
+   * @param algorithm the name of the algorithm
+   */
+  void recordDeadCard(String algorithm);
+
+  /**
+   * Records that an algorithm sent no move within its time budget, so a default move was played
+   * for it.
+   * @param algorithm the name of the algorithm
+   */
+  void recordTimeout(String algorithm);
+
+}
@@ -0,0 +1,33 @@
+package game.metrics;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Reads how many bytes the current thread has allocated, where the JVM supports it.
+ */
+public final class ThreadAllocation {
+
+  private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+  private ThreadAllocation() {
+    // static access only
+  }
+
+  /**
+   * Determines the total number of bytes allocated by the current thread so far. Differences
+   * between two readings on the same thread give the allocation in between.
+   * @return the byte count, or -1 if the JVM cannot measure it
+   */
+  public static long currentThreadBytes() {
+    return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+  }
+
+  private static com.sun.management.ThreadMXBean threads() {
+    if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+            && bean.isThreadAllocatedMemorySupported()) {
+      bean.setThreadAllocatedMemoryEnabled(true);
+      return bean;
+    }
+    return null;
+  }
+}
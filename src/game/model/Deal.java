@@ -0,0 +1,125 @@
+package game.model;
+
+import java.util.Random;
+
+import game.board.Card;
+
+/**
+ * The rules for shuffling and dealing a game of sequence, shared by the model and by anything
+ * that needs to know a seeded game's deal without playing it, such as archive queries.
+ * Cards are identified by id, see Card.id, and the standard deck holds two of every card in id
+ * order.
+ */
+public final class Deal {
+
+  /**
+   * The number of cards in the standard deck.
+   */
+  public static final int DECK_SIZE = Card.NUM_IDS * 2;
+
+  // The linear congruential generator of java.util.Random
+  private static final long MULTIPLIER = 0x5DEECE66DL;
+  private static final long ADDEND = 0xBL;
+  private static final long MASK = (1L << 48) - 1;
+
+  private Deal() {
+    // static rules only
+  }
+
+  /**
+   * Determines how many cards each player is dealt.
+   * @param numPlayers the number of seats in the game
+   * @param numColors the number of team colours in the game
+   * @return the hand size
+   */
+  public static int cardsPerPlayer(int numPlayers, int numColors) {
+    if (numColors == 2) {
+      return 8 - numPlayers / 2;
+    } else {
+      return 7 - numPlayers / 3;
+    }
+  }
+
+  /**
+   * Fills the array with the standard deck, two of every card in id order.
+   * @param ids the array to fill, of at least DECK_SIZE length
+   */
+  public static void standardIds(int[] ids) {
+    for (int card = 0; card < DECK_SIZE; card += 1) {
+      ids[card] = card >>> 1;
+    }
+  }
+
+  /**
+   * Shuffles the first cards of the array in place with a Fisher-Yates shuffle. The swaps are
+   * the same, in the same order, as Collections.shuffle makes on a random access list, so a deck
+   * shuffled here matches one shuffled there with the same random source.
+   * @param ids the cards to shuffle
+   * @param size how many cards from the front of the array to shuffle
+   * @param random the random source to draw swaps from
+   */
+  public static void shuffle(int[] ids, int size, Random random) {
+    for (int remaining = size; remaining > 1; remaining -= 1) {
+      int other = random.nextInt(remaining);
+      int swap = ids[remaining - 1];
+      ids[remaining - 1] = ids[other];
+      ids[other] = swap;
+    }
+  }
+
+  /**
+   * Fills the array with the standard deck and shuffles it exactly as the model shuffles a deck
+   * dealt from the given seed, so the result is the order cards are dealt in from the front.
+   * This steps the generator documented for java.util.Random directly instead of through an
+   * instance, which keeps scans over many recorded deals cheap.
+   * @param ids the array to fill, of at least DECK_SIZE length
+   * @param seed the seed the deck was shuffled from
+   */
+  public static void shuffledIds(int[] ids, long seed) {
+    standardIds(ids);
+    shuffle(ids, 0, DECK_SIZE, seedState(seed));
+  }
+
+  /**
+   * Determines the generator state a java.util.Random constructed with the given seed starts
+   * from, for use with the state-passing shuffle.
+   * @param seed the seed
+   * @return the initial generator state
+   */
+  public static long seedState(long seed) {
+    return (seed ^ MULTIPLIER) & MASK;
+  }
+
+  /**
+   * Shuffles a run of cards in place with the same swaps as shuffle makes with a
+   * java.util.Random in the given state, and returns the state that Random would be left in.
+   * Shuffling again from the returned state continues the same random stream, so many decks can
+   * be kept in one array, each with its own stream, without a Random per deck.
+   * @param ids the array holding the cards
+   * @param from the index of the first card to shuffle
+   * @param size how many cards to shuffle
+   * @param state the generator state to shuffle from
+   * @return the generator state after the shuffle
+   */
+  public static long shuffle(int[] ids, int from, int size, long state) {
+    for (int remaining = size; remaining > 1; remaining -= 1) {
+      state = (state * MULTIPLIER + ADDEND) & MASK;
+      int bits = (int) (state >>> 17);
+      int other;
+      if ((remaining & (remaining - 1)) == 0) {
+        other = (int) ((remaining * (long) bits) >> 31);
+      } else {
+        other = bits % remaining;
+        while (bits - other + (remaining - 1) < 0) {
+          state = (state * MULTIPLIER + ADDEND) & MASK;
+          bits = (int) (state >>> 17);
+          other = bits % remaining;
+        }
+      }
+      int swap = ids[from + remaining - 1];
+      ids[from + remaining - 1] = ids[from + other];
+      ids[from + other] = swap;
+    }
+    return state;
+  }
+}
@@ -6,6 +6,8 @@ import java.util.Random;
 import game.board.GameBoard;
 import game.controller.GameMove;
 import game.controller.SequenceController;
+import game.event.GameEventListener;
+import game.record.GameRecordWriter;
 import game.scorekeeper.ScoreKeeper;
 import game.view.GameView;
 
@@ -33,11 +35,38 @@ public interface PlayableSequenceModel extends ReadOnlySequenceModel {
    */
   void initializeGame(GameBoard gameBoard, List<SequenceController> players, Random shuffler);
 
+  /**
+   * Initializes the game state with a deck shuffled from the given seed. Hands are dealt in
+   * turn order, so the same seed and players always produce the same deal
+   * @param gameBoard the board to be played to
+   * @param players the list of controllers in proper turn order
+   * @param seed the seed to shuffle the deck with
+   */
+  void initializeGame(GameBoard gameBoard, List<SequenceController> players, long seed);
+
   /**
    * Begins gameplay by requesting a move from the first player
    */
   void beginPlaying();
 
+  /**
+   * Requests exactly one move from the current player and returns once it has been played.
+   * Switches the model into driver mode, where playing a move no longer requests a move from
+   * the next player, so the caller decides when the game advances. Games may be paused and
+   * resumed between calls. Driver mode lasts until the game is next initialized
+   * @throws IllegalStateException if the game is already over or the current player did not
+   * play a move when asked
+   */
+  void step() throws IllegalStateException;
+
+  /**
+   * Advances the game in driver mode until it is over. Each turn is requested in a flat loop
+   * rather than through nested calls from the previous move, so the stack stays shallow no
+   * matter how long the game runs.
+   * @throws IllegalStateException if a player does not play a move when asked
+   */
+  void runToCompletion() throws IllegalStateException;
+
   /**
    * Resets the current deck by reshuffling and ensuring that none of the cards currently in the
    * players' hands are in the new deck (Effectively the same as reshuffling the discard pile).
@@ -63,4 +92,19 @@ public interface PlayableSequenceModel extends ReadOnlySequenceModel {
    */
   void addScoreKeeper(ScoreKeeper sk);
 
+  /**
+   * Records this game into the given archive once it is over. Only games initialized from a
+   * seed can be recorded, and recording must start before the first move.
+   * @param writer the archive to add the finished game to
+   * @throws IllegalStateException if the game was not dealt from a seed or has already started
+   */
+  void addRecordWriter(GameRecordWriter writer);
+
+  /**
+   * Adds a listener to be told of every change to the game from now on, see GameEvent.
+   * Listeners are kept when the game is initialized again.
+   * @param listener the listener to add
+   */
+  void addListener(GameEventListener listener);
+
 }
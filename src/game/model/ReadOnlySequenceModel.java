@@ -23,6 +23,12 @@ public interface ReadOnlySequenceModel {
    */
   SequenceController getCurrentTurn();
 
+  /**
+   * Lists the players in turn order, beginning with the controller whose turn it is.
+   * @return a new list of every controller in the game
+   */
+  List<SequenceController> getTurnOrder();
+
   /**
    * Determines the number of one eyed jacks that have yet to be played before a reshuffle.
    * @return the count
@@ -70,7 +76,23 @@ public interface ReadOnlySequenceModel {
   GameHand getHand(SequenceController controller);
 
   /**
-   * Records an observation of the sequences currently completed in the game.
+   * Returns a read-only view of the live board. The view is not a copy: it reflects every move
+   * made after it is returned, so observations made from it are only valid for the current turn.
+   * @return a read-only view of the current board
+   */
+  GameBoard viewBoard();
+
+  /**
+   * Returns a read-only view of the live hand of the given player. Like viewBoard, the view
+   * tracks the hand as cards are played, discarded, and drawn.
+   * @param controller the player to check
+   * @return a read-only view of that player's hand
+   */
+  GameHand viewHand(SequenceController controller);
+
+  /**
+   * Records an observation of the sequences currently completed in the game. The map and its
+   * lists are copies that later moves do not change.
    * @return a map containing lists of all sequences which begin at each point
    */
   Map<GamePosition, List<SequenceType>> getSequences();
@@ -88,6 +110,13 @@ public interface ReadOnlySequenceModel {
    */
   Map<GameChip, List<GamePosition>> getChips();
 
+  /**
+   * Accesses a read-only view of the live lists of positions where each chip is. The lists
+   * change as chips are placed and removed and cannot be modified through the view.
+   * @return a map from GameChip to views of the positions held by each player
+   */
+  Map<GameChip, List<GamePosition>> viewChips();
+
   /**
    * Finds all positions on the board for which playing the given chip would create a sequence.
    * @param team the team color to look for
@@ -0,0 +1,824 @@
+package game.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import game.board.Card;
+import game.board.Cell;
+import game.board.GameBoard;
+import game.board.GamePosition;
+import game.board.SequenceLines;
+import game.board.Zobrist;
+import game.controller.GameMove;
+import game.enums.CardValue;
+import game.enums.GameChip;
+import game.enums.SequenceType;
+
+/**
+ * A self-contained game state meant for search. It has no controllers, views, or scorekeepers:
+ * seats are identified by their position in the turn order, every hand and the draw pile are
+ * known, and every move can be taken back with undoMove. Applying or undoing a move touches a
+ * constant amount of state, so a search can walk down and back up a game tree without copying.
+ * Unlike SequenceModel, an empty draw pile is never reshuffled; the player simply draws nothing.
+ */
+public class SearchSequenceModel {
+
+  private static final int MOVE = 0;
+  private static final int DEAD_CARD = 1;
+
+  private final SequenceLines lines;
+  private final Card[] cellCards;
+  // The cells showing each card, by card id
+  private final int[][] cardCells;
+  private final GameChip[] cellChips;
+  // Two longs per GameChip (by ordinal) of the cells counting for that chip
+  private final long[] owned;
+  // Two longs per SequenceType (by ordinal) of the cells locked in that direction
+  private final long[] locked;
+  private final int numPlayable;
+
+  private final GameChip[] seats;
+  private final Card[][] hands;
+  private final int[] handSizes;
+  private final Card[] deck;
+  private int deckCursor;
+  private final int[] remaining;
+  private final int[] sequenceCounts;
+  private int currentSeat;
+  private int numChipsPresent;
+  private int numMovesMade;
+  private long hash;
+
+  // Completed sequences as window ids, in the order they were made
+  private int[] sequenceWindows;
+  private int numSequences;
+
+  // One entry per applied move, undone from the top
+  private int depth;
+  private int[] undoKind;
+  private int[] undoCell;
+  private int[] undoHandIndex;
+  private Card[] undoCard;
+  private GameChip[] undoChip;
+  private boolean[] undoDrew;
+  private int[] undoSequences;
+
+  /**
+   * Creates a search state from a full description of a game.
+   * @param board the board, whose chips and locks are copied
+   * @param sequences the sequences already completed on the board, by header
+   * @param seats the team of each seat, in turn order
+   * @param hands the cards held by each seat, in the same order as seats
+   * @param deck the draw pile, top card first
+   * @param currentSeat the index of the seat whose turn it is
+   * @throws IllegalArgumentException if the seats and hands do not match up
+   */
+  public SearchSequenceModel(GameBoard board, Map<GamePosition, List<SequenceType>> sequences,
+                             List<GameChip> seats, List<List<Card>> hands, List<Card> deck,
+                             int currentSeat) {
+    Objects.requireNonNull(board);
+    Objects.requireNonNull(sequences);
+    if (seats.size() < 2 || seats.size() != hands.size()) {
+      throw new IllegalArgumentException("Need a hand for each of at least two seats");
+    }
+    if (currentSeat < 0 || currentSeat >= seats.size()) {
+      throw new IllegalArgumentException("Invalid seat: " + currentSeat);
+    }
+
+    Cell[][] layout = board.getBoard();
+    this.lines = SequenceLines.forSize(layout.length, layout[0].length);
+    this.cellCards = new Card[this.lines.numCells()];
+    this.cellChips = new GameChip[this.lines.numCells()];
+    this.owned = new long[GameChip.values().length * 2];
+    this.locked = new long[SequenceType.values().length * 2];
+    int playable = 0;
+    for (int col = 0; col < layout.length; col += 1) {
+      for (int row = 0; row < layout[0].length; row += 1) {
+        int cell = this.lines.index(col, row);
+        GameChip chip = layout[col][row].getChip();
+        this.cellChips[cell] = chip;
+        if (chip.equals(GameChip.ALL)) {
+          for (GameChip team : GameChip.values()) {
+            this.setBit(this.owned, team.ordinal(), cell);
+          }
+        } else {
+          playable += 1;
+          this.cellCards[cell] = layout[col][row].getCard();
+          if (!chip.equals(GameChip.NONE)) {
+            this.setBit(this.owned, chip.ordinal(), cell);
+            this.numChipsPresent += 1;
+          }
+        }
+        for (SequenceType type : SequenceType.values()) {
+          if (board.isLocked(this.lines.position(cell), type)) {
+            this.setBit(this.locked, type.ordinal(), cell);
+          }
+        }
+      }
+    }
+    this.numPlayable = playable;
+    this.cardCells = cardCells(this.cellCards);
+
+    this.seats = seats.toArray(new GameChip[0]);
+    this.currentSeat = currentSeat;
+    this.hash = board.hash() ^ Zobrist.seat(currentSeat);
+    this.remaining = new int[Card.NUM_IDS];
+    int maxHand = 0;
+    for (List<Card> hand : hands) {
+      maxHand = Math.max(maxHand, hand.size());
+    }
+    this.hands = new Card[this.seats.length][maxHand + 1];
+    this.handSizes = new int[this.seats.length];
+    for (int seat = 0; seat < this.seats.length; seat += 1) {
+      for (Card card : hands.get(seat)) {
+        this.hands[seat][this.handSizes[seat]] = card;
+        this.handSizes[seat] += 1;
+        this.remaining[card.id()] += 1;
+      }
+    }
+    this.deck = deck.toArray(new Card[0]);
+    for (Card card : this.deck) {
+      this.remaining[card.id()] += 1;
+    }
+
+    this.sequenceCounts = new int[GameChip.values().length];
+    this.sequenceWindows = new int[8];
+    for (GamePosition header : sequences.keySet()) {
+      for (SequenceType type : sequences.get(header)) {
+        int window = this.windowFor(header, type);
+        this.pushSequence(window);
+        this.sequenceCounts[this.ownerOf(window).ordinal()] += 1;
+      }
+    }
+
+    this.undoKind = new int[16];
+    this.undoCell = new int[16];
+    this.undoHandIndex = new int[16];
+    this.undoCard = new Card[16];
+    this.undoChip = new GameChip[16];
+    this.undoDrew = new boolean[16];
+    this.undoSequences = new int[16];
+  }
+
+  /**
+   * Creates a copy of another search state at the same point in the game, but with the hands and
+   * draw pile replaced. This is how a search samples one possible deal of the cards it cannot see.
+   * The undo history is not copied.
+   * @param other the state to copy the board, sequences, and turn from
+   * @param hands the cards held by each seat, in turn order
+   * @param deck the draw pile, top card first
+   * @throws IllegalArgumentException if there is not a hand for each seat
+   */
+  public SearchSequenceModel(SearchSequenceModel other, List<List<Card>> hands, List<Card> deck) {
+    if (hands.size() != other.seats.length) {
+      throw new IllegalArgumentException("Need a hand for each seat");
+    }
+    this.lines = other.lines;
+    this.cellCards = other.cellCards;
+    this.cardCells = other.cardCells;
+    this.cellChips = other.cellChips.clone();
+    this.owned = other.owned.clone();
+    this.locked = other.locked.clone();
+    this.numPlayable = other.numPlayable;
+    this.seats = other.seats;
+    this.currentSeat = other.currentSeat;
+    this.numChipsPresent = other.numChipsPresent;
+    this.numMovesMade = other.numMovesMade;
+    this.hash = other.hash;
+    this.sequenceCounts = other.sequenceCounts.clone();
+    this.sequenceWindows = other.sequenceWindows.clone();
+    this.numSequences = other.numSequences;
+
+    this.remaining = new int[other.remaining.length];
+    int maxHand = 0;
+    for (List<Card> hand : hands) {
+      maxHand = Math.max(maxHand, hand.size());
+    }
+    this.hands = new Card[this.seats.length][maxHand + 1];
+    this.handSizes = new int[this.seats.length];
+    for (int seat = 0; seat < this.seats.length; seat += 1) {
+      for (Card card : hands.get(seat)) {
+        this.hands[seat][this.handSizes[seat]] = card;
+        this.handSizes[seat] += 1;
+        this.remaining[card.id()] += 1;
+      }
+    }
+    this.deck = deck.toArray(new Card[0]);
+    for (Card card : this.deck) {
+      this.remaining[card.id()] += 1;
+    }
+
+    this.undoKind = new int[16];
+    this.undoCell = new int[16];
+    this.undoHandIndex = new int[16];
+    this.undoCard = new Card[16];
+    this.undoChip = new GameChip[16];
+    this.undoDrew = new boolean[16];
+    this.undoSequences = new int[16];
+  }
+
+  /**
+   * Plays the given move for the current seat, draws a replacement card if any remain, and
+   * passes the turn. Follows the same rules as SequenceModel.playToCell.
+   * @param move the move to play
+   * @throws IllegalArgumentException if the move is not legal for the current seat
+   * @throws IllegalStateException if the game is already over
+   */
+  public void applyMove(GameMove move) {
+    if (this.isGameOver()) {
+      throw new IllegalStateException("Game is already over");
+    }
+    int which = move.handIndex();
+    if (which < 0 || which >= this.handSizes[this.currentSeat]) {
+      throw new IllegalArgumentException("Invalid hand index for move: " + which);
+    }
+    GamePosition where = move.location();
+    if (where.x() < 0 || where.y() < 0 || this.lines.index(where) >= this.lines.numCells()
+            || !this.lines.position(this.lines.index(where)).equals(where)) {
+      throw new IllegalArgumentException("Invalid location: " + where);
+    }
+    this.play(which, this.lines.index(where));
+  }
+
+  /**
+   * Plays a move in the packed form produced by legalMoves. Behaves exactly like
+   * applyMove(GameMove) on the equivalent move.
+   * @param move the packed move to play
+   * @throws IllegalArgumentException if the move is not legal for the current seat
+   * @throws IllegalStateException if the game is already over
+   */
+  public void applyMove(int move) {
+    if (this.isGameOver()) {
+      throw new IllegalStateException("Game is already over");
+    }
+    int which = move / this.lines.numCells();
+    if (move < 0 || which >= this.handSizes[this.currentSeat]) {
+      throw new IllegalArgumentException("Invalid hand index for move: " + which);
+    }
+    this.play(which, move % this.lines.numCells());
+  }
+
+  private void play(int which, int cell) {
+    GamePosition where = this.lines.position(cell);
+    Card toPlay = this.hands[this.currentSeat][which];
+    GameChip team = this.seats[this.currentSeat];
+    GameChip atCell = this.cellChips[cell];
+    int sequencesBefore = this.numSequences;
+
+    if (toPlay.value().equals(CardValue.ONE_EYED_JACK)) {
+      if (atCell.equals(GameChip.NONE) || atCell.equals(GameChip.ALL)) {
+        throw new IllegalArgumentException("Cannot remove from empty position: " + where);
+      } else if (atCell.equals(team)) {
+        throw new IllegalArgumentException("Cannot remove your own pieces");
+      } else if (this.isLocked(cell)) {
+        throw new IllegalArgumentException("Cell is locked: " + where);
+      }
+      this.cellChips[cell] = GameChip.NONE;
+      this.clearBit(this.owned, atCell.ordinal(), cell);
+      this.hash ^= Zobrist.chip(cell, atCell);
+      this.numChipsPresent -= 1;
+    } else {
+      if (!atCell.equals(GameChip.NONE)) {
+        throw new IllegalArgumentException("Cannot play to already filled position " + where);
+      } else if (!toPlay.value().equals(CardValue.TWO_EYED_JACK)
+              && !toPlay.sameCard(this.cellCards[cell])) {
+        throw new IllegalArgumentException("Invalid move: Cards do not match: "
+                + toPlay + " to " + this.cellCards[cell]);
+      }
+      this.cellChips[cell] = team;
+      this.setBit(this.owned, team.ordinal(), cell);
+      this.hash ^= Zobrist.chip(cell, team);
+      this.numChipsPresent += 1;
+      this.markSequences(cell, team);
+    }
+
+    this.pushUndo(MOVE, cell, which, toPlay, atCell, this.numSequences - sequencesBefore);
+    this.removeFromHand(which);
+    this.remaining[toPlay.id()] -= 1;
+    this.undoDrew[this.depth - 1] = this.draw();
+    this.numMovesMade += 1;
+    this.hash ^= Zobrist.seat(this.currentSeat);
+    this.currentSeat = (this.currentSeat + 1) % this.seats.length;
+    this.hash ^= Zobrist.seat(this.currentSeat);
+  }
+
+  /**
+   * Discards a dead card from the current seat's hand and draws a replacement. The turn does
+   * not pass.
+   * @param handIndex the index of the card to discard
+   * @throws IllegalArgumentException if the index is invalid
+   * @throws IllegalStateException if the card still has an open location on the board
+   */
+  public void discardDeadCard(int handIndex) {
+    if (handIndex < 0 || handIndex >= this.handSizes[this.currentSeat]) {
+      throw new IllegalArgumentException("Invalid hand index: " + handIndex);
+    }
+    Card toDiscard = this.hands[this.currentSeat][handIndex];
+    if (!this.isDead(toDiscard)) {
+      throw new IllegalStateException("Card is not dead: " + toDiscard);
+    }
+    this.pushUndo(DEAD_CARD, -1, handIndex, toDiscard, GameChip.NONE, 0);
+    this.removeFromHand(handIndex);
+    this.undoDrew[this.depth - 1] = this.draw();
+  }
+
+  /**
+   * Takes back the most recent move or dead card discard, restoring the chips, locks,
+   * sequences, sequence counts, remaining card counts, hands and turn from before it.
+   * @throws IllegalStateException if there is nothing to undo
+   */
+  public void undoMove() {
+    if (this.depth == 0) {
+      throw new IllegalStateException("No moves to undo");
+    }
+    this.depth -= 1;
+    int top = this.depth;
+    boolean isMove = this.undoKind[top] == MOVE;
+    if (isMove) {
+      this.hash ^= Zobrist.seat(this.currentSeat);
+      this.currentSeat = (this.currentSeat + this.seats.length - 1) % this.seats.length;
+      this.hash ^= Zobrist.seat(this.currentSeat);
+      this.numMovesMade -= 1;
+      this.remaining[this.undoCard[top].id()] += 1;
+    }
+    if (this.undoDrew[top]) {
+      this.handSizes[this.currentSeat] -= 1;
+      this.hands[this.currentSeat][this.handSizes[this.currentSeat]] = null;
+      this.deckCursor -= 1;
+    }
+    this.insertIntoHand(this.undoHandIndex[top], this.undoCard[top]);
+    if (!isMove) {
+      return;
+    }
+
+    int cell = this.undoCell[top];
+    GameChip before = this.undoChip[top];
+    GameChip after = this.cellChips[cell];
+    for (int seq = 0; seq < this.undoSequences[top]; seq += 1) {
+      this.numSequences -= 1;
+      int window = this.sequenceWindows[this.numSequences];
+      int typeSlot = this.lines.windowType(window).ordinal() * 2;
+      this.locked[typeSlot] &= ~this.lines.windowLow(window);
+      this.locked[typeSlot + 1] &= ~this.lines.windowHigh(window);
+      this.toggleLockKeys(window);
+      this.sequenceCounts[after.ordinal()] -= 1;
+    }
+    if (after.equals(GameChip.NONE)) {
+      this.setBit(this.owned, before.ordinal(), cell);
+      this.numChipsPresent += 1;
+    } else {
+      this.clearBit(this.owned, after.ordinal(), cell);
+      this.numChipsPresent -= 1;
+    }
+    this.hash ^= Zobrist.chip(cell, before) ^ Zobrist.chip(cell, after);
+    this.cellChips[cell] = before;
+  }
+
+  /**
+   * Accesses the Zobrist hash of this state: the chips and locks on the board, hashed exactly as
+   * GameBoard.hash would, combined with the seat whose turn it is. Hands and the draw pile are
+   * not included, so every deal of the same position shares a hash.
+   * @return the hash of the current position
+   */
+  public long hash() {
+    return this.hash;
+  }
+
+  /**
+   * Accesses the Zobrist hash of the chips and locks on the board alone, exactly as
+   * GameBoard.hash would compute it, without the seat whose turn it is.
+   * @return the hash of the board
+   */
+  public long boardHash() {
+    return this.hash ^ Zobrist.seat(this.currentSeat);
+  }
+
+  /**
+   * Lists the legal moves of the current seat in a packed form, handIndex * numCells() + cell.
+   * When the same card is held more than once, only its first copy is listed. Dead cards have no
+   * moves, so an empty list means the seat can only discard or has nothing left to play.
+   * @param moves the array to fill, which must hold at least maxMoves() entries
+   * @return the number of moves written
+   */
+  public int legalMoves(int[] moves) {
+    if (this.isGameOver()) {
+      return 0;
+    }
+    int count = 0;
+    for (int which = 0; which < this.handSizes[this.currentSeat]; which += 1) {
+      if (!this.heldEarlier(this.hands[this.currentSeat], which)) {
+        count = this.movesFor(which, moves, count);
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Lists the legal moves of a single card in the current seat's hand, in the same packed form
+   * as legalMoves.
+   * @param moves the array to fill, which must hold at least numCells() entries
+   * @param handIndex the index of the card to play
+   * @return the number of moves written
+   * @throws IllegalArgumentException if the index is invalid
+   */
+  public int legalMoves(int[] moves, int handIndex) {
+    if (handIndex < 0 || handIndex >= this.handSizes[this.currentSeat]) {
+      throw new IllegalArgumentException("Invalid hand index: " + handIndex);
+    }
+    if (this.isGameOver()) {
+      return 0;
+    }
+    return this.movesFor(handIndex, moves, 0);
+  }
+
+  private int movesFor(int which, int[] moves, int count) {
+    Card card = this.hands[this.currentSeat][which];
+    GameChip team = this.seats[this.currentSeat];
+    int numCells = this.lines.numCells();
+    int base = which * numCells;
+    if (card.value().equals(CardValue.TWO_EYED_JACK)) {
+      for (int cell = 0; cell < numCells; cell += 1) {
+        if (this.cellChips[cell].equals(GameChip.NONE)) {
+          moves[count] = base + cell;
+          count += 1;
+        }
+      }
+    } else if (card.value().equals(CardValue.ONE_EYED_JACK)) {
+      for (int cell = 0; cell < numCells; cell += 1) {
+        GameChip chip = this.cellChips[cell];
+        if (!chip.equals(GameChip.NONE) && !chip.equals(GameChip.ALL) && !chip.equals(team)
+                && !this.isLocked(cell)) {
+          moves[count] = base + cell;
+          count += 1;
+        }
+      }
+    } else {
+      for (int cell : this.cardCells[card.id()]) {
+        if (this.cellChips[cell].equals(GameChip.NONE)) {
+          moves[count] = base + cell;
+          count += 1;
+        }
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Determines the most moves legalMoves can produce for any seat.
+   * @return the required size of the array given to legalMoves
+   */
+  public int maxMoves() {
+    return this.hands[0].length * this.lines.numCells();
+  }
+
+  /**
+   * Determines the number of cells on the board, the stride of a packed move.
+   * @return the cell count
+   */
+  public int numCells() {
+    return this.lines.numCells();
+  }
+
+  /**
+   * Converts a packed move back into a GameMove.
+   * @param move the packed move
+   * @return the equivalent move
+   */
+  public GameMove toGameMove(int move) {
+    return new GameMove(this.lines.position(move % this.lines.numCells()),
+            move / this.lines.numCells());
+  }
+
+  /**
+   * Determines the number of moves that can currently be undone.
+   * @return the depth of the undo stack
+   */
+  public int undoDepth() {
+    return this.depth;
+  }
+
+  /**
+   * Determines if the game is over. The game is over when one team has two sequences or the game
+   * board is full
+   * @return whether the game has ended
+   */
+  public boolean isGameOver() {
+    if (this.numChipsPresent == this.numPlayable) {
+      return true;
+    }
+    for (int count : this.sequenceCounts) {
+      if (count >= 2) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Determines the winner of the game assuming the game is over. Returns GameChip.NONE if there
+   * is a tie
+   * @return the winning team's GameChip
+   * @throws IllegalStateException if the game is not over
+   */
+  public GameChip getWinner() {
+    for (GameChip chip : GameChip.values()) {
+      if (this.sequenceCounts[chip.ordinal()] >= 2) {
+        return chip;
+      }
+    }
+    if (this.numChipsPresent == this.numPlayable) {
+      return GameChip.NONE;
+    }
+    throw new IllegalStateException("No Winner");
+  }
+
+  /**
+   * Determines the seat whose turn it is.
+   * @return the index of the current seat in the turn order
+   */
+  public int getCurrentSeat() {
+    return this.currentSeat;
+  }
+
+  /**
+   * Determines the team whose turn it is.
+   * @return the chip of the current seat
+   */
+  public GameChip getCurrentTeam() {
+    return this.seats[this.currentSeat];
+  }
+
+  /**
+   * Determines the number of seats in the turn order.
+   * @return the seat count
+   */
+  public int numSeats() {
+    return this.seats.length;
+  }
+
+  /**
+   * Determines how many cards a seat is holding.
+   * @param seat the index of the seat
+   * @return the size of that seat's hand
+   */
+  public int handSize(int seat) {
+    return this.handSizes[seat];
+  }
+
+  /**
+   * Accesses a card in a seat's hand.
+   * @param seat the index of the seat
+   * @param index the index of the card in the hand
+   * @return the card at that index
+   */
+  public Card getCardAt(int seat, int index) {
+    if (index < 0 || index >= this.handSizes[seat]) {
+      throw new IllegalArgumentException("Invalid hand index");
+    }
+    return this.hands[seat][index];
+  }
+
+  /**
+   * Accesses the chip at the given location.
+   * @param location the location to check
+   * @return the chip there, GameChip.ALL for free spaces
+   */
+  public GameChip getChip(GamePosition location) {
+    return this.cellChips[this.lines.index(location)];
+  }
+
+  /**
+   * Determines if the given location is locked in any direction.
+   * @param location the location to check
+   * @return if that location is part of a sequence
+   */
+  public boolean isLocked(GamePosition location) {
+    return this.isLocked(this.lines.index(location));
+  }
+
+  /**
+   * Determines if the given card has no open location left on the board.
+   * Jacks are never dead
+   * @param card the card to check
+   * @return whether the card can only be discarded
+   */
+  public boolean isDead(Card card) {
+    if (card.value().equals(CardValue.ONE_EYED_JACK)
+            || card.value().equals(CardValue.TWO_EYED_JACK)) {
+      return false;
+    }
+    for (int cell : this.cardCells[card.id()]) {
+      if (this.cellChips[cell].equals(GameChip.NONE)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Determines the number of a given card that are still in hands or the draw pile.
+   * @param toCheck the card to check for the count of
+   * @return the count
+   */
+  public int numXCardRemaining(Card toCheck) {
+    return this.remaining[toCheck.id()];
+  }
+
+  /**
+   * Determines the number of sequences that the given team has.
+   * @param team the team to check
+   * @return how many sequences the team has
+   */
+  public int numSequences(GameChip team) {
+    return this.sequenceCounts[team.ordinal()];
+  }
+
+  /**
+   * Determines the number of chips currently on the board, not counting free spaces.
+   * @return the chip count
+   */
+  public int numChipsPresent() {
+    return this.numChipsPresent;
+  }
+
+  /**
+   * Determines the number of moves made since this state was created, minus any undone.
+   * @return the move count
+   */
+  public int numMovesMade() {
+    return this.numMovesMade;
+  }
+
+  /**
+   * Records an observation of the sequences currently completed in the game.
+   * @return a map containing lists of all sequences which begin at each point
+   */
+  public Map<GamePosition, List<SequenceType>> getSequences() {
+    Map<GamePosition, List<SequenceType>> toReturn = new HashMap<>();
+    for (int seq = 0; seq < this.numSequences; seq += 1) {
+      int window = this.sequenceWindows[seq];
+      toReturn.computeIfAbsent(this.lines.windowHeader(window), header -> new ArrayList<>())
+              .add(this.lines.windowType(window));
+    }
+    return toReturn;
+  }
+
+  private void markSequences(int cell, GameChip team) {
+    int teamSlot = team.ordinal() * 2;
+    for (SequenceType type : SequenceType.values()) {
+      int typeSlot = type.ordinal() * 2;
+      int window = this.lines.completedWindow(cell, type,
+              this.owned[teamSlot], this.owned[teamSlot + 1],
+              this.locked[typeSlot], this.locked[typeSlot + 1]);
+      if (window == -1) {
+        continue;
+      }
+      this.locked[typeSlot] |= this.lines.windowLow(window);
+      this.locked[typeSlot + 1] |= this.lines.windowHigh(window);
+      this.toggleLockKeys(window);
+      this.pushSequence(window);
+      this.sequenceCounts[team.ordinal()] += 1;
+    }
+  }
+
+  private void toggleLockKeys(int window) {
+    SequenceType type = this.lines.windowType(window);
+    long low = this.lines.windowLow(window);
+    long high = this.lines.windowHigh(window);
+    while (low != 0) {
+      this.hash ^= Zobrist.lock(Long.numberOfTrailingZeros(low), type);
+      low &= low - 1;
+    }
+    while (high != 0) {
+      this.hash ^= Zobrist.lock(64 + Long.numberOfTrailingZeros(high), type);
+      high &= high - 1;
+    }
+  }
+
+  private boolean draw() {
+    if (this.deckCursor == this.deck.length) {
+      return false;
+    }
+    this.hands[this.currentSeat][this.handSizes[this.currentSeat]] = this.deck[this.deckCursor];
+    this.handSizes[this.currentSeat] += 1;
+    this.deckCursor += 1;
+    return true;
+  }
+
+  private void removeFromHand(int index) {
+    Card[] hand = this.hands[this.currentSeat];
+    int size = this.handSizes[this.currentSeat];
+    System.arraycopy(hand, index + 1, hand, index, size - index - 1);
+    hand[size - 1] = null;
+    this.handSizes[this.currentSeat] = size - 1;
+  }
+
+  private void insertIntoHand(int index, Card card) {
+    Card[] hand = this.hands[this.currentSeat];
+    int size = this.handSizes[this.currentSeat];
+    System.arraycopy(hand, index, hand, index + 1, size - index);
+    hand[index] = card;
+    this.handSizes[this.currentSeat] = size + 1;
+  }
+
+  private void pushUndo(int kind, int cell, int handIndex, Card card, GameChip chip,
+                        int sequencesAdded) {
+    if (this.depth == this.undoKind.length) {
+      int grown = this.depth * 2;
+      this.undoKind = Arrays.copyOf(this.undoKind, grown);
+      this.undoCell = Arrays.copyOf(this.undoCell, grown);
+      this.undoHandIndex = Arrays.copyOf(this.undoHandIndex, grown);
+      this.undoCard = Arrays.copyOf(this.undoCard, grown);
+      this.undoChip = Arrays.copyOf(this.undoChip, grown);
+      this.undoDrew = Arrays.copyOf(this.undoDrew, grown);
+      this.undoSequences = Arrays.copyOf(this.undoSequences, grown);
+    }
+    this.undoKind[this.depth] = kind;
+    this.undoCell[this.depth] = cell;
+    this.undoHandIndex[this.depth] = handIndex;
+    this.undoCard[this.depth] = card;
+    this.undoChip[this.depth] = chip;
+    this.undoSequences[this.depth] = sequencesAdded;
+    this.depth += 1;
+  }
+
+  private void pushSequence(int window) {
+    if (this.numSequences == this.sequenceWindows.length) {
+      this.sequenceWindows = Arrays.copyOf(this.sequenceWindows, this.numSequences * 2);
+    }
+    this.sequenceWindows[this.numSequences] = window;
+    this.numSequences += 1;
+  }
+
+  private int windowFor(GamePosition header, SequenceType type) {
+    for (int window : this.lines.windowsAt(this.lines.index(header))) {
+      if (this.lines.windowType(window) == type && this.lines.windowHeader(window).equals(header)) {
+        return window;
+      }
+    }
+    throw new IllegalArgumentException("No sequence fits at " + header + " " + type);
+  }
+
+  private GameChip ownerOf(int window) {
+    for (int cell = 0; cell < this.lines.numCells(); cell += 1) {
+      boolean inWindow = cell < 64 ? (this.lines.windowLow(window) & (1L << cell)) != 0
+              : (this.lines.windowHigh(window) & (1L << cell)) != 0;
+      if (inWindow && !this.cellChips[cell].equals(GameChip.ALL)) {
+        return this.cellChips[cell];
+      }
+    }
+    return GameChip.ALL;
+  }
+
+  private boolean isLocked(int cell) {
+    for (int type = 0; type < SequenceType.values().length; type += 1) {
+      if ((this.locked[type * 2 + (cell >>> 6)] & (1L << cell)) != 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void setBit(long[] masks, int slot, int cell) {
+    masks[slot * 2 + (cell >>> 6)] |= 1L << cell;
+  }
+
+  private void clearBit(long[] masks, int slot, int cell) {
+    masks[slot * 2 + (cell >>> 6)] &= ~(1L << cell);
+  }
+
+  private boolean heldEarlier(Card[] hand, int which) {
+    for (int prev = 0; prev < which; prev += 1) {
+      if (hand[prev].sameCard(hand[which])) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static int[][] cardCells(Card[] cellCards) {
+    int[] sizes = new int[Card.NUM_IDS];
+    for (Card card : cellCards) {
+      if (card != null) {
+        sizes[card.id()] += 1;
+      }
+    }
+    int[][] toReturn = new int[sizes.length][];
+    for (int slot = 0; slot < sizes.length; slot += 1) {
+      toReturn[slot] = new int[sizes[slot]];
+      sizes[slot] = 0;
+    }
+    for (int cell = 0; cell < cellCards.length; cell += 1) {
+      if (cellCards[cell] != null) {
+        int slot = cellCards[cell].id();
+        toReturn[slot][sizes[slot]] = cell;
+        sizes[slot] += 1;
+      }
+    }
+    return toReturn;
+  }
+}
@@ -1,8 +1,13 @@
 package game.model;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -10,9 +15,13 @@ import java.util.Random;
 
 import game.board.BasicCard;
 import game.board.Card;
+import game.board.Cell;
 import game.board.GameBoard;
 import game.board.GameHand;
 import game.board.GamePosition;
+import game.board.ReadOnlyBoard;
+import game.board.ReadOnlyHand;
+import game.board.SequenceLines;
 import game.board.SequenceHand;
 import game.controller.GameMove;
 import game.controller.SequenceController;
@@ -20,45 +29,84 @@ import game.enums.CardSuit;
 import game.enums.CardValue;
 import game.enums.GameChip;
 import game.enums.SequenceType;
+import game.event.GameEvent;
+import game.event.GameEventListener;
+import game.record.GameRecordBuilder;
+import game.record.GameRecordWriter;
 import game.scorekeeper.ScoreKeeper;
 import game.view.GameView;
 
 public class SequenceModel implements PlayableSequenceModel {
 
-  private List<Card> deck;
+  private static final CardSuit[] SUITS = CardSuit.values();
+
+  // Card ids in draw order, where the cards from deckCursor up to deckSize are left to draw
+  private int[] deck;
+  private int deckCursor;
+  private int deckSize;
   private GameBoard board;
   private SequenceController currentPlayer;
   private Map<SequenceController, SequenceController> turnOrder;
   private Map<SequenceController, GameHand> hands;
   private Map<GameChip, Integer> sequenceCounts;
-  private Map<Card, Integer> remainingCards;
+  // Copies of each card not yet played, by card id
+  private int[] remainingCards;
   private Random shuffler;
   private final Map<GamePosition, List<SequenceType>> sequences = new HashMap<>();
   private final List<GameView> views = new ArrayList<>();
+  private final List<GameEventListener> listeners = new ArrayList<>();
   private Map<GameChip, List<GamePosition>> chips;
   private int numChipsPresent;
   private int numMovesMade;
   private ScoreKeeper tracker;
+  private GameChip firstPlayer;
+  private boolean seeded = false;
+  private long seed;
+  private GameRecordWriter recordWriter;
+  private GameRecordBuilder record;
+  private boolean driven = false;
+  private SequenceLines lines;
+  // Cells that count toward a sequence for each chip (two longs per GameChip, by ordinal)
+  private long[] owned;
+  // Cells locked in each direction (two longs per SequenceType, by ordinal)
+  private long[] locked;
+  private ThreatIndex threats;
+  private GameBoard boardView;
+  private Map<SequenceController, GameHand> handViews;
+  private Map<GameChip, List<GamePosition>> chipsView;
 
   public void addView(GameView toAdd) {
     this.views.add(Objects.requireNonNull(toAdd));
   }
 
+  @Override
+  public void addListener(GameEventListener listener) {
+    this.listeners.add(Objects.requireNonNull(listener));
+  }
+
+  private void publish(GameEvent event) {
+    for (GameEventListener listener : this.listeners) {
+      listener.onEvent(event);
+    }
+  }
+
   @Override
   public void deadCard(int cardIdx) {
     GameHand playerHand = this.hands.get(this.currentPlayer);
-    for (GamePosition loc : this.board.cardLocations()
-            .get(playerHand.getCardAt(cardIdx))) {
-      if (!this.board.getCell(loc).hasChip()) {
+    for (GamePosition loc : this.board.cardLocations(playerHand.cardIdAt(cardIdx))) {
+      if (this.board.getChip(loc).equals(GameChip.NONE)) {
         throw new IllegalStateException("Card is not dead: " + playerHand.getCardAt(cardIdx)
         + " on turn " + this.currentPlayer.getTeam());
       }
     }
-    playerHand.removeCardAt(cardIdx);
-    if (deck.isEmpty()) {
-      this.resetDeck();
+    if (this.record != null) {
+      this.record.deadCard(cardIdx);
     }
-    playerHand.addCard(this.deck.remove(0));
+    Card discarded = playerHand.removeCardAt(cardIdx);
+    if (!this.listeners.isEmpty()) {
+      this.publish(new GameEvent.CardDiscarded(this.currentPlayer.getTeam(), discarded));
+    }
+    playerHand.addCard(this.draw(this.currentPlayer.getTeam()));
   }
 
   @Override
@@ -66,6 +114,23 @@ public class SequenceModel implements PlayableSequenceModel {
     this.tracker = sk;
   }
 
+  @Override
+  public void addRecordWriter(GameRecordWriter writer) {
+    Objects.requireNonNull(writer);
+    if (!this.seeded) {
+      throw new IllegalStateException("Only games dealt from a seed can be recorded");
+    }
+    if (this.numMovesMade > 0) {
+      throw new IllegalStateException("Recording must start before the first move");
+    }
+    this.recordWriter = writer;
+    List<GameChip> teams = new ArrayList<>();
+    for (SequenceController player : this.getTurnOrder()) {
+      teams.add(player.getTeam());
+    }
+    this.record = new GameRecordBuilder(this.seed, this.board, teams);
+  }
+
   @Override
   public void playToCell(GameMove move) {
     GamePosition where = move.location();
@@ -78,17 +143,23 @@ public class SequenceModel implements PlayableSequenceModel {
     }
 
     Card toPlay = playFrom.getCardAt(which);
-    if (this.board.getCell(where).hasChip()) {
+    if (!this.board.getChip(where).equals(GameChip.NONE)) {
       if (toPlay.value().equals(CardValue.ONE_EYED_JACK)) {
-        if (this.board.getCell(where).getChip().equals(this.currentPlayer.getTeam())) {
+        if (this.board.getChip(where).equals(this.currentPlayer.getTeam())) {
           throw new IllegalArgumentException("Cannot remove your own pieces");
         }
-        this.chips.get(this.board.getCell(where).getChip()).remove(where);
+        GameChip removed = this.board.getChip(where);
         this.board.setChip(where, GameChip.NONE);
+        this.setOwned(where, removed, false);
+        this.chips.get(removed).remove(where);
         playFrom.removeCardAt(which);
-        this.remainingCards.put(toPlay, this.remainingCards.get(toPlay) - 1);
+        this.remainingCards[toPlay.id()] -= 1;
         this.numChipsPresent -= 1;
         this.numMovesMade += 1;
+        if (!this.listeners.isEmpty()) {
+          this.publish(new GameEvent.ChipRemoved(this.currentPlayer.getTeam(), where, removed,
+                  toPlay));
+        }
       } else {
         throw new IllegalArgumentException("Cannot play to already filled position "
                 + playFrom.getCardAt(which) + " at "
@@ -103,59 +174,27 @@ public class SequenceModel implements PlayableSequenceModel {
         this.chips.get(this.currentPlayer.getTeam()).add(where);
         this.board.setChip(where, this.currentPlayer.getTeam());
         playFrom.removeCardAt(which);
-        this.remainingCards.put(toPlay, this.remainingCards.get(toPlay) - 1);
+        this.remainingCards[toPlay.id()] -= 1;
         this.numChipsPresent += 1;
         this.numMovesMade += 1;
-
-        List<GamePosition> skips = new ArrayList<>();
-        List<GamePosition> matches = this.matchingNeighbors(where);
-        for (GamePosition match : matches) {
-          if (skips.contains(match)) {
-            continue;
-          }
-          int countUp ;
-          int countDown;
-          if (where.relation(match).goesBackward()) {
-            countUp = extent(where, where.relation(match));
-            countDown = extent(where, match.relation(where));
-          } else {
-            countDown = extent(where, where.relation(match));
-            countUp = extent(where, match.relation(where));
-          }
-          if ((countUp + countDown + 1) >= 5) {
-            // Ensure that we only walk down the line if we have found the direction in which we
-            // can go backwards
-            if (countUp > 0 && countDown > 0 &&
-                    !match.relation(where).goesBackward()) {
-              continue;
-            }
-            skips.add(where.get(where.relation(match).opposite()));
-            if (countUp > 0) {
-              GamePosition header = where.copy();
-              for (int goneSoFar = 0; goneSoFar < countUp; goneSoFar += 1) {
-                header = header.get(match.relation(where));
-              }
-              updateSequences(where, match, header);
-            } else {
-              updateSequences(where, match, where);
-            }
-            this.sequenceCounts.put(this.currentPlayer.getTeam(),
-                    this.sequenceCounts.get(this.currentPlayer.getTeam()) + 1);
-          }
+        if (!this.listeners.isEmpty()) {
+          this.publish(new GameEvent.ChipPlaced(this.currentPlayer.getTeam(), where, toPlay));
         }
 
+        this.setOwned(where, this.currentPlayer.getTeam(), true);
+        this.markSequences(where, this.currentPlayer.getTeam());
       } else {
         throw new IllegalArgumentException("Invalid move: Cards do not match: "
                 + playFrom.getCardAt(which) + " to " + board.getCell(where).getCard());
       }
     }
-    if (this.deck.isEmpty()) {
-      this.resetDeck();
+    if (this.record != null) {
+      this.record.move(which, toPlay, where, this.board);
     }
-    this.hands.get(this.currentPlayer).addCard(this.deck.remove(0));
+    this.hands.get(this.currentPlayer).addCard(this.draw(this.currentPlayer.getTeam()));
 
 
-    //Dev mode line. Comment out the deck.remove(0) above to deal out only 2EJ after game start
+    //Dev mode line. Comment out the draw above to deal out only 2EJ after game start
     /*this.hands.get(this.currentPlayer)
       .addCard(new BasicCard(CardValue.TWO_EYED_JACK, CardSuit.CLUBS));
     */
@@ -166,50 +205,90 @@ public class SequenceModel implements PlayableSequenceModel {
 
     if (!this.isGameOver()) {
       this.currentPlayer = this.turnOrder.get(this.currentPlayer);
-      this.currentPlayer.beginTurn(this);
+      if (!this.driven) {
+        this.currentPlayer.beginTurn(this);
+      }
     } else {
       GameChip winner = this.getWinner();
       for (SequenceController player : this.turnOrder.keySet()) {
         player.receiveGameOver(winner);
       }
       if (!Objects.isNull(this.tracker)){
-        this.tracker.increment(winner);
-        this.tracker.receiveNumMoves(this.numMovesMade);
+        this.tracker.recordGame(winner, this.firstPlayer, this.numMovesMade);
+      }
+      if (!this.listeners.isEmpty()) {
+        this.publish(new GameEvent.GameOver(winner, this.numMovesMade));
+      }
+      if (this.record != null) {
+        try {
+          this.recordWriter.write(this.record.build(winner, this.numMovesMade));
+        } catch (IOException e) {
+          throw new UncheckedIOException("Could not record the game", e);
+        }
+        this.record = null;
+      }
+    }
+  }
+
+  private void markSequences(GamePosition where, GameChip team) {
+    int cell = this.lines.index(where);
+    int teamSlot = team.ordinal() * 2;
+    for (SequenceType type : SequenceType.values()) {
+      int typeSlot = type.ordinal() * 2;
+      int window = this.lines.completedWindow(cell, type,
+              this.owned[teamSlot], this.owned[teamSlot + 1],
+              this.locked[typeSlot], this.locked[typeSlot + 1]);
+      if (window == -1) {
+        continue;
+      }
+      this.updateSequences(this.lines.windowHeader(window), type);
+      this.lockSequence(window);
+      this.sequenceCounts.put(team, this.sequenceCounts.get(team) + 1);
+      if (!this.listeners.isEmpty()) {
+        this.publish(new GameEvent.SequenceCompleted(team, this.lines.windowHeader(window),
+                type));
       }
     }
   }
 
-  private void updateSequences(GamePosition where, GamePosition match, GamePosition header) {
+  private void updateSequences(GamePosition header, SequenceType type) {
     if (this.sequences.containsKey(header)) {
-      this.sequences.get(header)
-              .add(SequenceType.fromDirection(where.relation(match)));
+      this.sequences.get(header).add(type);
     } else {
       ArrayList<SequenceType> toAdd = new ArrayList<>();
-      toAdd.add(SequenceType.fromDirection(where.relation(match)));
+      toAdd.add(type);
       this.sequences.put(header, toAdd);
-      this.lockSequence(header, this.sequences.get(header));
     }
   }
 
-  private void lockSequence(GamePosition where, List<SequenceType> sequenceTypes) {
-    GamePosition start = where.copy();
-    for (int loc = 0; loc < 5; loc += 1) {
-      this.board.lock(start, sequenceTypes.get(sequenceTypes.size() - 1));
-      start = SequenceType.toDirection(start, sequenceTypes.get(sequenceTypes.size() - 1));
+  private void lockSequence(int window) {
+    SequenceType type = this.lines.windowType(window);
+    GamePosition start = this.lines.windowHeader(window);
+    for (int loc = 0; loc < SequenceLines.LENGTH; loc += 1) {
+      this.board.lock(start, type);
+      start = SequenceType.toDirection(start, type);
     }
+    this.locked[type.ordinal() * 2] |= this.lines.windowLow(window);
+    this.locked[type.ordinal() * 2 + 1] |= this.lines.windowHigh(window);
   }
 
-  private int cardsPerPlayer(int numPlayers, int numColors) {
-    if (numColors == 2) {
-      return 8 - numPlayers / 2;
+  private void setOwned(GamePosition where, GameChip team, boolean owns) {
+    int cell = this.lines.index(where);
+    int slot = team.ordinal() * 2 + (cell >>> 6);
+    if (owns) {
+      this.owned[slot] |= 1L << cell;
     } else {
-      return 7 - numPlayers / 3;
+      this.owned[slot] &= ~(1L << cell);
     }
+    this.threats.update(team, cell, owns);
   }
 
   @Override
   public void initializeGame(GameBoard gameBoard, List<SequenceController> players, Random shuffler) {
     this.numMovesMade = 0;
+    this.seeded = false;
+    this.record = null;
+    this.driven = false;
     this.board = Objects.requireNonNull(gameBoard);
     this.shuffler = shuffler;
     Objects.requireNonNull(players);
@@ -220,10 +299,11 @@ public class SequenceModel implements PlayableSequenceModel {
 
     Objects.requireNonNull(players.get(0));
     this.currentPlayer = players.get(0);
+    this.firstPlayer = this.currentPlayer.getTeam();
     SequenceController prev = this.currentPlayer;
-    this.hands = new HashMap<>();
-    this.turnOrder = new HashMap<>();
-    this.sequenceCounts = new HashMap<>();
+    this.hands = new LinkedHashMap<>();
+    this.turnOrder = new LinkedHashMap<>();
+    this.sequenceCounts = new EnumMap<>(GameChip.class);
     for (SequenceController curr : players) {
       Objects.requireNonNull(curr);
       this.turnOrder.put(prev, curr);
@@ -232,11 +312,15 @@ public class SequenceModel implements PlayableSequenceModel {
       this.sequenceCounts.put(curr.getTeam(), 0);
     }
     this.turnOrder.put(prev, this.currentPlayer);
-    this.remainingCards = new HashMap<>();
-    this.deck = this.standardDeck();
-    Collections.shuffle(this.deck, shuffler);
-
-    this.chips = new HashMap<>();
+    this.remainingCards = new int[Card.NUM_IDS];
+    this.deck = new int[Deal.DECK_SIZE];
+    Deal.standardIds(this.deck);
+    Arrays.fill(this.remainingCards, 2);
+    Deal.shuffle(this.deck, Deal.DECK_SIZE, shuffler);
+    this.deckCursor = 0;
+    this.deckSize = Deal.DECK_SIZE;
+
+    this.chips = new EnumMap<>(GameChip.class);
     this.chips.put(GameChip.RED, new ArrayList<>());
     this.chips.put(GameChip.BLUE, new ArrayList<>());
     this.chips.put(GameChip.GREEN, new ArrayList<>());
@@ -248,70 +332,127 @@ public class SequenceModel implements PlayableSequenceModel {
     }
 
     this.numChipsPresent = 0;
+    this.initializeMasks();
+    this.initializeViews();
 
-    int cardsPer = this.cardsPerPlayer(players.size(), numColors);
-    for (GameHand currHand : this.hands.values()) {
+    int cardsPer = Deal.cardsPerPlayer(players.size(), numColors);
+    for (Map.Entry<SequenceController, GameHand> currHand : this.hands.entrySet()) {
       for (int times = 0; times < cardsPer; times += 1) {
-        currHand.addCard(this.deck.remove(0));
+        currHand.getValue().addCard(this.draw(currHand.getKey().getTeam()));
       }
     }
 
 
   }
 
+  private void initializeMasks() {
+    Cell[][] layout = this.board.getBoard();
+    this.lines = SequenceLines.forSize(layout.length, layout[0].length);
+    this.owned = new long[GameChip.values().length * 2];
+    this.locked = new long[SequenceType.values().length * 2];
+    for (int col = 0; col < layout.length; col += 1) {
+      for (int row = 0; row < layout[0].length; row += 1) {
+        GamePosition pos = GamePosition.of(col, row);
+        int cell = this.lines.index(pos);
+        GameChip chip = layout[col][row].getChip();
+        if (chip.equals(GameChip.ALL)) {
+          for (GameChip team : GameChip.values()) {
+            this.owned[team.ordinal() * 2 + (cell >>> 6)] |= 1L << cell;
+          }
+        } else if (!chip.equals(GameChip.NONE)) {
+          this.owned[chip.ordinal() * 2 + (cell >>> 6)] |= 1L << cell;
+        }
+        for (SequenceType type : SequenceType.values()) {
+          if (this.board.isLocked(pos, type)) {
+            this.locked[type.ordinal() * 2 + (cell >>> 6)] |= 1L << cell;
+          }
+        }
+      }
+    }
+    this.threats = new ThreatIndex(this.lines, this.owned);
+  }
+
+  private void initializeViews() {
+    this.boardView = new ReadOnlyBoard(this.board);
+    this.handViews = new LinkedHashMap<>();
+    for (SequenceController player : this.hands.keySet()) {
+      this.handViews.put(player, new ReadOnlyHand(this.hands.get(player)));
+    }
+    Map<GameChip, List<GamePosition>> lists = new EnumMap<>(GameChip.class);
+    for (GameChip chip : this.chips.keySet()) {
+      lists.put(chip, Collections.unmodifiableList(this.chips.get(chip)));
+    }
+    this.chipsView = Collections.unmodifiableMap(lists);
+  }
+
+  @Override
+  public void initializeGame(GameBoard gameBoard, List<SequenceController> players, long seed) {
+    this.initializeGame(gameBoard, players, new Random(seed));
+    this.seeded = true;
+    this.seed = seed;
+  }
+
   @Override
   public void beginPlaying() {
     this.currentPlayer.beginTurn(this);
   }
 
+  @Override
+  public void step() {
+    if (this.isGameOver()) {
+      throw new IllegalStateException("Game is already over");
+    }
+    this.driven = true;
+    int movesBefore = this.numMovesMade;
+    this.currentPlayer.beginTurn(this);
+    if (this.numMovesMade == movesBefore) {
+      throw new IllegalStateException("No move was played on turn "
+              + this.currentPlayer.getTeam());
+    }
+  }
+
+  @Override
+  public void runToCompletion() {
+    while (!this.isGameOver()) {
+      this.step();
+    }
+  }
+
   @Override
   public void resetDeck() {
-    List<Card> newDeck = this.standardDeck();
+    int[] counts = new int[Card.NUM_IDS];
+    Arrays.fill(counts, 2);
     for (GameHand currHand : this.hands.values()) {
       for (int card = 0; card < currHand.size(); card += 1) {
-        newDeck.remove(currHand.getCardAt(card));
+        counts[currHand.cardIdAt(card)] -= 1;
       }
     }
-    Collections.shuffle(this.deck, this.shuffler);
-    this.deck = newDeck;
-  }
-
-  private List<GamePosition> matchingNeighbors(GamePosition start) {
-    ArrayList<GamePosition> toReturn = new ArrayList<>();
-    GameChip team = this.board.getCell(start).getChip();
-    for (GamePosition neighbor : start.neighbors()) {
-      if (!this.board.isValidLocation(neighbor)
-              || this.board.isLocked(neighbor, SequenceType.fromDirection(start.relation(neighbor)))) {
-        continue;
-      }
-      GameChip neighborChip = this.board.getCell(neighbor).getChip();
-      if (neighborChip.equals(team) || neighborChip.equals(GameChip.ALL)) {
-        toReturn.add(neighbor);
+    int size = 0;
+    for (int id = 0; id < Card.NUM_IDS; id += 1) {
+      for (int copy = 0; copy < counts[id]; copy += 1) {
+        this.deck[size] = id;
+        size += 1;
       }
     }
-    return toReturn;
+    Arrays.fill(this.remainingCards, 2);
+    Deal.shuffle(this.deck, size, this.shuffler);
+    this.deckCursor = 0;
+    this.deckSize = size;
+    if (!this.listeners.isEmpty()) {
+      this.publish(new GameEvent.DeckReshuffled(size));
+    }
   }
 
-  private int extent(GamePosition start, GamePosition direction) {
-    int count = 0;
-    GamePosition current = start.get(direction);
-    GameChip team = this.board.getCell(start).getChip();
-    if (!this.board.isValidLocation(current)) {
-      return 0;
-    }
-    GameChip next = this.board.getCell(current).getChip();
-    while (this.board.isValidLocation(current)
-            && !this.board.isLocked(current, SequenceType.fromDirection(new GamePosition(0,0)
-            .relation(direction)))
-            && (next.equals(team)
-            || next.equals(GameChip.ALL))) {
-      count += 1;
-      current = current.get(direction);
-      if (this.board.isValidLocation(current)) {
-        next = this.board.getCell(current).getChip();
-      }
+  private Card draw(GameChip team) {
+    if (this.deckCursor == this.deckSize) {
+      this.resetDeck();
     }
-    return count;
+    Card toReturn = BasicCard.fromId(this.deck[this.deckCursor]);
+    this.deckCursor += 1;
+    if (!this.listeners.isEmpty()) {
+      this.publish(new GameEvent.CardDrawn(team, toReturn));
+    }
+    return toReturn;
   }
 
   @Override
@@ -319,25 +460,38 @@ public class SequenceModel implements PlayableSequenceModel {
     return this.currentPlayer;
   }
 
+  @Override
+  public List<SequenceController> getTurnOrder() {
+    List<SequenceController> toReturn = new ArrayList<>();
+    SequenceController curr = this.currentPlayer;
+    do {
+      toReturn.add(curr);
+      curr = this.turnOrder.get(curr);
+    } while (curr != this.currentPlayer);
+    return toReturn;
+  }
+
   @Override
   public int numOneEyedJacksRemaining() {
-    return this.remainingCards.get(new BasicCard(CardValue.ONE_EYED_JACK, CardSuit.DIAMONDS))
-            + this.remainingCards.get(new BasicCard(CardValue.ONE_EYED_JACK, CardSuit.SPADES))
-            + this.remainingCards.get(new BasicCard(CardValue.ONE_EYED_JACK, CardSuit.HEARTS))
-            + this.remainingCards.get(new BasicCard(CardValue.ONE_EYED_JACK, CardSuit.CLUBS));
+    return this.numValueRemaining(CardValue.ONE_EYED_JACK);
   }
 
   @Override
   public int numTwoEyedJacksRemaining() {
-    return this.remainingCards.get(new BasicCard(CardValue.TWO_EYED_JACK, CardSuit.DIAMONDS))
-            + this.remainingCards.get(new BasicCard(CardValue.TWO_EYED_JACK, CardSuit.SPADES))
-            + this.remainingCards.get(new BasicCard(CardValue.TWO_EYED_JACK, CardSuit.HEARTS))
-            + this.remainingCards.get(new BasicCard(CardValue.TWO_EYED_JACK, CardSuit.CLUBS));
+    return this.numValueRemaining(CardValue.TWO_EYED_JACK);
+  }
+
+  private int numValueRemaining(CardValue value) {
+    int count = 0;
+    for (CardSuit suit : SUITS) {
+      count += this.remainingCards[Card.idOf(value, suit)];
+    }
+    return count;
   }
 
   @Override
   public int numXCardRemaining(Card toCheck) {
-    return this.remainingCards.get(toCheck);
+    return this.remainingCards[toCheck.id()];
   }
 
   @Override
@@ -376,9 +530,24 @@ public class SequenceModel implements PlayableSequenceModel {
     return this.hands.get(controller).copy();
   }
 
+  @Override
+  public GameBoard viewBoard() {
+    return this.boardView;
+  }
+
+  @Override
+  public GameHand viewHand(SequenceController controller) {
+    return this.handViews.get(controller);
+  }
+
   @Override
   public Map<GamePosition, List<SequenceType>> getSequences() {
-    return new HashMap<>(this.sequences);
+    // The lists are copied too, as later sequences are added to them in place
+    Map<GamePosition, List<SequenceType>> toReturn = new HashMap<>();
+    for (Map.Entry<GamePosition, List<SequenceType>> entry : this.sequences.entrySet()) {
+      toReturn.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+    }
+    return toReturn;
   }
 
   @Override
@@ -388,7 +557,7 @@ public class SequenceModel implements PlayableSequenceModel {
 
   @Override
   public Map<GameChip, List<GamePosition>> getChips() {
-    Map<GameChip, List<GamePosition>> toReturn = new HashMap<>();
+    Map<GameChip, List<GamePosition>> toReturn = new EnumMap<>(GameChip.class);
     for (GameChip chip : this.chips.keySet()) {
       toReturn.put(chip, new ArrayList<>(this.chips.get(chip)));
     }
@@ -396,82 +565,90 @@ public class SequenceModel implements PlayableSequenceModel {
   }
 
   @Override
-  public List<List<GamePosition>> findOpeningForSequence(GameChip team) {
-    // For now I'm gonna have it search all played pieces anyways and maybe later ill add the
-    // speedup because for now it would require a bit more work and I'd rather make it run
-    List<List<GamePosition>> toReturn = new ArrayList<>();
-
-//    if (this.numChipsPresent <= this.board.numPlayableSpaces() / 2) {
-      List<GamePosition> allied = this.chips.get(team);
-      for (GamePosition ally : allied) {
-        List<GamePosition> neighbors = ally.neighbors();
-        for (GamePosition neighbor : neighbors) {
-          if (!this.board.isValidLocation(neighbor)) {
-            continue;
-          }
-          int numEmpty = 0;
-          GamePosition dir = neighbor.relation(ally);
-          GamePosition opening = new GamePosition(-1,-1);
-          if (!this.board.getCell(neighbor).getChip().equals(team)) {
-            numEmpty = 1;
-            opening = neighbor.copy();
-          }
-          GamePosition curr = neighbor.copy();
-          boolean enoughSpace = true;
-          for (int dist = 1; dist < 4; dist += 1) {
-            curr = curr.get(dir);
-            if (!this.board.isValidLocation(curr)) {
-              enoughSpace = false;
-              break;
-            }
-            GameChip atPos = this.board.getCell(curr).getChip();
-            if (atPos.equals(GameChip.NONE) ||
-                    (!atPos.equals(GameChip.ALL) && !atPos.equals(team))) {
-              opening = curr.copy();
-              numEmpty += 1;
-            }
-            if (numEmpty > 1) {
-              break;
-            }
-          }
+  public Map<GameChip, List<GamePosition>> viewChips() {
+    return this.chipsView;
+  }
 
-          if (enoughSpace && numEmpty == 1) {
-            boolean skipThis = false;
-            for (List<GamePosition> pair : toReturn) {
-              if (pair.get(1).equals(opening)) {
-                skipThis = true;
-              }
-            }
-            if (skipThis) {
-              continue;
-            }
-            List<GamePosition> pair = new ArrayList<>();
-            pair.add(ally);
-            pair.add(opening);
-            toReturn.add(pair);
-          }
+  @Override
+  public List<List<GamePosition>> findOpeningForSequence(GameChip team) {
+    // Openings are reported as a scan from every allied chip would find them: a window one chip
+    // short with an allied chip at one end, paired with that chip, in the order the chips were
+    // played and then clockwise from the upper left, keeping the first pair for each opening. A
+    // free space next to the allied chip counts as missing, so such a window is left out.
+    int first = this.threats.nextThreat(team, 0);
+    if (first == -1) {
+      return new ArrayList<>();
+    }
+    List<GamePosition> allied = this.chips.get(team);
+    int teamSlot = team.ordinal() * 2;
+    long[] found = new long[8];
+    int numFound = 0;
+    for (int window = first; window != -1;
+         window = this.threats.nextThreat(team, window + 1)) {
+      long openLo = this.lines.windowLow(window) & ~this.owned[teamSlot];
+      long openHi = this.lines.windowHigh(window) & ~this.owned[teamSlot + 1];
+      int opening = lowestCell(openLo, openHi);
+      GamePosition header = this.lines.windowHeader(window);
+      GamePosition step = this.lines.windowType(window).naturalDirection();
+      for (int end = 0; end < SequenceLines.LENGTH; end += SequenceLines.LENGTH - 1) {
+        int inward = end == 0 ? 1 : -1;
+        GamePosition ally = GamePosition.of(header.x() + step.x() * end,
+                header.y() + step.y() * end);
+        GamePosition next = GamePosition.of(ally.x() + step.x() * inward,
+                ally.y() + step.y() * inward);
+        if (!this.board.getChip(ally).equals(team)
+                || this.board.getChip(next).equals(GameChip.ALL)) {
+          continue;
+        }
+        if (numFound == found.length) {
+          found = Arrays.copyOf(found, numFound * 2);
         }
+        long order = (long) allied.indexOf(ally) * 8 + ally.neighbors().indexOf(next);
+        found[numFound] = order << 8 | opening;
+        numFound += 1;
       }
-//    } else {
-//      throw new IllegalArgumentException("bru");
-//    }
+    }
+    Arrays.sort(found, 0, numFound);
+
+    List<List<GamePosition>> toReturn = new ArrayList<>();
+    long seenLo = 0;
+    long seenHi = 0;
+    for (int which = 0; which < numFound; which += 1) {
+      int opening = (int) (found[which] & 0xFF);
+      if (opening < 64 ? (seenLo & 1L << opening) != 0 : (seenHi & 1L << opening) != 0) {
+        continue;
+      }
+      if (opening < 64) {
+        seenLo |= 1L << opening;
+      } else {
+        seenHi |= 1L << opening;
+      }
+      List<GamePosition> pair = new ArrayList<>();
+      pair.add(allied.get((int) (found[which] >>> 8) / 8));
+      pair.add(this.lines.position(opening));
+      toReturn.add(pair);
+    }
     return toReturn;
   }
 
+  private static int lowestCell(long lo, long hi) {
+    return lo != 0 ? Long.numberOfTrailingZeros(lo) : 64 + Long.numberOfTrailingZeros(hi);
+  }
+
   private Map<SequenceType, List<GamePosition>> getAllSequencedSpots(GameChip team) {
     Map<SequenceType, List <GamePosition>> toReturn = new HashMap<>();
     for (SequenceType type : SequenceType.values()) {
       toReturn.put(type, new ArrayList<>());
     }
     for (GamePosition header : this.sequences.keySet()) {
-      GameChip atHeader = this.board.getCell(header).getChip();
+      GameChip atHeader = this.board.getChip(header);
       if (!atHeader.equals(team) && !atHeader.equals(GameChip.ALL)) {
         continue;
       }
       for (SequenceType type : this.sequences.get(header)) {
         GamePosition dir = type.naturalDirection();
         if (atHeader.equals(GameChip.ALL)
-                && !this.board.getCell(header.get(dir)).getChip().equals(team)) {
+                && !this.board.getChip(header.get(dir)).equals(team)) {
           continue;
         }
         toReturn.get(type).add(header);
@@ -482,16 +659,4 @@ public class SequenceModel implements PlayableSequenceModel {
     }
     return toReturn;
   }
-
-  private List<Card> standardDeck() {
-    ArrayList<Card> deck = new ArrayList<>();
-    for (CardValue val : CardValue.values()) {
-      for (CardSuit suit : CardSuit.values()) {
-        deck.add(new BasicCard(val, suit));
-        deck.add(new BasicCard(val, suit));
-        this.remainingCards.put(new BasicCard(val, suit), 2);
-      }
-    }
-    return deck;
-  }
 }
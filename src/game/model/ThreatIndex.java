@@ -0,0 +1,70 @@
+package game.model;
+
+import java.util.BitSet;
+
+import game.board.SequenceLines;
+import game.enums.GameChip;
+
+/**
+ * Tracks, for every chip, how many cells of each five cell window count toward that chip, and
+ * which windows are one chip away from a sequence. Counts are updated one cell at a time as chips
+ * are placed and removed, so the threatening windows never need to be found by rescanning.
+ */
+class ThreatIndex {
+
+  private final SequenceLines lines;
+  // [chip ordinal][window] -> number of cells in the window that count for that chip
+  private final int[][] counts;
+  // [chip ordinal] -> windows holding exactly LENGTH - 1 counted cells
+  private final BitSet[] threats;
+
+  /**
+   * Builds the index from the current ownership masks of every chip.
+   * @param lines the window table for the board
+   * @param owned two longs per GameChip (by ordinal) of the cells counting for that chip
+   */
+  ThreatIndex(SequenceLines lines, long[] owned) {
+    this.lines = lines;
+    this.counts = new int[GameChip.values().length][lines.numWindows()];
+    this.threats = new BitSet[GameChip.values().length];
+    for (int chip = 0; chip < GameChip.values().length; chip += 1) {
+      this.threats[chip] = new BitSet(lines.numWindows());
+      for (int window = 0; window < lines.numWindows(); window += 1) {
+        this.counts[chip][window] = Long.bitCount(lines.windowLow(window) & owned[chip * 2])
+                + Long.bitCount(lines.windowHigh(window) & owned[chip * 2 + 1]);
+        if (this.counts[chip][window] == SequenceLines.LENGTH - 1) {
+          this.threats[chip].set(window);
+        }
+      }
+    }
+  }
+
+  /**
+   * Records that the given cell now counts, or no longer counts, for the given chip.
+   * @param chip the chip whose ownership changed
+   * @param cell the cell index that changed
+   * @param owns whether the chip now owns the cell
+   */
+  void update(GameChip chip, int cell, boolean owns) {
+    int[] chipCounts = this.counts[chip.ordinal()];
+    BitSet chipThreats = this.threats[chip.ordinal()];
+    for (int window : this.lines.windowsAt(cell)) {
+      chipCounts[window] += owns ? 1 : -1;
+      if (chipCounts[window] == SequenceLines.LENGTH - 1) {
+        chipThreats.set(window);
+      } else {
+        chipThreats.clear(window);
+      }
+    }
+  }
+
+  /**
+   * Finds the next window at or after the given id that is one chip away from a sequence.
+   * @param chip the chip to check
+   * @param from the first window id to consider
+   * @return the window id, or -1 if there are no more
+   */
+  int nextThreat(GameChip chip, int from) {
+    return this.threats[chip.ordinal()].nextSetBit(from);
+  }
+}
@@ -0,0 +1,102 @@
+package game.model;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size table from position hashes to search results, for search strategies to remember
+ * positions reached by different move orders. All entries live in one long array allocated up
+ * front, so the table never grows: each hash maps to a bucket of two entries, the first kept for
+ * the deepest search that reached it and the second always overwritten.
+ * Each entry is three longs: the hash XOR the data XOR the depth, the data, and the depth. A
+ * lookup only succeeds when the three agree, so threads may share a table without locking; an
+ * entry torn by two threads writing at once reads as missing rather than as wrong data.
+ */
+public class TranspositionTable {
+
+  private static final int ENTRY = 3;
+  private static final int BUCKET = 2 * ENTRY;
+
+  private final long[] entries;
+  private final int mask;
+
+  /**
+   * Creates an empty table with room for at least the given number of entries. The count is
+   * rounded up to a power of two, and the table takes 24 bytes per entry.
+   * @param capacity the minimum number of entries
+   * @throws IllegalArgumentException if the capacity is not positive or too large
+   */
+  public TranspositionTable(int capacity) {
+    if (capacity < 2 || capacity > (1 << 26)) {
+      throw new IllegalArgumentException("Capacity must be between 2 and 2^26: " + capacity);
+    }
+    int buckets = Integer.highestOneBit(capacity - 1);
+    this.entries = new long[buckets * BUCKET];
+    this.mask = buckets - 1;
+  }
+
+  /**
+   * Looks up the data stored for a hash.
+   * @param hash the hash of the position
+   * @param missing the value to return when the hash is not in the table
+   * @return the stored data, or missing
+   */
+  public long get(long hash, long missing) {
+    int base = this.bucket(hash);
+    for (int slot = base; slot < base + BUCKET; slot += ENTRY) {
+      long check = this.entries[slot];
+      long data = this.entries[slot + 1];
+      long depth = this.entries[slot + 2];
+      if ((check ^ data ^ depth) == hash && (check | data | depth) != 0) {
+        return data;
+      }
+    }
+    return missing;
+  }
+
+  /**
+   * Stores data for a hash. An entry already holding the hash is updated in place; otherwise the
+   * first entry of the bucket is replaced if this search went at least as deep, and the second
+   * entry is replaced if not.
+   * @param hash the hash of the position
+   * @param data the data to store
+   * @param depth how deep the search behind the data went, higher being more valuable
+   * @throws IllegalArgumentException if the depth is negative
+   */
+  public void put(long hash, long data, int depth) {
+    if (depth < 0) {
+      throw new IllegalArgumentException("Depth cannot be negative: " + depth);
+    }
+    int base = this.bucket(hash);
+    int slot = -1;
+    for (int check = base; check < base + BUCKET && slot == -1; check += ENTRY) {
+      if ((this.entries[check] ^ this.entries[check + 1] ^ this.entries[check + 2]) == hash) {
+        slot = check;
+      }
+    }
+    if (slot == -1) {
+      slot = this.entries[base + 2] <= depth ? base : base + ENTRY;
+    }
+    this.entries[slot + 1] = data;
+    this.entries[slot + 2] = depth;
+    this.entries[slot] = hash ^ data ^ depth;
+  }
+
+  /**
+   * Removes every entry.
+   */
+  public void clear() {
+    Arrays.fill(this.entries, 0);
+  }
+
+  /**
+   * Determines how many entries the table holds when full.
+   * @return the number of entries
+   */
+  public int capacity() {
+    return this.entries.length / ENTRY;
+  }
+
+  private int bucket(long hash) {
+    return (int) ((hash ^ (hash >>> 32)) & this.mask) * BUCKET;
+  }
+}
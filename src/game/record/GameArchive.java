@@ -0,0 +1,262 @@
+package game.record;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A read only view of an archive file written by GameRecordWriter, for scanning many games
+ * quickly. The file is memory mapped and games are read in place through a GameCursor, so no
+ * model or record is built per game unless asked for.
+ * Opening an archive makes one pass over the record lengths to index a checkpoint every
+ * CHECKPOINT_INTERVAL records. Checkpoints are the only places mapped windows start and end, so
+ * a record never straddles two windows, and they are where parallel scans split the archive.
+ */
+public final class GameArchive implements Closeable {
+
+  static final int CHECKPOINT_INTERVAL = 1024;
+  // Largest stretch of the file mapped at once while reading
+  static final long WINDOW_BYTES = 1L << 28;
+  private static final long SCAN_BYTES = 1L << 30;
+  private static final int HEADER_BYTES = Integer.BYTES + 1;
+
+  private final FileChannel channel;
+  // Offsets of every CHECKPOINT_INTERVAL-th record, then the end of the file
+  private final long[] checkpoints;
+  private final long numRecords;
+
+  private GameArchive(FileChannel channel, long[] checkpoints, long numRecords) {
+    this.channel = channel;
+    this.checkpoints = checkpoints;
+    this.numRecords = numRecords;
+  }
+
+  /**
+   * Opens and indexes an archive.
+   * @param path the archive to read
+   * @return the opened archive
+   * @throws IOException if the file cannot be read, is not an archive, or is truncated
+   */
+  public static GameArchive open(Path path) throws IOException {
+    FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+    try {
+      long size = channel.size();
+      if (size < HEADER_BYTES) {
+        throw new IOException("Not a game record archive: " + path);
+      }
+      MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+      if (header.getInt() != RecordFormat.MAGIC) {
+        throw new IOException("Not a game record archive: " + path);
+      }
+      if (header.get() != RecordFormat.VERSION) {
+        throw new IOException("Unsupported game record version: " + path);
+      }
+
+      long[] checkpoints = new long[16];
+      int numCheckpoints = 0;
+      long numRecords = 0;
+      long offset = HEADER_BYTES;
+      while (offset < size) {
+        long windowEnd = Math.min(size, offset + SCAN_BYTES);
+        MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, offset,
+                windowEnd - offset);
+        int pos = 0;
+        while (pos < window.limit()) {
+          int end = recordEnd(window, pos);
+          if (end < 0) {
+            break;
+          }
+          if (numRecords % CHECKPOINT_INTERVAL == 0) {
+            if (numCheckpoints == checkpoints.length) {
+              checkpoints = Arrays.copyOf(checkpoints, numCheckpoints * 2);
+            }
+            checkpoints[numCheckpoints] = offset + pos;
+            numCheckpoints += 1;
+          }
+          numRecords += 1;
+          pos = end;
+        }
+        if (pos == 0 || (pos < window.limit() && windowEnd == size)) {
+          throw new IOException("Archive ends partway through a record: " + path);
+        }
+        offset += pos;
+      }
+      checkpoints = Arrays.copyOf(checkpoints, numCheckpoints + 1);
+      checkpoints[numCheckpoints] = size;
+      return new GameArchive(channel, checkpoints, numRecords);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  // Finds where the record starting at pos ends, or -1 if it runs past the buffer
+  private static int recordEnd(MappedByteBuffer window, int pos) {
+    long bodySize = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      if (pos >= window.limit()) {
+        return -1;
+      }
+      byte next = window.get(pos);
+      pos += 1;
+      bodySize |= (long) (next & 0x7F) << shift;
+      if (next >= 0) {
+        long end = pos + bodySize;
+        return end > window.limit() ? -1 : (int) end;
+      }
+    }
+    throw new IllegalArgumentException("Malformed varint in game record");
+  }
+
+  /**
+   * Counts the records in the archive.
+   * @return the number of records
+   */
+  public long numRecords() {
+    return this.numRecords;
+  }
+
+  /**
+   * Creates a cursor positioned before the first record of the archive.
+   * @return the cursor
+   */
+  public GameCursor cursor() {
+    return new GameCursor(this, 0, this.numCheckpoints());
+  }
+
+  /**
+   * Creates a spliterator over every record, which hands out one cursor moved to each record in
+   * turn and splits at checkpoints for parallel scans. The cursor is reused, so consumers must
+   * copy out what they need before the next record.
+   * @return the spliterator
+   */
+  public Spliterator<GameCursor> spliterator() {
+    return new ArchiveSpliterator(this, 0, this.numCheckpoints());
+  }
+
+  /**
+   * Streams every record of the archive through reused cursors, see spliterator.
+   * @param parallel whether to scan with the common fork-join pool
+   * @return the stream
+   */
+  public Stream<GameCursor> stream(boolean parallel) {
+    return StreamSupport.stream(this.spliterator(), parallel);
+  }
+
+  /**
+   * Computes how often the first mover won the games that match a condition, scanning the
+   * archive in parallel. For example, games where the first mover was dealt a two-eyed jack:
+   * firstMoverWinRate(game -> game.openingHandHas(0, CardValue.TWO_EYED_JACK)).
+   * @param where the condition a game must meet to be counted
+   * @return the win rate among matching games
+   */
+  public WinRate firstMoverWinRate(Predicate<? super GameCursor> where) {
+    long[] totals = this.stream(true).filter(where::test).collect(() -> new long[3],
+        (acc, game) -> {
+          acc[0] += 1;
+          if (game.getWinner().equals(game.getTeam(0))) {
+            acc[1] += 1;
+          } else if (game.isTie()) {
+            acc[2] += 1;
+          }
+        },
+        (left, right) -> {
+          for (int idx = 0; idx < left.length; idx += 1) {
+            left[idx] += right[idx];
+          }
+        });
+    return new WinRate(totals[0], totals[1], totals[2]);
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.channel.close();
+  }
+
+  int numCheckpoints() {
+    return this.checkpoints.length - 1;
+  }
+
+  // Counts the records between two checkpoints
+  long recordsBetween(int from, int to) {
+    if (from >= to) {
+      return 0;
+    }
+    long before = (long) from * CHECKPOINT_INTERVAL;
+    long upTo = to == this.numCheckpoints() ? this.numRecords : (long) to * CHECKPOINT_INTERVAL;
+    return upTo - before;
+  }
+
+  // Maps checkpoints from onward, as many as fit in one window but at least one
+  MappedByteBuffer mapWindow(int from, int limit, int[] windowEnd) throws IOException {
+    int to = from + 1;
+    while (to < limit && this.checkpoints[to + 1] - this.checkpoints[from] <= WINDOW_BYTES) {
+      to += 1;
+    }
+    windowEnd[0] = to;
+    return this.channel.map(FileChannel.MapMode.READ_ONLY, this.checkpoints[from],
+            this.checkpoints[to] - this.checkpoints[from]);
+  }
+
+  /**
+   * Splits the archive between checkpoints.
+   */
+  private static final class ArchiveSpliterator implements Spliterator<GameCursor> {
+
+    private final GameArchive archive;
+    private int from;
+    private final int to;
+    private GameCursor cursor;
+
+    private ArchiveSpliterator(GameArchive archive, int from, int to) {
+      this.archive = archive;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super GameCursor> action) {
+      if (this.cursor == null) {
+        this.cursor = new GameCursor(this.archive, this.from, this.to);
+      }
+      if (!this.cursor.next()) {
+        return false;
+      }
+      action.accept(this.cursor);
+      return true;
+    }
+
+    @Override
+    public Spliterator<GameCursor> trySplit() {
+      if (this.cursor != null || this.to - this.from < 2) {
+        return null;
+      }
+      int mid = (this.from + this.to) >>> 1;
+      Spliterator<GameCursor> prefix = new ArchiveSpliterator(this.archive, this.from, mid);
+      this.from = mid;
+      return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+      if (this.cursor != null) {
+        return this.cursor.remaining();
+      }
+      return this.archive.recordsBetween(this.from, this.to);
+    }
+
+    @Override
+    public int characteristics() {
+      return ORDERED | NONNULL | SIZED | SUBSIZED;
+    }
+  }
+}
@@ -0,0 +1,363 @@
+package game.record;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+
+import game.board.BasicCard;
+import game.board.Card;
+import game.enums.CardValue;
+import game.enums.GameChip;
+import game.model.Deal;
+
+/**
+ * A flyweight over the records of a GameArchive. The cursor reads the record it is on directly
+ * from the mapped file and is moved from record to record with next, so scanning allocates
+ * nothing per game. Values read from a cursor describe the current record only.
+ * The opening deal is worked out from the seed on first request, the same way the model deals.
+ */
+public final class GameCursor {
+
+  /**
+   * The kinds of recorded action.
+   */
+  public enum EventKind {
+    /** A card played to one of its own cells. */
+    PLAY_CARD,
+    /** A jack, or a card found more than twice on the board, played to a named cell. */
+    PLAY_CELL,
+    /** A dead card discarded. */
+    DEAD_CARD
+  }
+
+  private static final GameChip[] CHIPS = GameChip.values();
+
+  private final GameArchive archive;
+  private final int lastCheckpoint;
+  private final long total;
+  private final int[] windowEnd = new int[1];
+  private int nextCheckpoint;
+  private MappedByteBuffer window;
+  private int pos = 0;
+  private long consumed = 0;
+
+  private int start = -1;
+  private long seed;
+  private int width;
+  private int height;
+  private int numSeats;
+  private int teamsAt;
+  private GameChip winner;
+  private int numMoves;
+  private int eventsStart;
+  private int eventsEnd;
+
+  private int eventPos;
+  private int event = -1;
+
+  private final int[] deck = new int[Deal.DECK_SIZE];
+  private boolean dealt = false;
+  private int handSize;
+
+  GameCursor(GameArchive archive, int fromCheckpoint, int toCheckpoint) {
+    this.archive = archive;
+    this.nextCheckpoint = fromCheckpoint;
+    this.lastCheckpoint = toCheckpoint;
+    this.total = archive.recordsBetween(fromCheckpoint, toCheckpoint);
+  }
+
+  /**
+   * Moves to the next record.
+   * @return true if the cursor is now on a record, false if none are left
+   * @throws UncheckedIOException if the next part of the archive cannot be mapped
+   */
+  public boolean next() {
+    while (this.window == null || this.pos >= this.window.limit()) {
+      if (this.nextCheckpoint >= this.lastCheckpoint) {
+        this.start = -1;
+        return false;
+      }
+      try {
+        this.window = this.archive.mapWindow(this.nextCheckpoint, this.lastCheckpoint,
+                this.windowEnd);
+      } catch (IOException e) {
+        throw new UncheckedIOException("Could not map game archive", e);
+      }
+      this.nextCheckpoint = this.windowEnd[0];
+      this.pos = 0;
+    }
+    MappedByteBuffer buf = this.window;
+    int at = this.pos;
+    this.start = at;
+    int bodySize = 0;
+    for (int shift = 0; ; shift += 7) {
+      byte next = buf.get(at);
+      at += 1;
+      bodySize |= (next & 0x7F) << shift;
+      if (next >= 0) {
+        break;
+      }
+    }
+    this.pos = at + bodySize;
+    this.seed = buf.getLong(at);
+    at += Long.BYTES;
+    this.width = Byte.toUnsignedInt(buf.get(at));
+    this.height = Byte.toUnsignedInt(buf.get(at + 1));
+    this.numSeats = Byte.toUnsignedInt(buf.get(at + 2));
+    this.teamsAt = at + 3;
+    at = this.teamsAt + this.numSeats;
+    this.winner = CHIPS[buf.get(at)];
+    at += 1;
+    int moves = 0;
+    for (int shift = 0; ; shift += 7) {
+      byte next = buf.get(at);
+      at += 1;
+      moves |= (next & 0x7F) << shift;
+      if (next >= 0) {
+        break;
+      }
+    }
+    this.numMoves = moves;
+    this.eventsStart = at;
+    this.eventsEnd = this.pos;
+    this.eventPos = at;
+    this.event = -1;
+    this.dealt = false;
+    this.consumed += 1;
+    return true;
+  }
+
+  /**
+   * Counts the records this cursor has not reached yet.
+   * @return the number of records left
+   */
+  public long remaining() {
+    return this.total - this.consumed;
+  }
+
+  /**
+   * Accesses the seed the current game was dealt from.
+   * @return the seed
+   */
+  public long getSeed() {
+    this.checkOnRecord();
+    return this.seed;
+  }
+
+  /**
+   * Accesses the number of columns of the board the current game was played on.
+   * @return the board width
+   */
+  public int getWidth() {
+    this.checkOnRecord();
+    return this.width;
+  }
+
+  /**
+   * Accesses the number of rows of the board the current game was played on.
+   * @return the board height
+   */
+  public int getHeight() {
+    this.checkOnRecord();
+    return this.height;
+  }
+
+  /**
+   * Counts the seats of the current game.
+   * @return the number of seats
+   */
+  public int numSeats() {
+    this.checkOnRecord();
+    return this.numSeats;
+  }
+
+  /**
+   * Accesses the team of a seat, where seat 0 moved first.
+   * @param seat the seat in turn order
+   * @return the seat's team
+   */
+  public GameChip getTeam(int seat) {
+    this.checkOnRecord();
+    if (seat < 0 || seat >= this.numSeats) {
+      throw new IllegalArgumentException("No seat " + seat + " in a " + this.numSeats
+              + " seat game");
+    }
+    return CHIPS[this.window.get(this.teamsAt + seat)];
+  }
+
+  /**
+   * Accesses the winner of the current game.
+   * @return the winning team, or GameChip.NONE for a tie
+   */
+  public GameChip getWinner() {
+    this.checkOnRecord();
+    return this.winner;
+  }
+
+  /**
+   * Determines if the current game was a tie.
+   * @return whether nobody won
+   */
+  public boolean isTie() {
+    return this.getWinner().equals(GameChip.NONE);
+  }
+
+  /**
+   * Accesses the number of moves of the current game, not counting dead card discards.
+   * @return the number of moves
+   */
+  public int getNumMoves() {
+    this.checkOnRecord();
+    return this.numMoves;
+  }
+
+  /**
+   * Accesses the number of cards each seat was dealt.
+   * @return the opening hand size
+   */
+  public int openingHandSize() {
+    this.deal();
+    return this.handSize;
+  }
+
+  /**
+   * Determines if a seat was dealt a card of the given value.
+   * @param seat the seat in turn order
+   * @param value the value to look for
+   * @return whether the seat's opening hand holds that value
+   */
+  public boolean openingHandHas(int seat, CardValue value) {
+    this.checkSeat(seat);
+    int base = seat * this.handSize;
+    for (int card = base; card < base + this.handSize; card += 1) {
+      if (BasicCard.fromId(this.deck[card]).value().equals(value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Accesses a card of a seat's opening hand.
+   * @param seat the seat in turn order
+   * @param index the index of the card in the opening hand
+   * @return the card
+   */
+  public Card openingCard(int seat, int index) {
+    this.checkSeat(seat);
+    if (index < 0 || index >= this.handSize) {
+      throw new IllegalArgumentException("Invalid hand index: " + index);
+    }
+    return BasicCard.fromId(this.deck[seat * this.handSize + index]);
+  }
+
+  /**
+   * Moves to the next action of the current game. Actions are walked from the first each time
+   * the cursor moves to a record.
+   * @return true if the cursor is now on an action, false if the game has no more
+   */
+  public boolean nextEvent() {
+    this.checkOnRecord();
+    if (this.event >= 0 && (this.event & RecordFormat.TAG_MASK) == RecordFormat.TAG_CELL) {
+      this.eventPos += 1;
+    }
+    if (this.eventPos >= this.eventsEnd) {
+      this.event = -1;
+      return false;
+    }
+    this.event = Byte.toUnsignedInt(this.window.get(this.eventPos));
+    this.eventPos += 1;
+    return true;
+  }
+
+  /**
+   * Accesses the kind of the current action.
+   * @return the kind
+   */
+  public EventKind eventKind() {
+    this.checkOnEvent();
+    return switch (this.event & RecordFormat.TAG_MASK) {
+      case RecordFormat.TAG_CARD -> EventKind.PLAY_CARD;
+      case RecordFormat.TAG_CELL -> EventKind.PLAY_CELL;
+      case RecordFormat.TAG_DEAD -> EventKind.DEAD_CARD;
+      default -> throw new IllegalStateException("Unknown event in game record: " + this.event);
+    };
+  }
+
+  /**
+   * Accesses the hand index the current action used.
+   * @return the hand index
+   */
+  public int eventHandIndex() {
+    this.checkOnEvent();
+    if ((this.event & RecordFormat.TAG_MASK) == RecordFormat.TAG_CARD) {
+      return this.event >>> 1 & RecordFormat.HAND_MASK;
+    }
+    return this.event & RecordFormat.HAND_MASK;
+  }
+
+  /**
+   * Accesses the cell index, column * height + row, that the current action named.
+   * @return the cell index, or -1 if the action was not a PLAY_CELL
+   */
+  public int eventCell() {
+    this.checkOnEvent();
+    if ((this.event & RecordFormat.TAG_MASK) != RecordFormat.TAG_CELL) {
+      return -1;
+    }
+    return Byte.toUnsignedInt(this.window.get(this.eventPos));
+  }
+
+  /**
+   * Copies the current record out of the archive, for example to replay it.
+   * @return the record
+   */
+  public GameRecord toRecord() {
+    this.checkOnRecord();
+    GameChip[] teams = new GameChip[this.numSeats];
+    for (int seat = 0; seat < teams.length; seat += 1) {
+      teams[seat] = this.getTeam(seat);
+    }
+    byte[] events = new byte[this.eventsEnd - this.eventsStart];
+    this.window.get(this.eventsStart, events);
+    return new GameRecord(this.seed, this.width, this.height, teams, this.winner,
+            this.numMoves, events);
+  }
+
+  private void checkSeat(int seat) {
+    this.deal();
+    if (seat < 0 || seat >= this.numSeats) {
+      throw new IllegalArgumentException("No seat " + seat + " in a " + this.numSeats
+              + " seat game");
+    }
+  }
+
+  private void deal() {
+    this.checkOnRecord();
+    if (this.dealt) {
+      return;
+    }
+    int numColors = 2;
+    for (int seat = 0; seat < this.numSeats; seat += 1) {
+      if (this.getTeam(seat).equals(GameChip.GREEN)) {
+        numColors = 3;
+      }
+    }
+    this.handSize = Deal.cardsPerPlayer(this.numSeats, numColors);
+    Deal.shuffledIds(this.deck, this.seed);
+    this.dealt = true;
+  }
+
+  private void checkOnRecord() {
+    if (this.start < 0) {
+      throw new IllegalStateException("Cursor is not on a record");
+    }
+  }
+
+  private void checkOnEvent() {
+    this.checkOnRecord();
+    if (this.event < 0) {
+      throw new IllegalStateException("Cursor is not on an action");
+    }
+  }
+}
@@ -0,0 +1,197 @@
+package game.record;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import game.enums.GameChip;
+
+/**
+ * One finished game in its compact recorded form. A game played from a seed is fully determined
+ * by the seed, the seating and the actions taken, so only those are kept: the deal is recreated
+ * by shuffling with the seed, and each action is stored relative to the card it played. Most
+ * moves take a single byte. Use GameReplayer to rebuild the game state from a record.
+ */
+public final class GameRecord {
+
+  private static final GameChip[] CHIPS = GameChip.values();
+
+  private final long seed;
+  private final int width;
+  private final int height;
+  private final GameChip[] teams;
+  private final GameChip winner;
+  private final int numMoves;
+  private final byte[] events;
+
+  GameRecord(long seed, int width, int height, GameChip[] teams, GameChip winner, int numMoves,
+             byte[] events) {
+    this.seed = seed;
+    this.width = width;
+    this.height = height;
+    this.teams = teams;
+    this.winner = Objects.requireNonNull(winner);
+    this.numMoves = numMoves;
+    this.events = events;
+  }
+
+  /**
+   * Accesses the seed the deck was shuffled from.
+   * @return the seed
+   */
+  public long getSeed() {
+    return this.seed;
+  }
+
+  /**
+   * Accesses the number of columns of the board the game was played on.
+   * @return the board width
+   */
+  public int getWidth() {
+    return this.width;
+  }
+
+  /**
+   * Accesses the number of rows of the board the game was played on.
+   * @return the board height
+   */
+  public int getHeight() {
+    return this.height;
+  }
+
+  /**
+   * Lists the team of each seat, in turn order.
+   * @return the teams
+   */
+  public List<GameChip> getTeams() {
+    return List.of(this.teams);
+  }
+
+  /**
+   * Accesses the winner of the game.
+   * @return the winning team, or GameChip.NONE for a tie
+   */
+  public GameChip getWinner() {
+    return this.winner;
+  }
+
+  /**
+   * Accesses the number of moves played, not counting dead card discards.
+   * @return the number of moves
+   */
+  public int getNumMoves() {
+    return this.numMoves;
+  }
+
+  /**
+   * Counts the encoded events of the game, one for every move and dead card discard.
+   * @return the number of events
+   */
+  public int numEvents() {
+    int count = 0;
+    for (int idx = 0; idx < this.events.length; idx += 1) {
+      if ((this.events[idx] & RecordFormat.TAG_MASK) == RecordFormat.TAG_CELL) {
+        idx += 1;
+      }
+      count += 1;
+    }
+    return count;
+  }
+
+  byte[] events() {
+    return this.events;
+  }
+
+  /**
+   * Computes how many bytes this record takes when written, including its length prefix.
+   * @return the encoded size in bytes
+   */
+  public int encodedSize() {
+    int body = this.bodySize();
+    return RecordFormat.varintSize(body) + body;
+  }
+
+  private int bodySize() {
+    return Long.BYTES + 3 + this.teams.length + 1 + RecordFormat.varintSize(this.numMoves)
+            + this.events.length;
+  }
+
+  /**
+   * Writes this record at the buffer's position.
+   * @param buffer the buffer to write to, with at least encodedSize bytes remaining
+   */
+  public void writeTo(ByteBuffer buffer) {
+    RecordFormat.putVarint(buffer, this.bodySize());
+    buffer.putLong(this.seed);
+    buffer.put((byte) this.width);
+    buffer.put((byte) this.height);
+    buffer.put((byte) this.teams.length);
+    for (GameChip team : this.teams) {
+      buffer.put((byte) team.ordinal());
+    }
+    buffer.put((byte) this.winner.ordinal());
+    RecordFormat.putVarint(buffer, this.numMoves);
+    buffer.put(this.events);
+  }
+
+  /**
+   * Reads one record from the buffer's position and moves the position past it.
+   * @param buffer the buffer to read from
+   * @return the record read
+   * @throws IllegalArgumentException if the bytes are not a well formed record
+   */
+  public static GameRecord readFrom(ByteBuffer buffer) {
+    try {
+      int bodySize = RecordFormat.getVarint(buffer);
+      int end = buffer.position() + bodySize;
+      long seed = buffer.getLong();
+      int width = Byte.toUnsignedInt(buffer.get());
+      int height = Byte.toUnsignedInt(buffer.get());
+      GameChip[] teams = new GameChip[Byte.toUnsignedInt(buffer.get())];
+      for (int seat = 0; seat < teams.length; seat += 1) {
+        teams[seat] = chip(buffer.get());
+      }
+      GameChip winner = chip(buffer.get());
+      int numMoves = RecordFormat.getVarint(buffer);
+      if (end < buffer.position() || end > buffer.limit()) {
+        throw new IllegalArgumentException("Game record length is out of range: " + bodySize);
+      }
+      byte[] events = new byte[end - buffer.position()];
+      buffer.get(events);
+      return new GameRecord(seed, width, height, teams, winner, numMoves, events);
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("Game record is truncated", e);
+    }
+  }
+
+  private static GameChip chip(byte ordinal) {
+    if (ordinal < 0 || ordinal >= CHIPS.length) {
+      throw new IllegalArgumentException("Invalid chip in game record: " + ordinal);
+    }
+    return CHIPS[ordinal];
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (!(other instanceof GameRecord that)) {
+      return false;
+    }
+    return this.seed == that.seed && this.width == that.width && this.height == that.height
+            && this.winner == that.winner && this.numMoves == that.numMoves
+            && Arrays.equals(this.teams, that.teams) && Arrays.equals(this.events, that.events);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(this.seed, this.winner, this.numMoves, Arrays.hashCode(this.events));
+  }
+
+  @Override
+  public String toString() {
+    return "GameRecord[seed=" + this.seed + ", teams=" + Arrays.toString(this.teams)
+            + ", winner=" + this.winner + ", moves=" + this.numMoves + ", bytes="
+            + this.encodedSize() + "]";
+  }
+}
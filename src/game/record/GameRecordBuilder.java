@@ -0,0 +1,108 @@
+package game.record;
+
+import java.util.Arrays;
+import java.util.List;
+
+import game.board.Card;
+import game.board.Cell;
+import game.board.GameBoard;
+import game.board.GamePosition;
+import game.enums.GameChip;
+
+/**
+ * Encodes the actions of a game as they are played. A model keeps one of these while it is
+ * being recorded and builds the finished GameRecord once the game is over.
+ */
+public final class GameRecordBuilder {
+
+  private final long seed;
+  private final int width;
+  private final int height;
+  private final GameChip[] teams;
+  private byte[] events = new byte[128];
+  private int size = 0;
+
+  /**
+   * Starts a record for a game dealt from the given seed.
+   * @param seed the seed the deck was shuffled from
+   * @param board the board the game is played on
+   * @param teams the team of each seat, in turn order
+   * @throws IllegalArgumentException if the board has more cells than a record can address
+   */
+  public GameRecordBuilder(long seed, GameBoard board, List<GameChip> teams) {
+    Cell[][] layout = board.getBoard();
+    this.width = layout.length;
+    this.height = layout[0].length;
+    if (this.width * this.height > RecordFormat.MAX_CELLS || this.width > 255
+            || this.height > 255) {
+      throw new IllegalArgumentException("Board is too large to record: " + this.width + "x"
+              + this.height);
+    }
+    if (teams.size() < 1 || teams.size() > 255) {
+      throw new IllegalArgumentException("Invalid number of seats to record: " + teams.size());
+    }
+    this.seed = seed;
+    this.teams = teams.toArray(new GameChip[0]);
+  }
+
+  /**
+   * Records a card played from the current player's hand.
+   * @param handIndex the index of the card in the hand
+   * @param card the card played
+   * @param where the cell played to
+   * @param board the board played on, used to find the card's cells
+   * @throws IllegalArgumentException if the hand index does not fit in a record
+   */
+  public void move(int handIndex, Card card, GamePosition where, GameBoard board) {
+    this.checkHandIndex(handIndex);
+    List<GamePosition> locations = board.cardLocations(card.id());
+    if (RecordFormat.needsCell(card, locations)) {
+      this.add(RecordFormat.TAG_CELL | handIndex);
+      this.add(RecordFormat.cellIndex(where, this.height));
+      return;
+    }
+    int target = RecordFormat.cellIndex(where, this.height);
+    int choice = 0;
+    for (GamePosition location : locations) {
+      if (RecordFormat.cellIndex(location, this.height) < target) {
+        choice += 1;
+      }
+    }
+    this.add(RecordFormat.TAG_CARD | handIndex << 1 | choice);
+  }
+
+  /**
+   * Records a dead card discarded from the current player's hand.
+   * @param handIndex the index of the card in the hand
+   * @throws IllegalArgumentException if the hand index does not fit in a record
+   */
+  public void deadCard(int handIndex) {
+    this.checkHandIndex(handIndex);
+    this.add(RecordFormat.TAG_DEAD | handIndex);
+  }
+
+  /**
+   * Finishes the record.
+   * @param winner the winner of the game, GameChip.NONE for a tie
+   * @param numMoves the number of moves played
+   * @return the finished record
+   */
+  public GameRecord build(GameChip winner, int numMoves) {
+    return new GameRecord(this.seed, this.width, this.height, this.teams.clone(), winner,
+            numMoves, Arrays.copyOf(this.events, this.size));
+  }
+
+  private void checkHandIndex(int handIndex) {
+    if (handIndex < 0 || handIndex > RecordFormat.MAX_HAND_INDEX) {
+      throw new IllegalArgumentException("Hand index cannot be recorded: " + handIndex);
+    }
+  }
+
+  private void add(int event) {
+    if (this.size == this.events.length) {
+      this.events = Arrays.copyOf(this.events, this.size * 2);
+    }
+    this.events[this.size] = (byte) event;
+    this.size += 1;
+  }
+}
@@ -0,0 +1,90 @@
+package game.record;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads the records of an archive file one after another through a buffered file channel.
+ */
+public final class GameRecordReader implements Closeable {
+
+  private static final int BUFFER_SIZE = 1 << 16;
+  // A length prefix never takes more than this many bytes
+  private static final int MAX_VARINT = 5;
+
+  private final FileChannel channel;
+  private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+  private boolean exhausted = false;
+
+  /**
+   * Opens an archive for reading.
+   * @param path the archive to read
+   * @throws IOException if the file cannot be opened or is not a game archive
+   */
+  public GameRecordReader(Path path) throws IOException {
+    this.channel = FileChannel.open(path, StandardOpenOption.READ);
+    this.buffer.flip();
+    try {
+      if (!this.fill(Integer.BYTES + 1) || this.buffer.getInt() != RecordFormat.MAGIC) {
+        throw new IOException("Not a game record archive: " + path);
+      }
+      byte version = this.buffer.get();
+      if (version != RecordFormat.VERSION) {
+        throw new IOException("Unsupported game record version " + version + ": " + path);
+      }
+    } catch (IOException e) {
+      this.channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Reads the next record of the archive.
+   * @return the record, or null once every record has been read
+   * @throws IOException if reading fails or the archive ends partway through a record
+   */
+  public GameRecord next() throws IOException {
+    this.fill(MAX_VARINT);
+    if (!this.buffer.hasRemaining()) {
+      return null;
+    }
+    int start = this.buffer.position();
+    int bodySize = RecordFormat.getVarint(this.buffer);
+    int total = this.buffer.position() - start + bodySize;
+    this.buffer.position(start);
+    if (!this.fill(total)) {
+      throw new IOException("Archive ends partway through a record");
+    }
+    return GameRecord.readFrom(this.buffer);
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.channel.close();
+  }
+
+  // Makes at least the given number of bytes readable, unless the file runs out first
+  private boolean fill(int bytes) throws IOException {
+    if (this.buffer.remaining() >= bytes) {
+      return true;
+    }
+    if (bytes > this.buffer.capacity()) {
+      ByteBuffer larger = ByteBuffer.allocate(Integer.highestOneBit(bytes) << 1);
+      larger.put(this.buffer);
+      this.buffer = larger;
+    } else {
+      this.buffer.compact();
+    }
+    while (this.buffer.position() < bytes && !this.exhausted) {
+      if (this.channel.read(this.buffer) < 0) {
+        this.exhausted = true;
+      }
+    }
+    this.buffer.flip();
+    return this.buffer.remaining() >= bytes;
+  }
+}
@@ -0,0 +1,95 @@
+package game.record;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends game records to an archive file through a file channel. Records are gathered in a
+ * direct buffer and written out in large blocks, so recording a game costs a copy into memory
+ * rather than a system call. A writer may be shared by every game of a tournament.
+ */
+public final class GameRecordWriter implements Closeable {
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final FileChannel channel;
+  private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+  private long numRecords = 0;
+
+  /**
+   * Creates a new archive at the given path, replacing any file already there.
+   * @param path the file to write to
+   * @throws IOException if the file cannot be opened
+   */
+  public GameRecordWriter(Path path) throws IOException {
+    this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    this.buffer.putInt(RecordFormat.MAGIC);
+    this.buffer.put(RecordFormat.VERSION);
+  }
+
+  /**
+   * Adds a record to the archive.
+   * @param record the record to add
+   * @throws IOException if writing to the file fails
+   */
+  public synchronized void write(GameRecord record) throws IOException {
+    if (!this.channel.isOpen()) {
+      throw new IllegalStateException("Writer is already closed");
+    }
+    int size = record.encodedSize();
+    if (size > this.buffer.remaining()) {
+      this.drain();
+    }
+    if (size > this.buffer.remaining()) {
+      ByteBuffer large = ByteBuffer.allocate(size);
+      record.writeTo(large);
+      large.flip();
+      while (large.hasRemaining()) {
+        this.channel.write(large);
+      }
+    } else {
+      record.writeTo(this.buffer);
+    }
+    this.numRecords += 1;
+  }
+
+  /**
+   * Counts the records added so far.
+   * @return the number of records
+   */
+  public synchronized long numRecords() {
+    return this.numRecords;
+  }
+
+  /**
+   * Writes every buffered record out to the file.
+   * @throws IOException if writing to the file fails
+   */
+  public synchronized void flush() throws IOException {
+    this.drain();
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (this.channel.isOpen()) {
+      try {
+        this.drain();
+      } finally {
+        this.channel.close();
+      }
+    }
+  }
+
+  private void drain() throws IOException {
+    this.buffer.flip();
+    while (this.buffer.hasRemaining()) {
+      this.channel.write(this.buffer);
+    }
+    this.buffer.clear();
+  }
+}
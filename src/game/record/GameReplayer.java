@@ -0,0 +1,187 @@
+package game.record;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import game.board.Card;
+import game.board.Cell;
+import game.board.GameBoard;
+import game.board.GamePosition;
+import game.controller.GameMove;
+import game.controller.SequenceController;
+import game.enums.GameChip;
+import game.model.PlayableSequenceModel;
+import game.model.SequenceModel;
+import game.view.GameView;
+
+/**
+ * Rebuilds a recorded game on a fresh model. The model is dealt from the record's seed and every
+ * recorded action is played back through playToCell and deadCard, so each intermediate state
+ * can be inspected between steps exactly as it stood during the original game.
+ */
+public final class GameReplayer {
+
+  private final GameRecord record;
+  private final PlayableSequenceModel model;
+  private final GameBoard board;
+  private final byte[] events;
+  private int cursor = 0;
+  private int numMoves = 0;
+
+  /**
+   * Sets up the start of a recorded game.
+   * @param record the game to replay
+   * @param board an empty board of the same size the game was played on
+   * @throws IllegalArgumentException if the board does not match the record
+   */
+  public GameReplayer(GameRecord record, GameBoard board) {
+    this.record = Objects.requireNonNull(record);
+    Cell[][] layout = board.getBoard();
+    if (layout.length != record.getWidth() || layout[0].length != record.getHeight()) {
+      throw new IllegalArgumentException("Record was played on a " + record.getWidth() + "x"
+              + record.getHeight() + " board, not " + layout.length + "x" + layout[0].length);
+    }
+    this.board = board;
+    this.events = record.events();
+    this.model = new SequenceModel();
+    List<SequenceController> seats = new ArrayList<>();
+    for (GameChip team : record.getTeams()) {
+      seats.add(new ReplayController(team));
+    }
+    this.model.initializeGame(board, seats, record.getSeed());
+  }
+
+  /**
+   * Accesses the model being replayed onto.
+   * @return the model
+   */
+  public PlayableSequenceModel getModel() {
+    return this.model;
+  }
+
+  /**
+   * Determines if any recorded actions have not been played back yet.
+   * @return whether there is a next action
+   */
+  public boolean hasNext() {
+    return this.cursor < this.events.length;
+  }
+
+  /**
+   * Plays back the next recorded action.
+   * @throws IllegalStateException if there are no actions left or the record does not fit the
+   * game, such as a record from a different rules version
+   */
+  public void step() {
+    if (!this.hasNext()) {
+      throw new IllegalStateException("Replay is already finished");
+    }
+    int event = Byte.toUnsignedInt(this.events[this.cursor]);
+    this.cursor += 1;
+    int handIndex = event & RecordFormat.HAND_MASK;
+    try {
+      switch (event & RecordFormat.TAG_MASK) {
+        case RecordFormat.TAG_DEAD -> this.model.deadCard(handIndex);
+        case RecordFormat.TAG_CELL -> {
+          int cell = Byte.toUnsignedInt(this.events[this.cursor]);
+          this.cursor += 1;
+          this.model.playToCell(new GameMove(
+                  RecordFormat.position(cell, this.record.getHeight()), handIndex));
+          this.numMoves += 1;
+        }
+        case RecordFormat.TAG_CARD -> {
+          handIndex = event >>> 1 & RecordFormat.HAND_MASK;
+          this.model.playToCell(new GameMove(this.cardCell(handIndex, event & 1), handIndex));
+          this.numMoves += 1;
+        }
+        default -> throw new IllegalStateException("Unknown event in game record: " + event);
+      }
+    } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+      throw new IllegalStateException("Recorded action " + event + " is not legal in replay", e);
+    }
+  }
+
+  /**
+   * Plays back every remaining action and checks that the game ends as recorded.
+   * @return the model in the final position
+   * @throws IllegalStateException if the replay does not reach the recorded result
+   */
+  public PlayableSequenceModel replayAll() {
+    while (this.hasNext()) {
+      this.step();
+    }
+    if (!this.model.isGameOver() || this.model.getWinner() != this.record.getWinner()
+            || this.numMoves != this.record.getNumMoves()) {
+      throw new IllegalStateException("Replay did not reproduce the recorded game: "
+              + this.record);
+    }
+    return this.model;
+  }
+
+  private GamePosition cardCell(int handIndex, int choice) {
+    Card card = this.model.viewHand(this.model.getCurrentTurn()).getCardAt(handIndex);
+    List<GamePosition> locations = this.board.cardLocations(card.id());
+    // The choice counts the card's cells with a lower cell index than the one played
+    for (GamePosition location : locations) {
+      int cell = RecordFormat.cellIndex(location, this.record.getHeight());
+      int below = 0;
+      for (GamePosition other : locations) {
+        if (RecordFormat.cellIndex(other, this.record.getHeight()) < cell) {
+          below += 1;
+        }
+      }
+      if (below == choice) {
+        return location;
+      }
+    }
+    throw new IllegalStateException("Card " + card + " has no cell number " + choice);
+  }
+
+  /**
+   * A seat that never picks moves itself, since the replayer plays them.
+   */
+  private static final class ReplayController implements SequenceController {
+
+    private final GameChip team;
+
+    private ReplayController(GameChip team) {
+      this.team = team;
+    }
+
+    @Override
+    public void beginTurn(PlayableSequenceModel model) {
+      // moves come from the record
+    }
+
+    @Override
+    public void receiveMove(GameMove moveToPlay) {
+      throw new IllegalStateException("Replayed seats do not take moves");
+    }
+
+    @Override
+    public GameChip getTeam() {
+      return this.team;
+    }
+
+    @Override
+    public boolean usesMouse() {
+      return false;
+    }
+
+    @Override
+    public void addView(GameView view) {
+      // replays are headless
+    }
+
+    @Override
+    public void deadCard(int cardIdx) {
+      // dead cards come from the record
+    }
+
+    @Override
+    public void receiveGameOver(GameChip winner) {
+      // not needed
+    }
+  }
+}
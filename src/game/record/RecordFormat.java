@@ -0,0 +1,85 @@
+package game.record;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import game.board.Card;
+import game.board.GamePosition;
+import game.enums.CardValue;
+
+/**
+ * The constants and shared encoding rules of the game record format.
+ * An archive file starts with the magic number and a version byte, followed by records back to
+ * back. Each record is a varint body length and then the body: the 8 byte seed, board width and
+ * height, the number of seats and each seat's team ordinal in turn order, the winner's ordinal,
+ * the number of moves as a varint, and finally one event per turn action until the body ends.
+ * Events are one byte, except that jacks carry the target cell in a second byte:
+ * 0000hhhc plays hand index h to the c-th of its card's two cells, in cell index order;
+ * 00010hhh plays hand index h to the cell index in the next byte;
+ * 00100hhh discards the dead card at hand index h.
+ */
+final class RecordFormat {
+
+  static final int MAGIC = 0x53514752;
+  // Version 2 reshuffles the discards when the deck runs out, which changes long games
+  static final byte VERSION = 2;
+
+  static final int TAG_MASK = 0xF0;
+  static final int TAG_CARD = 0x00;
+  static final int TAG_CELL = 0x10;
+  static final int TAG_DEAD = 0x20;
+  static final int HAND_MASK = 0x07;
+  static final int MAX_HAND_INDEX = HAND_MASK;
+  static final int MAX_CELLS = 256;
+
+  private RecordFormat() {
+    // constants only
+  }
+
+  /**
+   * Determines if a card is played by naming its cell outright. Jacks can go anywhere, and a
+   * card that appears more than twice on the board does not fit in the one choice bit.
+   */
+  static boolean needsCell(Card card, List<GamePosition> locations) {
+    return card.value().equals(CardValue.ONE_EYED_JACK)
+            || card.value().equals(CardValue.TWO_EYED_JACK)
+            || locations == null || locations.size() > 2;
+  }
+
+  static int cellIndex(GamePosition where, int height) {
+    return where.index(height);
+  }
+
+  static GamePosition position(int cell, int height) {
+    return GamePosition.fromIndex(cell, height);
+  }
+
+  static void putVarint(ByteBuffer buffer, int value) {
+    while ((value & ~0x7F) != 0) {
+      buffer.put((byte) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    buffer.put((byte) value);
+  }
+
+  static int getVarint(ByteBuffer buffer) {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      byte next = buffer.get();
+      value |= (next & 0x7F) << shift;
+      if (next >= 0) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException("Malformed varint in game record");
+  }
+
+  static int varintSize(int value) {
+    int size = 1;
+    while ((value & ~0x7F) != 0) {
+      value >>>= 7;
+      size += 1;
+    }
+    return size;
+  }
+}
@@ -0,0 +1,32 @@
+package game.record;
+
+/**
+ * The result of an archive query counting how often one side won.
+ * @param games the number of games that matched the query
+ * @param wins the number of those games the side won
+ * @param ties the number of those games that were tied
+ */
+public record WinRate(long games, long wins, long ties) {
+
+  /**
+   * Computes the share of matching games the side won.
+   * @return the win rate, or NaN if no games matched
+   */
+  public double rate() {
+    return (double) this.wins / this.games;
+  }
+
+  /**
+   * Computes the side's share of points, counting a tie as half a win.
+   * @return the score rate, or NaN if no games matched
+   */
+  public double scoreRate() {
+    return (this.wins + 0.5 * this.ties) / this.games;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d games, %d wins, %d ties (%.3f)", this.games, this.wins, this.ties,
+            this.rate());
+  }
+}
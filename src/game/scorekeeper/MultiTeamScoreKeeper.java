@@ -0,0 +1,184 @@
+package game.scorekeeper;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import game.enums.GameChip;
+
+/**
+ * A ScoreKeeper for games between any number of the team colours, including three colour games.
+ * Counters live in one primitive array indexed by chip ordinal and are striped: each thread adds
+ * into one of several copies, each on its own cache line, and reads sum over the copies. Many
+ * game runners can therefore record results at once without contending on a shared counter.
+ */
+public class MultiTeamScoreKeeper implements ScoreKeeper {
+
+  // Counter slots within a stripe; team wins use the team chip's ordinal
+  private static final int TIES = GameChip.NONE.ordinal();
+  private static final int MOVES = GameChip.ALL.ordinal() + 1;
+  private static final int FIRST_MOVER_GAMES = MOVES + 1;
+  private static final int FIRST_MOVER_WINS = MOVES + 2;
+  // Eight longs is one 64 byte cache line, so stripes never share a line
+  private static final int STRIDE = 8;
+
+  private final AtomicReferenceArray<GameChip> players =
+          new AtomicReferenceArray<>(GameChip.values().length);
+  private final AtomicLongArray counts;
+  private final int stripeMask;
+
+  /**
+   * Creates a keeper striped for the processors available to this JVM.
+   */
+  public MultiTeamScoreKeeper() {
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Creates a keeper striped for the given number of concurrent writers.
+   * @param writers the number of threads expected to record results at once
+   * @throws IllegalArgumentException if writers is not positive
+   */
+  public MultiTeamScoreKeeper(int writers) {
+    if (writers < 1) {
+      throw new IllegalArgumentException("Must allow at least one writer: given " + writers);
+    }
+    int stripes = Integer.highestOneBit(Math.min(writers, 1 << 10) * 2 - 1);
+    this.stripeMask = stripes - 1;
+    // One spare line in front keeps the first stripe off the array header
+    this.counts = new AtomicLongArray((stripes + 1) * STRIDE);
+  }
+
+  @Override
+  public void addPlayer(GameChip player) {
+    if (player.equals(GameChip.NONE) || player.equals(GameChip.ALL)) {
+      throw new IllegalArgumentException("Only team colours can be players: given " + player);
+    }
+    for (int seat = 0; seat < this.players.length(); seat += 1) {
+      GameChip current = this.players.get(seat);
+      if (player.equals(current)) {
+        throw new IllegalArgumentException("Team " + player + " is already tracked");
+      }
+      if (current == null && this.players.compareAndSet(seat, null, player)) {
+        return;
+      }
+    }
+    throw new IllegalStateException("This tracker is full");
+  }
+
+  @Override
+  public void increment(GameChip winner) {
+    this.add(this.slotOf(winner), 1);
+  }
+
+  @Override
+  public void receiveNumMoves(int numMoves) {
+    if (numMoves < 0) {
+      throw new IllegalArgumentException("Number of moves cannot be negative: " + numMoves);
+    }
+    this.add(MOVES, numMoves);
+  }
+
+  @Override
+  public void recordGame(GameChip winner, GameChip firstPlayer, int numMoves) {
+    int slot = this.slotOf(winner);
+    if (numMoves < 0) {
+      throw new IllegalArgumentException("Number of moves cannot be negative: " + numMoves);
+    }
+    int base = this.stripeBase();
+    this.counts.getAndAdd(base + slot, 1);
+    this.counts.getAndAdd(base + MOVES, numMoves);
+    if (!firstPlayer.equals(GameChip.NONE)) {
+      this.counts.getAndIncrement(base + FIRST_MOVER_GAMES);
+      if (winner.equals(firstPlayer)) {
+        this.counts.getAndIncrement(base + FIRST_MOVER_WINS);
+      }
+    }
+  }
+
+  @Override
+  public boolean isDecided() {
+    return false;
+  }
+
+  /**
+   * Counts the games won by the given team.
+   * @param team the team to look up
+   * @return the number of wins, 0 for a team that is not tracked
+   */
+  public long getWins(GameChip team) {
+    if (team.equals(GameChip.NONE) || team.equals(GameChip.ALL)) {
+      throw new IllegalArgumentException("Only team colours win games: given " + team);
+    }
+    return this.sum(team.ordinal());
+  }
+
+  /**
+   * Counts the games that ended in a tie.
+   * @return the number of ties
+   */
+  public long getTies() {
+    return this.sum(TIES);
+  }
+
+  /**
+   * Counts every game recorded so far.
+   * @return the number of games
+   */
+  public long numGames() {
+    long total = 0;
+    for (int slot = 0; slot <= TIES; slot += 1) {
+      total += this.sum(slot);
+    }
+    return total;
+  }
+
+  @Override
+  public String displayResults() {
+    StringBuilder toReturn = new StringBuilder();
+    for (int seat = 0; seat < this.players.length(); seat += 1) {
+      GameChip team = this.players.get(seat);
+      if (team != null) {
+        toReturn.append("Team ").append(team.name()).append(": ")
+                .append(this.sum(team.ordinal())).append(", ");
+      }
+    }
+    toReturn.append("Ties: ").append(this.getTies()).append("\n")
+            .append("Avg moves: ").append(((double) this.sum(MOVES)) / this.numGames());
+    long firstMoverGames = this.sum(FIRST_MOVER_GAMES);
+    if (firstMoverGames > 0) {
+      toReturn.append(String.format("%nFirst mover wins: %.3f",
+              (double) this.sum(FIRST_MOVER_WINS) / firstMoverGames));
+    }
+    return toReturn.toString();
+  }
+
+  private int slotOf(GameChip winner) {
+    if (winner.equals(GameChip.NONE)) {
+      return TIES;
+    }
+    for (int seat = 0; seat < this.players.length(); seat += 1) {
+      if (winner.equals(this.players.get(seat))) {
+        return winner.ordinal();
+      }
+    }
+    throw new IllegalArgumentException("Somehow nobody won and there was no tie: " + winner);
+  }
+
+  private void add(int slot, long amount) {
+    this.counts.getAndAdd(this.stripeBase() + slot, amount);
+  }
+
+  private int stripeBase() {
+    // Mix the thread id so consecutive ids spread over the stripes
+    long id = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+    return ((int) (id >>> 32) & this.stripeMask) * STRIDE + STRIDE;
+  }
+
+  private long sum(int slot) {
+    long total = 0;
+    for (int base = STRIDE; base < this.counts.length(); base += STRIDE) {
+      total += this.counts.get(base + slot);
+    }
+    return total;
+  }
+}
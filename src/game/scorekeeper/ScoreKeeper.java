@@ -28,4 +28,21 @@ public interface ScoreKeeper {
    * @param numMoves the number of moves from the game that was completed
    */
   void receiveNumMoves(int numMoves);
+
+  /**
+   * Records a completed game in one call, including which team moved first. This is how models
+   * report results; keepers that do not care about turn order can treat it as increment and
+   * receiveNumMoves together.
+   * @param winner the chip representing the game winner, GameChip.NONE for a tie
+   * @param firstPlayer the team that made the first move
+   * @param numMoves the number of moves from the game
+   */
+  void recordGame(GameChip winner, GameChip firstPlayer, int numMoves);
+
+  /**
+   * Determines if the results so far settle which player is stronger, so that playing more
+   * games would not change the conclusion.
+   * @return whether the results are statistically decided
+   */
+  boolean isDecided();
 }
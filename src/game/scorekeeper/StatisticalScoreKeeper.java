@@ -0,0 +1,260 @@
+package game.scorekeeper;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import game.enums.GameChip;
+
+/**
+ * A two player ScoreKeeper that can be fed from many threads at once without locking. Besides
+ * win and tie counts it keeps the distribution of game lengths and how often the team that
+ * moved first won, and reports the score rate of the team added first with a Wilson confidence
+ * interval.
+ * It also runs a sequential test on the decisive games so that a tournament can stop playing a
+ * matchup once the result is clear. The test is a pair of sequential probability ratio tests,
+ * one per team, each testing whether that team wins with probability 0.5, evenly matched, or
+ * 0.5 + delta, stronger. A team is found stronger once its test accepts 0.5 + delta, and the
+ * teams are found evenly matched once both tests accept 0.5, so an even matchup stops too
+ * rather than eventually being called for one side. Win rates strictly between 0.5 and
+ * 0.5 + delta are the indifference region, where either conclusion may be reached.
+ * Which team moves first matters in Sequence, so results are only a fair test of strength when
+ * the first move alternates between the teams, as it does in a Tournament.
+ */
+public class StatisticalScoreKeeper implements ScoreKeeper {
+
+  // Game lengths up to this are counted exactly, longer games share one overflow bucket
+  private static final int MAX_TRACKED_MOVES = 1024;
+  // Two sided 95% normal quantile used for the reported interval
+  private static final double Z = 1.959963984540054;
+
+  private final AtomicReferenceArray<GameChip> players = new AtomicReferenceArray<>(
+          new GameChip[] {GameChip.NONE, GameChip.NONE});
+  private final LongAdder p1wins = new LongAdder();
+  private final LongAdder p2wins = new LongAdder();
+  private final LongAdder ties = new LongAdder();
+  private final LongAdder firstPlayerGames = new LongAdder();
+  private final LongAdder firstPlayerWins = new LongAdder();
+  private final LongAdder totalMoves = new LongAdder();
+  private final AtomicLongArray lengths = new AtomicLongArray(MAX_TRACKED_MOVES + 2);
+
+  private final double delta;
+  private final double lowerBound;
+  private final double upperBound;
+  // What one of a team's wins and one of its losses add to the log likelihood ratio of its test
+  private final double llrPerWin;
+  private final double llrPerLoss;
+
+  /**
+   * Creates a keeper that tests for a 5% edge with 5% error rates.
+   */
+  public StatisticalScoreKeeper() {
+    this(0.05, 0.05, 0.05);
+  }
+
+  /**
+   * Creates a keeper with the given test parameters.
+   * @param delta how far above an even split a real difference in strength is, in (0, 0.5)
+   * @param alpha the chance of finding either team stronger when they are evenly matched,
+   *              split equally between the two teams' tests
+   * @param beta the chance of not finding a team stronger when it is stronger by delta
+   * @throws IllegalArgumentException if any parameter is out of range
+   */
+  public StatisticalScoreKeeper(double delta, double alpha, double beta) {
+    if (!(delta > 0 && delta < 0.5)) {
+      throw new IllegalArgumentException("Delta must be in (0, 0.5): given " + delta);
+    }
+    if (!(alpha > 0 && alpha < 0.5) || !(beta > 0 && beta < 0.5)) {
+      throw new IllegalArgumentException("Error rates must be in (0, 0.5): given "
+              + alpha + ", " + beta);
+    }
+    this.delta = delta;
+    this.upperBound = Math.log((1 - beta) / (alpha / 2));
+    this.lowerBound = Math.log(beta / (1 - alpha / 2));
+    this.llrPerWin = Math.log((0.5 + delta) / 0.5);
+    this.llrPerLoss = Math.log((0.5 - delta) / 0.5);
+  }
+
+  @Override
+  public void addPlayer(GameChip player) {
+    if (!this.players.compareAndSet(0, GameChip.NONE, player)
+            && !this.players.compareAndSet(1, GameChip.NONE, player)) {
+      throw new IllegalStateException("This tracker is full");
+    }
+  }
+
+  @Override
+  public void increment(GameChip winner) {
+    if (winner.equals(GameChip.NONE)) {
+      this.ties.increment();
+    } else if (winner.equals(this.players.get(0))) {
+      this.p1wins.increment();
+    } else if (winner.equals(this.players.get(1))) {
+      this.p2wins.increment();
+    } else {
+      throw new IllegalArgumentException("Somehow nobody won and there was no tie: "
+              + this.players.get(0) + ", " + this.players.get(1) + ": " + winner);
+    }
+  }
+
+  @Override
+  public void receiveNumMoves(int numMoves) {
+    if (numMoves < 0) {
+      throw new IllegalArgumentException("Number of moves cannot be negative: " + numMoves);
+    }
+    this.totalMoves.add(numMoves);
+    this.lengths.incrementAndGet(Math.min(numMoves, MAX_TRACKED_MOVES + 1));
+  }
+
+  @Override
+  public void recordGame(GameChip winner, GameChip firstPlayer, int numMoves) {
+    this.increment(winner);
+    this.receiveNumMoves(numMoves);
+    if (!firstPlayer.equals(GameChip.NONE)) {
+      this.firstPlayerGames.increment();
+      if (winner.equals(firstPlayer)) {
+        this.firstPlayerWins.increment();
+      }
+    }
+  }
+
+  @Override
+  public boolean isDecided() {
+    return !this.verdict().equals(Verdict.UNDECIDED);
+  }
+
+  /**
+   * Computes the log likelihood ratio so far of the test of whether the given team is stronger.
+   * It starts at 0, rises with every win for that team and falls with every loss, while ties
+   * leave it alone. The team is found stronger once it reaches the upper bound, and not
+   * stronger once it reaches the lower bound.
+   * @param team 0 for the team added first, 1 for the other
+   * @return the log likelihood ratio
+   * @throws IllegalArgumentException if the team is not 0 or 1
+   */
+  public double logLikelihoodRatio(int team) {
+    long p1 = this.p1wins.sum();
+    long p2 = this.p2wins.sum();
+    if (team == 0) {
+      return p1 * this.llrPerWin + p2 * this.llrPerLoss;
+    } else if (team == 1) {
+      return p2 * this.llrPerWin + p1 * this.llrPerLoss;
+    }
+    throw new IllegalArgumentException("Team must be 0 or 1: given " + team);
+  }
+
+  /**
+   * Counts every game recorded so far.
+   * @return the number of games
+   */
+  public long numGames() {
+    return this.p1wins.sum() + this.p2wins.sum() + this.ties.sum();
+  }
+
+  /**
+   * Computes the share of points so far of the team added first, counting a tie as half a win.
+   * @return the score rate, or NaN if no games have been recorded
+   */
+  public double scoreRate() {
+    long n = this.numGames();
+    return (this.p1wins.sum() + 0.5 * this.ties.sum()) / n;
+  }
+
+  /**
+   * Computes a 95% Wilson score interval around the score rate of the team added first.
+   * @return the lower and upper ends of the interval, or {0, 1} if no games have been recorded
+   */
+  public double[] scoreInterval() {
+    long wins = this.p1wins.sum();
+    long draws = this.ties.sum();
+    long n = wins + draws + this.p2wins.sum();
+    if (n == 0) {
+      return new double[] {0, 1};
+    }
+    double p = (wins + 0.5 * draws) / n;
+    double z2 = Z * Z;
+    double center = (p + z2 / (2 * n)) / (1 + z2 / n);
+    double half = Z * Math.sqrt(p * (1 - p) / n + z2 / (4.0 * n * n)) / (1 + z2 / n);
+    return new double[] {Math.max(0, center - half), Math.min(1, center + half)};
+  }
+
+  /**
+   * Computes how often whichever team moved first went on to win.
+   * @return the first mover's win rate, or NaN if no turn orders have been recorded
+   */
+  public double firstMoverWinRate() {
+    return (double) this.firstPlayerWins.sum() / this.firstPlayerGames.sum();
+  }
+
+  /**
+   * Finds the game length that the given share of games were no longer than. Games longer than
+   * the tracked range are all reported as one more than the range.
+   * @param p the share of games, in [0, 1]
+   * @return the game length, or 0 if no games have been recorded
+   */
+  public int lengthPercentile(double p) {
+    if (p < 0 || p > 1) {
+      throw new IllegalArgumentException("Percentile must be in [0, 1]: given " + p);
+    }
+    long total = 0;
+    for (int moves = 0; moves < this.lengths.length(); moves += 1) {
+      total += this.lengths.get(moves);
+    }
+    long rank = Math.max(1, (long) Math.ceil(p * total));
+    long seen = 0;
+    for (int moves = 0; moves < this.lengths.length(); moves += 1) {
+      seen += this.lengths.get(moves);
+      if (seen >= rank) {
+        return moves;
+      }
+    }
+    return 0;
+  }
+
+  @Override
+  public String displayResults() {
+    GameChip p1 = this.players.get(0);
+    GameChip p2 = this.players.get(1);
+    long n = this.numGames();
+    double[] interval = this.scoreInterval();
+    String verdict = switch (this.verdict()) {
+      case FIRST_STRONGER -> "Team " + p1.name() + " is stronger";
+      case SECOND_STRONGER -> "Team " + p2.name() + " is stronger";
+      case EVEN -> "Evenly matched";
+      case UNDECIDED -> "Undecided";
+    };
+    return "Team " + p1.name() + ": " + this.p1wins.sum() + ", Team "
+            + p2.name() + ": " + this.p2wins.sum() + ", Ties: " + this.ties.sum() + "\n"
+            + String.format("Score rate %s: %.3f [%.3f, %.3f], first mover wins: %.3f%n",
+                    p1.name(), this.scoreRate(), interval[0], interval[1],
+                    this.firstMoverWinRate())
+            + String.format("Avg moves: %.1f, median: %d, p90: %d%n",
+                    (double) this.totalMoves.sum() / n, this.lengthPercentile(0.5),
+                    this.lengthPercentile(0.9))
+            + String.format("SPRT (delta %.3f): LLR %s %.2f, %s %.2f in [%.2f, %.2f], %s",
+                    this.delta, p1.name(), this.logLikelihoodRatio(0), p2.name(),
+                    this.logLikelihoodRatio(1), this.lowerBound, this.upperBound, verdict);
+  }
+
+  // A stronger team is reported ahead of an even result, as the even result only holds while
+  // neither team's test has found it stronger
+  private Verdict verdict() {
+    double first = this.logLikelihoodRatio(0);
+    double second = this.logLikelihoodRatio(1);
+    if (first >= this.upperBound) {
+      return Verdict.FIRST_STRONGER;
+    } else if (second >= this.upperBound) {
+      return Verdict.SECOND_STRONGER;
+    } else if (first <= this.lowerBound && second <= this.lowerBound) {
+      return Verdict.EVEN;
+    }
+    return Verdict.UNDECIDED;
+  }
+
+  /**
+   * What the test has concluded so far.
+   */
+  private enum Verdict {
+    UNDECIDED, FIRST_STRONGER, SECOND_STRONGER, EVEN
+  }
+}
@@ -48,4 +48,15 @@ public class TwoPlayerScoreKeeper implements ScoreKeeper{
     this.totalMoves += numMoves;
   }
 
+  @Override
+  public void recordGame(GameChip winner, GameChip firstPlayer, int numMoves) {
+    this.increment(winner);
+    this.receiveNumMoves(numMoves);
+  }
+
+  @Override
+  public boolean isDecided() {
+    return false;
+  }
+
 }
@@ -0,0 +1,22 @@
+package game.tournament;
+
+import java.util.SplittableRandom;
+
+import game.algorithms.SequenceAlgorithm;
+
+/**
+ * Creates a fresh algorithm for one seat of one game. Each seat is given its own random stream,
+ * split from the game's seed, which the algorithm should draw every random choice from so that
+ * the game can be replayed exactly. Algorithms without randomness may ignore it.
+ */
+@FunctionalInterface
+public interface AlgorithmFactory {
+
+  /**
+   * Creates the algorithm for a seat.
+   * @param random the seat's random stream
+   * @return a new algorithm
+   */
+  SequenceAlgorithm create(SplittableRandom random);
+
+}
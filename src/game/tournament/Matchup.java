@@ -0,0 +1,61 @@
+package game.tournament;
+
+import java.util.List;
+import java.util.Objects;
+
+import game.enums.GameChip;
+
+/**
+ * A pairing of two or three algorithms to be played against each other in a tournament.
+ * Algorithms are created fresh for every game through the factories, since some algorithms keep
+ * state between turns. Seats are given teams in the order RED, BLUE, GREEN, so the first
+ * algorithm always plays RED. Seats move in that order starting from whichever seat opens the
+ * game, which a tournament rotates from game to game.
+ * @param name the name to report this matchup's results under
+ * @param players creates the algorithm for each seat, in seat order
+ */
+public record Matchup(String name, List<AlgorithmFactory> players) {
+
+  private static final List<GameChip> TEAMS = List.of(GameChip.RED, GameChip.BLUE,
+          GameChip.GREEN);
+
+  public Matchup {
+    Objects.requireNonNull(name);
+    players = List.copyOf(players);
+    if (players.size() < 2 || players.size() > TEAMS.size()) {
+      throw new IllegalArgumentException("A matchup needs two or three players: given "
+              + players.size());
+    }
+  }
+
+  /**
+   * Creates a two player matchup.
+   * @param name the name to report this matchup's results under
+   * @param first creates the algorithm for RED
+   * @param second creates the algorithm for BLUE
+   */
+  public Matchup(String name, AlgorithmFactory first, AlgorithmFactory second) {
+    this(name, List.of(first, second));
+  }
+
+  /**
+   * Creates a three colour matchup.
+   * @param name the name to report this matchup's results under
+   * @param first creates the algorithm for RED
+   * @param second creates the algorithm for BLUE
+   * @param third creates the algorithm for GREEN
+   */
+  public Matchup(String name, AlgorithmFactory first, AlgorithmFactory second,
+                 AlgorithmFactory third) {
+    this(name, List.of(first, second, third));
+  }
+
+  /**
+   * Lists the team played by each seat, in seat order.
+   * @return the teams of this matchup
+   */
+  public List<GameChip> teams() {
+    return TEAMS.subList(0, this.players.size());
+  }
+
+}
@@ -0,0 +1,352 @@
+package game.tournament;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+
+import game.algorithms.SequenceAlgorithm;
+import game.board.BitboardBoardType;
+import game.controller.AlgorithmController;
+import game.controller.SequenceController;
+import game.controller.TimedAlgorithmController;
+import game.enums.GameChip;
+import game.model.PlayableSequenceModel;
+import game.model.SequenceModel;
+import game.record.GameRecordWriter;
+import game.scorekeeper.ScoreKeeper;
+import game.scorekeeper.MultiTeamScoreKeeper;
+
+/**
+ * Plays every registered matchup headlessly for a number of games, spreading the games over a
+ * fork-join pool. Each game writes its outcome into its own slot, and the slots are folded into
+ * one ScoreKeeper per matchup once a round of games has finished, so workers never share a
+ * counter.
+ */
+public class Tournament {
+
+  // Games are coarse enough that a handful per task keeps every worker busy
+  private static final int GAMES_PER_TASK = 4;
+  // Games played per undecided matchup between checks for an early stop
+  private static final int GAMES_PER_ROUND = 16;
+
+  private final List<Matchup> matchups = new ArrayList<>();
+  private final ForkJoinPool pool;
+  private GameRecordWriter recordWriter;
+  private Duration moveBudget;
+
+  /**
+   * Creates a tournament that runs on the common fork-join pool.
+   */
+  public Tournament() {
+    this.pool = ForkJoinPool.commonPool();
+  }
+
+  /**
+   * Creates a tournament that runs on its own pool of the given size.
+   * @param parallelism the number of worker threads to use
+   */
+  public Tournament(int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism must be positive: given " + parallelism);
+    }
+    this.pool = new ForkJoinPool(parallelism);
+  }
+
+  /**
+   * Records every game played from now on into the given archive. The writer is not closed by
+   * the tournament.
+   * @param writer the archive to add games to, or null to stop recording
+   */
+  public void setRecordWriter(GameRecordWriter writer) {
+    this.recordWriter = writer;
+  }
+
+  /**
+   * Limits how long every algorithm may take for each move from now on, see
+   * TimedAlgorithmController. An algorithm that overruns has a default move played for it, so
+   * with a budget the outcome of a game depends on timing and a game seed no longer reproduces
+   * it exactly.
+   * @param budget the most time for each move, or null for no limit
+   * @throws IllegalArgumentException if the budget is not positive
+   */
+  public void setMoveBudget(Duration budget) {
+    if (budget != null && (budget.isNegative() || budget.isZero())) {
+      throw new IllegalArgumentException("Budget must be positive: given " + budget);
+    }
+    this.moveBudget = budget;
+  }
+
+  /**
+   * Adds a matchup to be played whenever this tournament is run.
+   * @param matchup the matchup to add
+   */
+  public void addMatchup(Matchup matchup) {
+    this.matchups.add(Objects.requireNonNull(matchup));
+  }
+
+  /**
+   * Plays the given number of games for every matchup. Games are numbered across the whole run,
+   * matchup by matchup, and game i is played entirely from gameSeed(seed, i), so a sweep can be
+   * repeated and any single game can be replayed with setUpGame. The seat that moves first
+   * rotates from game to game within a matchup, see firstSeat, so every algorithm moves first
+   * equally often.
+   * @param gamesPerMatchup the number of games to play per matchup
+   * @param seed the tournament seed that every game seed is derived from
+   * @return a ScoreKeeper per matchup, in the order the matchups were added
+   */
+  public Map<Matchup, ScoreKeeper> run(int gamesPerMatchup, long seed) {
+    return this.run(gamesPerMatchup, seed, MultiTeamScoreKeeper::new);
+  }
+
+  /**
+   * Plays up to the given number of games for every matchup, stopping a matchup early once its
+   * ScoreKeeper reports the result as decided. Games are played in rounds of a fixed number per
+   * undecided matchup and folded into the keepers in game order after each round, so the point
+   * a matchup stops at depends only on the seed. Game numbering is the same as for a full run,
+   * so a stopped matchup played the same games as the start of the full run would have.
+   * @param maxGamesPerMatchup the most games to play per matchup
+   * @param seed the tournament seed that every game seed is derived from
+   * @param keepers creates the ScoreKeeper for each matchup, which must accept every team of
+   *                the matchups added
+   * @return a ScoreKeeper per matchup, in the order the matchups were added
+   */
+  public Map<Matchup, ScoreKeeper> run(int maxGamesPerMatchup, long seed,
+                                       Supplier<? extends ScoreKeeper> keepers) {
+    if (maxGamesPerMatchup < 1) {
+      throw new IllegalArgumentException("Must play at least one game: given "
+              + maxGamesPerMatchup);
+    }
+    int numMatchups = this.matchups.size();
+    GameChip[] winners = new GameChip[maxGamesPerMatchup * numMatchups];
+    int[] moves = new int[maxGamesPerMatchup * numMatchups];
+    ScoreKeeper[] keeping = new ScoreKeeper[numMatchups];
+    int[] played = new int[numMatchups];
+    for (int match = 0; match < numMatchups; match += 1) {
+      keeping[match] = Objects.requireNonNull(keepers.get());
+      for (GameChip team : this.matchups.get(match).teams()) {
+        keeping[match].addPlayer(team);
+      }
+    }
+
+    int[] round = new int[GAMES_PER_ROUND * numMatchups];
+    while (true) {
+      int size = 0;
+      for (int match = 0; match < numMatchups; match += 1) {
+        if (keeping[match].isDecided()) {
+          continue;
+        }
+        int end = Math.min(played[match] + GAMES_PER_ROUND, maxGamesPerMatchup);
+        for (int game = played[match]; game < end; game += 1) {
+          round[size] = match * maxGamesPerMatchup + game;
+          size += 1;
+        }
+      }
+      if (size == 0) {
+        break;
+      }
+      this.pool.invoke(new PlayGames(round, 0, size, maxGamesPerMatchup, seed, winners, moves));
+      for (int idx = 0; idx < size; idx += 1) {
+        int game = round[idx];
+        int match = game / maxGamesPerMatchup;
+        Matchup matchup = this.matchups.get(match);
+        GameChip firstMover = matchup.teams().get(firstSeat(matchup, game % maxGamesPerMatchup));
+        keeping[match].recordGame(winners[game], firstMover, moves[game]);
+        played[match] += 1;
+      }
+    }
+
+    Map<Matchup, ScoreKeeper> toReturn = new LinkedHashMap<>();
+    for (int match = 0; match < numMatchups; match += 1) {
+      toReturn.put(this.matchups.get(match), keeping[match]);
+    }
+    return toReturn;
+  }
+
+  /**
+   * Releases the worker threads of this tournament if it owns its own pool.
+   */
+  public void shutdown() {
+    if (this.pool != ForkJoinPool.commonPool()) {
+      this.pool.shutdown();
+    }
+  }
+
+  /**
+   * Sets up a game of a matchup with the first seat moving first, as a tournament run does for
+   * the first game of each matchup.
+   * @param matchup the matchup to play
+   * @param gameSeed the seed of the game, see gameSeed
+   * @return an initialized model that has not made any moves
+   */
+  public static PlayableSequenceModel setUpGame(Matchup matchup, long gameSeed) {
+    return setUpGame(matchup, gameSeed, 0, null);
+  }
+
+  /**
+   * Sets up one game of a matchup exactly as a tournament run does. The game seed is split into
+   * the deck shuffle and one random stream per seat, in seat order, so playing the returned
+   * model with step or runToCompletion reproduces the game move for move.
+   * @param matchup the matchup to play
+   * @param gameSeed the seed of the game, see gameSeed
+   * @param firstSeat the seat that moves first, see firstSeat
+   * @param moveBudget the most time each algorithm may take for each move, or null for no limit
+   * @return an initialized model that has not made any moves
+   * @throws IllegalArgumentException if the first seat is not a seat of the matchup
+   */
+  public static PlayableSequenceModel setUpGame(Matchup matchup, long gameSeed, int firstSeat,
+                                                Duration moveBudget) {
+    List<GameChip> teams = matchup.teams();
+    if (firstSeat < 0 || firstSeat >= teams.size()) {
+      throw new IllegalArgumentException("No seat " + firstSeat + " in a matchup of "
+              + teams.size());
+    }
+    SplittableRandom root = new SplittableRandom(gameSeed);
+    long shuffle = root.nextLong();
+    PlayableSequenceModel model = new SequenceModel();
+    List<SequenceController> bySeat = new ArrayList<>();
+    for (int seat = 0; seat < teams.size(); seat += 1) {
+      SequenceAlgorithm player = matchup.players().get(seat).create(root.split());
+      if (moveBudget == null) {
+        bySeat.add(new AlgorithmController(player, model, teams.get(seat)));
+      } else {
+        bySeat.add(new TimedAlgorithmController(player, model, teams.get(seat), moveBudget));
+      }
+    }
+    List<SequenceController> turnOrder = new ArrayList<>();
+    for (int turn = 0; turn < teams.size(); turn += 1) {
+      turnOrder.add(bySeat.get((firstSeat + turn) % teams.size()));
+    }
+    model.initializeGame(new BitboardBoardType(), turnOrder, shuffle);
+    return model;
+  }
+
+  /**
+   * Determines the seat that moves first in a game of a tournament run. Game j of each matchup,
+   * counting from 0, is opened by seat j modulo the number of seats.
+   * @param matchup the matchup being played
+   * @param game the number of the game within its matchup
+   * @return the seat that moves first
+   */
+  public static int firstSeat(Matchup matchup, int game) {
+    return game % matchup.players().size();
+  }
+
+  /**
+   * Derives the seed of one game of a run from the tournament seed.
+   * @param seed the tournament seed
+   * @param index the number of the game within the run
+   * @return the game's seed
+   */
+  public static long gameSeed(long seed, int index) {
+    // SplitMix64 finalizer so neighbouring games do not get neighbouring seeds
+    long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  private void playGame(int index, int gamesPerMatchup, long seed,
+                        GameChip[] winners, int[] moves) {
+    Matchup matchup = this.matchups.get(index / gamesPerMatchup);
+    PlayableSequenceModel model = setUpGame(matchup, gameSeed(seed, index),
+            firstSeat(matchup, index % gamesPerMatchup), this.moveBudget);
+    GameResult result = new GameResult();
+    model.addScoreKeeper(result);
+    if (this.recordWriter != null) {
+      model.addRecordWriter(this.recordWriter);
+    }
+    model.runToCompletion();
+    winners[index] = result.winner;
+    moves[index] = result.numMoves;
+  }
+
+  /**
+   * Splits a range of a list of game indices in half until it is small enough to play directly.
+   */
+  private class PlayGames extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int[] games;
+    private final int from;
+    private final int to;
+    private final int gamesPerMatchup;
+    private final long seed;
+    private final GameChip[] winners;
+    private final int[] moves;
+
+    PlayGames(int[] games, int from, int to, int gamesPerMatchup, long seed,
+              GameChip[] winners, int[] moves) {
+      this.games = games;
+      this.from = from;
+      this.to = to;
+      this.gamesPerMatchup = gamesPerMatchup;
+      this.seed = seed;
+      this.winners = winners;
+      this.moves = moves;
+    }
+
+    @Override
+    protected void compute() {
+      if (this.to - this.from <= GAMES_PER_TASK) {
+        for (int idx = this.from; idx < this.to; idx += 1) {
+          playGame(this.games[idx], this.gamesPerMatchup, this.seed, this.winners, this.moves);
+        }
+      } else {
+        int mid = (this.from + this.to) >>> 1;
+        invokeAll(new PlayGames(this.games, this.from, mid, this.gamesPerMatchup, this.seed,
+                        this.winners, this.moves),
+                new PlayGames(this.games, mid, this.to, this.gamesPerMatchup, this.seed,
+                        this.winners, this.moves));
+      }
+    }
+  }
+
+  /**
+   * Captures the outcome of a single game so it can be written into that game's slot.
+   */
+  private static class GameResult implements ScoreKeeper {
+
+    private GameChip winner = GameChip.NONE;
+    private int numMoves = 0;
+
+    @Override
+    public void addPlayer(GameChip player) {
+      // not needed
+    }
+
+    @Override
+    public void increment(GameChip winner) {
+      this.winner = winner;
+    }
+
+    @Override
+    public String displayResults() {
+      return "Winner: " + this.winner.name() + ", Moves: " + this.numMoves;
+    }
+
+    @Override
+    public void receiveNumMoves(int numMoves) {
+      this.numMoves = numMoves;
+    }
+
+    @Override
+    public void recordGame(GameChip winner, GameChip firstPlayer, int numMoves) {
+      this.winner = winner;
+      this.numMoves = numMoves;
+    }
+
+    @Override
+    public boolean isDecided() {
+      return false;
+    }
+  }
+
+}
@@ -1,7 +1,10 @@
 package game.view;
 
 import java.awt.*;
+import java.awt.image.BufferedImage;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -21,39 +24,165 @@ public class BoardPanel extends JPanel {
   private GameBoard board;
   private Card selected = null;
   private GameChip currentTurn;
-  private Map<GamePosition, List<SequenceType>> sequences;
+  // The chips and sequences as last painted, so an update repaints only the cells that changed
+  private GameChip[][] shownChips;
+  private Map<GamePosition, List<SequenceType>> shownSequences;
+  // The card ids as last painted, -1 for free spaces, which decide the label layer
+  private int[][] shownCards;
+  // The card labels, grid and corners, which never change during a game, at the current size
+  private BufferedImage labels;
 
   public BoardPanel(GameBoard board, GameChip currentTurn,
                     Map<GamePosition, java.util.List<SequenceType>> sequences) {
     this.board = Objects.requireNonNull(board);
     this.currentTurn = currentTurn;
-    this.sequences = Objects.requireNonNull(sequences);
+    this.shownChips = chipsOf(board);
+    this.shownSequences = copyOf(Objects.requireNonNull(sequences));
+    this.shownCards = cardsOf(board);
   }
 
+  /**
+   * Shows a new state of the game. Only the cells whose chips changed, and those crossed by a
+   * new sequence, are repainted; everything is repainted while a card is selected, as the
+   * highlighted cells depend on the whole board, and when the cards on the board change.
+   * @param newBoard the board to show
+   * @param currentTurn the team whose turn it is
+   * @param sequences the sequences on the board
+   */
   public void update(GameBoard newBoard, GameChip currentTurn,
                      Map<GamePosition, java.util.List<SequenceType>> sequences) {
+    Map<GamePosition, List<SequenceType>> oldSequences = this.shownSequences;
     this.board = newBoard;
     this.currentTurn = currentTurn;
-    this.sequences = sequences;
+    this.shownSequences = copyOf(sequences);
+    GameChip[][] chips = chipsOf(newBoard);
+    int[][] cards = cardsOf(newBoard);
+    if (!Arrays.deepEquals(cards, this.shownCards)) {
+      this.shownCards = cards;
+      this.shownChips = chips;
+      this.labels = null;
+      this.repaint();
+      return;
+    }
+    if (this.selected != null) {
+      this.shownChips = chips;
+      this.repaint();
+      return;
+    }
+    for (int col = 0; col < chips.length; col += 1) {
+      for (int row = 0; row < chips[0].length; row += 1) {
+        if (!chips[col][row].equals(this.shownChips[col][row])) {
+          this.repaintCell(col, row);
+        }
+      }
+    }
+    this.shownChips = chips;
+    for (GamePosition pos : this.shownSequences.keySet()) {
+      if (!this.shownSequences.get(pos).equals(oldSequences.get(pos))) {
+        for (SequenceType seq : this.shownSequences.get(pos)) {
+          GamePosition cell = pos;
+          for (int times = 0; times <= 4; times += 1) {
+            this.repaintCell(cell.x(), cell.y());
+            cell = SequenceType.toDirection(cell, seq);
+          }
+        }
+      }
+    }
   }
 
   public void select(Card toSelect) {
     this.selected = toSelect;
+    this.repaint();
   }
 
   public void clearSelection() {
     this.selected = null;
+    this.repaint();
   }
 
   @Override
   protected void paintComponent(Graphics g) {
+    super.paintComponent(g);
     Graphics2D g2d = (Graphics2D) g;
 
     Cell[][] actualBoard = this.board.getBoard();
 
     int widthPer = (int) (double) this.getWidth() / actualBoard.length;
     int heightPer = (int) (double) this.getHeight() / actualBoard[0].length;
+    if (widthPer <= 0 || heightPer <= 0) {
+      return;
+    }
+
+    // Only the cells inside the area being repainted are drawn
+    Rectangle clip = g2d.getClipBounds();
+    if (clip == null) {
+      clip = new Rectangle(0, 0, this.getWidth(), this.getHeight());
+    }
+    int firstCol = Math.max(0, (clip.x - 1) / widthPer);
+    int lastCol = Math.min(actualBoard.length - 1, (clip.x + clip.width) / widthPer);
+    int firstRow = Math.max(0, (clip.y - 1) / heightPer);
+    int lastRow = Math.min(actualBoard[0].length - 1, (clip.y + clip.height) / heightPer);
+
+    for (int currCol = firstCol; currCol <= lastCol; currCol += 1) {
+      for (int currRow = firstRow; currRow <= lastRow; currRow += 1) {
+        Cell current = actualBoard[currCol][currRow];
+        if (current.getChip().equals(GameChip.ALL)) {
+          continue;
+        }
+        if (this.selected != null) {
+          if (this.selected.value().equals(CardValue.TWO_EYED_JACK) &&
+                  current.getChip().equals(GameChip.NONE)) {
+            g2d.setColor(new Color(255, 175, 0, 100));
+            g2d.fillRect(currCol * widthPer, currRow * heightPer, widthPer, heightPer);
+          } else if (this.selected.sameCard(current.getCard())) {
+            g2d.setColor(Color.YELLOW);
+            g2d.fillRect(currCol * widthPer, currRow * heightPer, widthPer, heightPer);
+          } else if (this.selected.value().equals(CardValue.ONE_EYED_JACK)
+                  && !current.getChip().equals(GameChip.NONE) &&
+                  !current.getChip().equals(this.currentTurn)) {
+            g2d.setColor(new Color(255, 100, 200, 100));
+            g2d.fillRect(currCol * widthPer, currRow * heightPer, widthPer, heightPer);
+          }
+        }
+
+        if (!current.getChip().equals(GameChip.NONE)) {
+          g2d.setColor(current.getChip().color());
+          g2d.fillOval(currCol * widthPer + widthPer / 4,
+                  currRow * heightPer + heightPer / 4,
+                  widthPer / 2, heightPer / 2);
+        }
+      }
+    }
+
+    g2d.drawImage(this.labels(actualBoard, widthPer, heightPer), 0, 0, null);
 
+    g2d.setColor(Color.BLACK);
+    for (GamePosition pos : this.shownSequences.keySet()) {
+      java.util.List<SequenceType> seqs = this.shownSequences.get(pos);
+      for (SequenceType seq : seqs) {
+        GamePosition end = pos.copy();
+        for (int times = 0; times < 4; times += 1) {
+          end = SequenceType.toDirection(end, seq);
+        }
+        g2d.drawLine(pos.x() * widthPer + widthPer / 2, pos.y() * heightPer  + heightPer / 2,
+                end.x() * widthPer + widthPer / 2, end.y() * heightPer + heightPer / 2);
+      }
+
+    }
+
+  }
+
+  // The label layer at the given cell size, drawn once and kept until the size or cards change
+  private BufferedImage labels(Cell[][] actualBoard, int widthPer, int heightPer) {
+    int width = widthPer * actualBoard.length + 1;
+    int height = heightPer * actualBoard[0].length + 1;
+    if (this.labels != null && this.labels.getWidth() == width
+            && this.labels.getHeight() == height) {
+      return this.labels;
+    }
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D g2d = image.createGraphics();
+    g2d.setFont(this.getFont());
     for (int currCol = 0; currCol < actualBoard.length; currCol += 1) {
       for (int currRow = 0; currRow < actualBoard[0].length; currRow += 1) {
         Cell current = actualBoard[currCol][currRow];
@@ -78,29 +207,6 @@ public class BoardPanel extends JPanel {
                   widthPer / 2, heightPer / 2,
                   240, 120);
         } else {
-          if (this.selected != null) {
-            if (this.selected.value().equals(CardValue.TWO_EYED_JACK) &&
-                    current.getChip().equals(GameChip.NONE)) {
-              g2d.setColor(new Color(255, 175, 0, 100));
-              g2d.fillRect(currCol * widthPer, currRow * heightPer, widthPer, heightPer);
-            } else if (this.selected.sameCard(current.getCard())) {
-              g2d.setColor(Color.YELLOW);
-              g2d.fillRect(currCol * widthPer, currRow * heightPer, widthPer, heightPer);
-            } else if (this.selected.value().equals(CardValue.ONE_EYED_JACK)
-                    && !current.getChip().equals(GameChip.NONE) &&
-                    !current.getChip().equals(this.currentTurn)) {
-              g2d.setColor(new Color(255, 100, 200, 100));
-              g2d.fillRect(currCol * widthPer, currRow * heightPer, widthPer, heightPer);
-            }
-          }
-
-          if (!current.getChip().equals(GameChip.NONE)) {
-            g2d.setColor(current.getChip().color());
-            g2d.fillOval(currCol * widthPer + widthPer / 4,
-                    currRow * heightPer + heightPer / 4,
-                    widthPer / 2, heightPer / 2);
-          }
-
           g2d.setColor(current.getCard().suit().color());
           String suitLabel = current.getCard().suit().name().substring(0,1);
           String valueLabel = current.getCard().value().toString();
@@ -111,25 +217,59 @@ public class BoardPanel extends JPanel {
 
           g2d.setColor(Color.lightGray);
           g2d.drawRect(currCol * widthPer, currRow * heightPer, widthPer, heightPer);
-
         }
       }
     }
+    g2d.dispose();
+    this.labels = image;
+    return image;
+  }
 
-    g2d.setColor(Color.BLACK);
-    for (GamePosition pos : this.sequences.keySet()) {
-      java.util.List<SequenceType> seqs = new ArrayList<>(this.sequences.get(pos));
-      for (SequenceType seq : seqs) {
-        GamePosition end = pos.copy();
-        for (int times = 0; times < 4; times += 1) {
-          end = SequenceType.toDirection(end, seq);
-        }
-        g2d.drawLine(pos.x() * widthPer + widthPer / 2, pos.y() * heightPer  + heightPer / 2,
-                end.x() * widthPer + widthPer / 2, end.y() * heightPer + heightPer / 2);
+  // Repaints one cell along with its grid lines
+  private void repaintCell(int col, int row) {
+    if (col < 0 || row < 0 || col >= this.shownChips.length
+            || row >= this.shownChips[0].length) {
+      return;
+    }
+    int widthPer = this.getWidth() / this.shownChips.length;
+    int heightPer = this.getHeight() / this.shownChips[0].length;
+    this.repaint(col * widthPer, row * heightPer, widthPer + 1, heightPer + 1);
+  }
+
+  private static GameChip[][] chipsOf(GameBoard board) {
+    Cell[][] layout = board.getBoard();
+    GameChip[][] chips = new GameChip[layout.length][layout[0].length];
+    for (int col = 0; col < layout.length; col += 1) {
+      for (int row = 0; row < layout[0].length; row += 1) {
+        chips[col][row] = layout[col][row].getChip();
       }
+    }
+    return chips;
+  }
 
+  private static int[][] cardsOf(GameBoard board) {
+    Cell[][] layout = board.getBoard();
+    int[][] cards = new int[layout.length][layout[0].length];
+    for (int col = 0; col < layout.length; col += 1) {
+      for (int row = 0; row < layout[0].length; row += 1) {
+        if (layout[col][row].getChip().equals(GameChip.ALL)) {
+          cards[col][row] = -1;
+        } else {
+          cards[col][row] = layout[col][row].getCard().id();
+        }
+      }
     }
+    return cards;
+  }
 
+  // Copies the lists too, so sequences added to them later are seen as changes
+  private static Map<GamePosition, List<SequenceType>> copyOf(
+          Map<GamePosition, List<SequenceType>> sequences) {
+    Map<GamePosition, List<SequenceType>> copy = new HashMap<>();
+    for (Map.Entry<GamePosition, List<SequenceType>> entry : sequences.entrySet()) {
+      copy.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+    }
+    return copy;
   }
 
 }
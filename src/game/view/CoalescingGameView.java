@@ -0,0 +1,123 @@
+package game.view;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.swing.SwingUtilities;
+
+import game.board.GameBoard;
+import game.board.GameHand;
+import game.board.GamePosition;
+import game.controller.SequenceController;
+import game.enums.GameChip;
+import game.enums.SequenceType;
+import game.model.ReadOnlySequenceModel;
+
+/**
+ * Shows a game in a GameFrame without holding up the thread that plays it. Register this with
+ * the model in place of the frame. A redraw from the playing thread copies the game state only
+ * when a frame is due at the given rate, and hands the copy to the event dispatch thread
+ * without waiting for it to be painted; redraws in between are dropped, and if a copy is still
+ * waiting to be painted it is replaced by the newer one. Redraws made on the event dispatch
+ * thread itself, as when a person is playing, and the redraw for the last move of a game are
+ * always shown.
+ */
+public class CoalescingGameView implements GameView {
+
+  private final GameFrame frame;
+  private final ReadOnlySequenceModel model;
+  private final SequenceController controller;
+  private final long frameNanos;
+  private final AtomicReference<Snapshot> pending = new AtomicReference<>();
+  private long nextFrameAt;
+
+  /**
+   * Creates a view over the given frame.
+   * @param frame the frame to show the game in
+   * @param model the model the frame shows
+   * @param controller the controller whose hand the frame shows
+   * @param maxFramesPerSecond the most frames to show each second
+   * @throws IllegalArgumentException if the frame rate is not positive
+   */
+  public CoalescingGameView(GameFrame frame, ReadOnlySequenceModel model,
+                            SequenceController controller, int maxFramesPerSecond) {
+    if (maxFramesPerSecond < 1) {
+      throw new IllegalArgumentException("Frame rate must be positive: given "
+              + maxFramesPerSecond);
+    }
+    this.frame = Objects.requireNonNull(frame);
+    this.model = Objects.requireNonNull(model);
+    this.controller = Objects.requireNonNull(controller);
+    this.frameNanos = 1_000_000_000L / maxFramesPerSecond;
+    this.nextFrameAt = System.nanoTime();
+  }
+
+  @Override
+  public void redraw() {
+    if (SwingUtilities.isEventDispatchThread()) {
+      this.pending.set(null);
+      this.show(this.snapshot());
+      return;
+    }
+    long now = System.nanoTime();
+    if (now - this.nextFrameAt < 0 && !this.model.isGameOver()) {
+      return;
+    }
+    this.nextFrameAt = now + this.frameNanos;
+    this.post();
+  }
+
+  /**
+   * Shows the current state of the game whether or not a frame is due. Must be called on the
+   * thread playing the game.
+   */
+  public void flush() {
+    if (SwingUtilities.isEventDispatchThread()) {
+      this.redraw();
+    } else {
+      this.post();
+    }
+  }
+
+  @Override
+  public void popUp(String message) {
+    this.flush();
+    SwingUtilities.invokeLater(() -> this.frame.popUp(message));
+  }
+
+  @Override
+  public void gameOver() {
+    this.flush();
+    SwingUtilities.invokeLater(this.frame::gameOver);
+  }
+
+  // Copies the state on the playing thread, and paints it unless a paint is already queued
+  private void post() {
+    if (this.pending.getAndSet(this.snapshot()) == null) {
+      SwingUtilities.invokeLater(() -> {
+        Snapshot latest = this.pending.getAndSet(null);
+        if (latest != null) {
+          this.show(latest);
+        }
+      });
+    }
+  }
+
+  private Snapshot snapshot() {
+    return new Snapshot(this.model.getBoard(), this.model.getCurrentTurn().getTeam(),
+            this.model.getSequences(), this.model.getHand(this.controller));
+  }
+
+  private void show(Snapshot state) {
+    this.frame.update(state.board(), state.currentTurn(), state.sequences(), state.hand());
+  }
+
+  /**
+   * A copy of everything the frame shows, taken at one moment of the game.
+   */
+  private record Snapshot(GameBoard board, GameChip currentTurn,
+                          Map<GamePosition, List<SequenceType>> sequences, GameHand hand) {
+  }
+}
@@ -3,13 +3,19 @@ package game.view;
 import java.awt.*;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import javax.swing.*;
 
+import game.board.GameBoard;
+import game.board.GameHand;
 import game.board.GamePosition;
 import game.controller.GameMove;
 import game.controller.SequenceController;
+import game.enums.GameChip;
+import game.enums.SequenceType;
 import game.model.ReadOnlySequenceModel;
 
 public class GameFrame extends JFrame implements GameView {
@@ -31,11 +37,23 @@ public class GameFrame extends JFrame implements GameView {
   }
 
   public void redraw() {
-    this.repaint();
-    this.bp.update(this.model.getBoard(), this.model.getCurrentTurn().getTeam(),
-            this.model.getSequences());
-    this.bp.repaint();
-    this.hand.update(this.model.getHand(this.controller));
+    this.update(this.model.getBoard(), this.model.getCurrentTurn().getTeam(),
+            this.model.getSequences(), this.model.getHand(this.controller));
+  }
+
+  /**
+   * Shows the given game state instead of reading it from the model. Must be called on the
+   * event dispatch thread, with copies the model will not change afterwards.
+   * @param board the board to show
+   * @param currentTurn the team whose turn it is
+   * @param sequences the sequences on the board
+   * @param hand the hand of this frame's controller
+   */
+  public void update(GameBoard board, GameChip currentTurn,
+                     Map<GamePosition, List<SequenceType>> sequences, GameHand hand) {
+    // The board panel repaints only the cells that changed
+    this.bp.update(board, currentTurn, sequences);
+    this.hand.update(hand);
     this.hand.repaint();
   }
 
@@ -70,7 +88,9 @@ public class GameFrame extends JFrame implements GameView {
 
   @Override
   public void gameOver() {
-    this.removeMouseListener(this.getMouseListeners()[0]);
+    if (this.getMouseListeners().length > 0) {
+      this.removeMouseListener(this.getMouseListeners()[0]);
+    }
   }
 
   private void interpretMouseClick(MouseEvent e) {
@@ -86,7 +106,7 @@ public class GameFrame extends JFrame implements GameView {
       } else {
         int col = e.getX() / wdp;
         int row = (e.getY() - 30) / htp;
-        this.controller.receiveMove(new GameMove(new GamePosition(col, row),
+        this.controller.receiveMove(new GameMove(GamePosition.of(col, row),
                 this.hand.getSelected()));
         this.hand.select(-1);
         this.bp.clearSelection();